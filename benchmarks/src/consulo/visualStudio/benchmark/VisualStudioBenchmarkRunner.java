@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks of this module with gc profiler, so allocation rate is reported next to throughput. Regular JMH command line
+ * options are accepted, for example {@code -p projects=500 planModules}
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioBenchmarkRunner
+{
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException
+	{
+		CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+		OptionsBuilder builder = new OptionsBuilder();
+		builder.parent(commandLineOptions);
+		if(commandLineOptions.getIncludes().isEmpty())
+		{
+			builder.include(VisualStudioBenchmarkRunner.class.getPackage().getName() + ".*");
+		}
+		builder.addProfiler(GCProfiler.class);
+
+		Options options = builder.build();
+
+		new Runner(options).run();
+	}
+}
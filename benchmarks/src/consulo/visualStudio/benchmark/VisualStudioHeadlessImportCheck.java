@@ -0,0 +1,115 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.benchmark;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.SwingUtilities;
+
+import org.jetbrains.annotations.NotNull;
+import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.testFramework.fixtures.IdeaProjectTestFixture;
+import com.intellij.testFramework.fixtures.IdeaTestFixtureFactory;
+import com.intellij.util.ThrowableRunnable;
+import consulo.visualStudio.importProvider.VisualStudioHeadlessImporter;
+
+/**
+ * Imports generated solution into project of test application with {@link VisualStudioHeadlessImporter}, and prints timings and heap of
+ * each import. Modules are removed after each import, so all imports start from empty project. Exits with code 1 if import creates
+ * unexpected count of modules. Arguments: {@code [projects] [compileItems] [imports]}. Run with classpath and system properties of test
+ * application, like {@code -Didea.home.path=...}
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioHeadlessImportCheck
+{
+	private static final int DEFAULT_PROJECTS = 100;
+	private static final int DEFAULT_COMPILE_ITEMS = 200;
+	private static final int DEFAULT_IMPORTS = 5;
+
+	public static void main(String[] args) throws Exception
+	{
+		int projects = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PROJECTS;
+		int compileItems = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_COMPILE_ITEMS;
+		int imports = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_IMPORTS;
+
+		boolean failed = false;
+		File directory = FileUtil.createTempDirectory("vs-headless-import", null);
+		IdeaProjectTestFixture fixture = IdeaTestFixtureFactory.getFixtureFactory().createFixtureBuilder("vs-headless-import").getFixture();
+		// test application is started by fixture in event dispatch thread, like in tests
+		runInDispatchThread(fixture::setUp);
+		try
+		{
+			File solutionFile = new VisualStudioSolutionGenerator().projects(projects).compileItems(compileItems).generate(directory);
+
+			VisualStudioHeadlessImporter importer = new VisualStudioHeadlessImporter(fixture.getProject());
+			for(int i = 1; i <= imports; i++)
+			{
+				VisualStudioHeadlessImporter.Result result = importer.importSolution(solutionFile);
+				System.out.println("Import " + i + " of " + imports + ": " + result);
+
+				// module of solution directory and module of each project
+				if(result.getModules().size() != projects + 1)
+				{
+					System.err.println("Expected " + (projects + 1) + " modules, created " + result.getModules().size());
+					failed = true;
+				}
+				importer.removeModules(result);
+			}
+		}
+		finally
+		{
+			runInDispatchThread(fixture::tearDown);
+			FileUtil.delete(directory);
+		}
+
+		// threads of test application are not daemon threads
+		System.exit(failed ? 1 : 0);
+	}
+
+	private static void runInDispatchThread(@NotNull ThrowableRunnable<Exception> runnable) throws Exception
+	{
+		Ref<Exception> exception = Ref.create();
+		try
+		{
+			SwingUtilities.invokeAndWait(() ->
+			{
+				try
+				{
+					runnable.run();
+				}
+				catch(Exception e)
+				{
+					exception.set(e);
+				}
+			});
+		}
+		catch(InvocationTargetException e)
+		{
+			throw new RuntimeException(e.getCause());
+		}
+
+		if(exception.get() != null)
+		{
+			throw exception.get();
+		}
+	}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import com.intellij.openapi.util.io.FileUtil;
+import consulo.visualStudio.VisualStudioImportTarget;
+import consulo.visualStudio.importProvider.VisualStudioImportItem;
+import consulo.visualStudio.importProvider.VisualStudioImportSession;
+import consulo.visualStudio.importProvider.VisualStudioModuleImportPlanner;
+import consulo.visualStudio.msbuild.MSBuildProjectData;
+import consulo.visualStudio.msbuild.MSBuildProjectReader;
+import consulo.visualStudio.util.VisualStudioProjectInfo;
+import consulo.visualStudio.util.VisualStudioSolution;
+import consulo.visualStudio.util.VisualStudioSolutionProject;
+import consulo.visualStudio.util.VisualStudioSolutionReader;
+
+/**
+ * Measures import phases which do not need running application: solution parsing, project parsing and module plan computation.
+ * One operation processes whole generated solution
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VisualStudioImportBenchmark
+{
+	@Param({"10", "100"})
+	public int projects;
+
+	@Param({"50", "500"})
+	public int compileItems;
+
+	@Param({"20"})
+	public int references;
+
+	@Param({"2", "6"})
+	public int configurations;
+
+	private File myDirectory;
+	private File mySolutionFile;
+	private List<byte[]> myProjectContents;
+	private List<VisualStudioImportItem> myImportItems;
+	private List<MSBuildProjectData> myProjectData;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException
+	{
+		myDirectory = FileUtil.createTempDirectory("vs-benchmark", null);
+		mySolutionFile = new VisualStudioSolutionGenerator().projects(projects).compileItems(compileItems).references(references).configurations
+				(configurations).generate(myDirectory);
+
+		VisualStudioSolution solution = VisualStudioSolutionReader.read(mySolutionFile);
+
+		myProjectContents = new ArrayList<byte[]>(solution.getProjects().size());
+		myImportItems = new ArrayList<VisualStudioImportItem>(solution.getProjects().size());
+		myProjectData = new ArrayList<MSBuildProjectData>(solution.getProjects().size());
+		for(VisualStudioSolutionProject project : solution.getProjects())
+		{
+			File projectFile = new File(myDirectory, FileUtil.toSystemDependentName(project.getPath()));
+			byte[] content = Files.readAllBytes(projectFile.toPath());
+
+			myProjectContents.add(content);
+			myProjectData.add(MSBuildProjectReader.read(new ByteArrayInputStream(content)));
+			VisualStudioProjectInfo projectInfo = new VisualStudioProjectInfo(project.getName(), projectFile, project.getTypeGuid(),
+					project.getGuid(), solution.getProjectConfiguration(project), null);
+			myImportItems.add(new VisualStudioImportItem(projectInfo, VisualStudioImportTarget._NET));
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown()
+	{
+		FileUtil.delete(myDirectory);
+	}
+
+	@Benchmark
+	public VisualStudioSolution parseSolution() throws IOException
+	{
+		return VisualStudioSolutionReader.read(mySolutionFile);
+	}
+
+	@Benchmark
+	public void parseProjects(Blackhole blackhole) throws IOException
+	{
+		for(byte[] content : myProjectContents)
+		{
+			blackhole.consume(MSBuildProjectReader.read(new ByteArrayInputStream(content)));
+		}
+	}
+
+	@Benchmark
+	public void planModules(Blackhole blackhole)
+	{
+		VisualStudioImportSession session = new VisualStudioImportSession(mySolutionFile);
+		for(int i = 0; i < myImportItems.size(); i++)
+		{
+			blackhole.consume(VisualStudioModuleImportPlanner.plan(myImportItems.get(i), myProjectData.get(i), null, session));
+		}
+	}
+}
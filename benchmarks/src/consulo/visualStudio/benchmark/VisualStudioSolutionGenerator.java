@@ -0,0 +1,269 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Writes synthetic solution with C# projects to disk. Output is deterministic for same parameters
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioSolutionGenerator
+{
+	public static final String CSHARP_PROJECT_TYPE_GUID = "{FAE04EC0-301F-11D3-BF4B-00C04F79EFBC}";
+
+	private static final String[] ourFrameworkReferences = {
+			"System",
+			"System.Core",
+			"System.Data",
+			"System.Xml",
+			"System.Xml.Linq",
+			"System.Net.Http",
+			"System.Drawing",
+			"System.Windows.Forms",
+			"System.Configuration",
+			"System.Runtime.Serialization",
+			"System.ServiceModel",
+			"Microsoft.CSharp"
+	};
+
+	private static final String[] ourPlatforms = {
+			"Any CPU",
+			"x86",
+			"x64"
+	};
+
+	private int myProjectCount = 10;
+	private int myCompileItemCount = 50;
+	private int myReferenceCount = 10;
+	private int myConfigurationCount = 2;
+	private int myFilesPerDirectory = 10;
+
+	@NotNull
+	public VisualStudioSolutionGenerator projects(int projectCount)
+	{
+		myProjectCount = projectCount;
+		return this;
+	}
+
+	@NotNull
+	public VisualStudioSolutionGenerator compileItems(int compileItemCount)
+	{
+		myCompileItemCount = compileItemCount;
+		return this;
+	}
+
+	@NotNull
+	public VisualStudioSolutionGenerator references(int referenceCount)
+	{
+		myReferenceCount = referenceCount;
+		return this;
+	}
+
+	@NotNull
+	public VisualStudioSolutionGenerator configurations(int configurationCount)
+	{
+		myConfigurationCount = configurationCount;
+		return this;
+	}
+
+	@NotNull
+	public VisualStudioSolutionGenerator filesPerDirectory(int filesPerDirectory)
+	{
+		myFilesPerDirectory = filesPerDirectory;
+		return this;
+	}
+
+	/**
+	 * @return solution file
+	 */
+	@NotNull
+	public File generate(@NotNull File directory) throws IOException
+	{
+		Random random = new Random(myProjectCount * 31L + myCompileItemCount);
+
+		List<String> configurations = new ArrayList<String>(myConfigurationCount);
+		for(int i = 0; i < myConfigurationCount; i++)
+		{
+			String configuration = i == 0 ? "Debug" : i == 1 ? "Release" : "Custom" + i;
+			configurations.add(configuration + "|" + ourPlatforms[i % ourPlatforms.length]);
+		}
+
+		List<String> projectNames = new ArrayList<String>(myProjectCount);
+		List<String> projectGuids = new ArrayList<String>(myProjectCount);
+		for(int i = 0; i < myProjectCount; i++)
+		{
+			String projectName = "Project" + i;
+			String projectGuid = "{" + new UUID(random.nextLong(), random.nextLong()).toString().toUpperCase(Locale.US) + "}";
+
+			projectNames.add(projectName);
+			projectGuids.add(projectGuid);
+
+			File projectDirectory = new File(directory, projectName);
+			writeProject(new File(projectDirectory, projectName + ".csproj"), projectName, projectGuid, configurations);
+		}
+
+		File solutionFile = new File(directory, "Generated.sln");
+		writeSolution(solutionFile, projectNames, projectGuids, configurations);
+		return solutionFile;
+	}
+
+	private void writeSolution(File file, List<String> projectNames, List<String> projectGuids, List<String> configurations) throws IOException
+	{
+		try (Writer writer = newWriter(file))
+		{
+			writer.write("\uFEFF\r\n");
+			writer.write("Microsoft Visual Studio Solution File, Format Version 12.00\r\n");
+			writer.write("# Visual Studio 14\r\n");
+			writer.write("VisualStudioVersion = 14.0.25420.1\r\n");
+			writer.write("MinimumVisualStudioVersion = 10.0.40219.1\r\n");
+
+			for(int i = 0; i < projectNames.size(); i++)
+			{
+				String name = projectNames.get(i);
+				writer.write("Project(\"" + CSHARP_PROJECT_TYPE_GUID + "\") = \"" + name + "\", \"" + name + "\\" + name + ".csproj\", \"" +
+						projectGuids.get(i) + "\"\r\n");
+				writer.write("EndProject\r\n");
+			}
+
+			writer.write("Global\r\n");
+			writer.write("\tGlobalSection(SolutionConfigurationPlatforms) = preSolution\r\n");
+			for(String configuration : configurations)
+			{
+				writer.write("\t\t" + configuration + " = " + configuration + "\r\n");
+			}
+			writer.write("\tEndGlobalSection\r\n");
+			writer.write("\tGlobalSection(ProjectConfigurationPlatforms) = postSolution\r\n");
+			for(String projectGuid : projectGuids)
+			{
+				for(String configuration : configurations)
+				{
+					writer.write("\t\t" + projectGuid + "." + configuration + ".ActiveCfg = " + configuration + "\r\n");
+					writer.write("\t\t" + projectGuid + "." + configuration + ".Build.0 = " + configuration + "\r\n");
+				}
+			}
+			writer.write("\tEndGlobalSection\r\n");
+			writer.write("\tGlobalSection(SolutionProperties) = preSolution\r\n");
+			writer.write("\t\tHideSolutionNode = FALSE\r\n");
+			writer.write("\tEndGlobalSection\r\n");
+			writer.write("EndGlobal\r\n");
+		}
+	}
+
+	private void writeProject(File file, String name, String guid, List<String> configurations) throws IOException
+	{
+		File directory = file.getParentFile();
+		if(!directory.mkdirs() && !directory.isDirectory())
+		{
+			throw new IOException("Cannot create " + directory);
+		}
+
+		List<String> compileItems = new ArrayList<String>(myCompileItemCount);
+		for(int i = 0; i < myCompileItemCount; i++)
+		{
+			int directoryIndex = i / Math.max(1, myFilesPerDirectory);
+			String include = (directoryIndex == 0 ? "" : "Folder" + directoryIndex + "\\") + "Class" + i + ".cs";
+			compileItems.add(include);
+
+			File compileFile = new File(directory, include.replace('\\', File.separatorChar));
+			compileFile.getParentFile().mkdirs();
+			Files.write(compileFile.toPath(), new byte[0]);
+		}
+
+		// not referenced directory, will be excluded from content root
+		new File(directory, "obj").mkdirs();
+
+		try (Writer writer = newWriter(file))
+		{
+			writer.write("<?xml version=\"1.0\" encoding=\"utf-8\"?>\r\n");
+			writer.write("<Project ToolsVersion=\"14.0\" DefaultTargets=\"Build\" xmlns=\"http://schemas.microsoft.com/developer/msbuild/2003\">\r\n");
+			writer.write("  <Import Project=\"$(MSBuildExtensionsPath)\\$(MSBuildToolsVersion)\\Microsoft.Common.props\" Condition=\"Exists('$" +
+					"(MSBuildExtensionsPath)\\$(MSBuildToolsVersion)\\Microsoft.Common.props')\" />\r\n");
+			writer.write("  <PropertyGroup>\r\n");
+			writer.write("    <Configuration Condition=\" '$(Configuration)' == '' \">Debug</Configuration>\r\n");
+			writer.write("    <Platform Condition=\" '$(Platform)' == '' \">AnyCPU</Platform>\r\n");
+			writer.write("    <ProjectGuid>" + guid + "</ProjectGuid>\r\n");
+			writer.write("    <OutputType>Library</OutputType>\r\n");
+			writer.write("    <RootNamespace>" + name + "</RootNamespace>\r\n");
+			writer.write("    <AssemblyName>" + name + "</AssemblyName>\r\n");
+			writer.write("    <TargetFrameworkVersion>v4.5.2</TargetFrameworkVersion>\r\n");
+			writer.write("    <FileAlignment>512</FileAlignment>\r\n");
+			writer.write("  </PropertyGroup>\r\n");
+
+			for(String configuration : configurations)
+			{
+				String msbuildConfiguration = configuration.replace("Any CPU", "AnyCPU");
+				String configurationName = msbuildConfiguration.substring(0, msbuildConfiguration.indexOf('|'));
+				writer.write("  <PropertyGroup Condition=\" '$(Configuration)|$(Platform)' == '" + msbuildConfiguration + "' \">\r\n");
+				writer.write("    <DebugSymbols>true</DebugSymbols>\r\n");
+				writer.write("    <DebugType>full</DebugType>\r\n");
+				writer.write("    <Optimize>" + !configurationName.equals("Debug") + "</Optimize>\r\n");
+				writer.write("    <OutputPath>bin\\" + configurationName + "\\</OutputPath>\r\n");
+				writer.write("    <DefineConstants>DEBUG;TRACE</DefineConstants>\r\n");
+				writer.write("    <ErrorReport>prompt</ErrorReport>\r\n");
+				writer.write("    <WarningLevel>4</WarningLevel>\r\n");
+				writer.write("  </PropertyGroup>\r\n");
+			}
+
+			writer.write("  <ItemGroup>\r\n");
+			for(int i = 0; i < myReferenceCount; i++)
+			{
+				String reference = i < ourFrameworkReferences.length ? ourFrameworkReferences[i] : "Library" + i;
+				if(i % 3 == 2)
+				{
+					writer.write("    <Reference Include=\"" + reference + ", Version=4.0.0.0, Culture=neutral, PublicKeyToken=b77a5c561934e089\">\r\n");
+					writer.write("      <Private>False</Private>\r\n");
+					writer.write("    </Reference>\r\n");
+				}
+				else
+				{
+					writer.write("    <Reference Include=\"" + reference + "\" />\r\n");
+				}
+			}
+			writer.write("  </ItemGroup>\r\n");
+
+			writer.write("  <ItemGroup>\r\n");
+			for(String compileItem : compileItems)
+			{
+				writer.write("    <Compile Include=\"" + compileItem + "\" />\r\n");
+			}
+			writer.write("  </ItemGroup>\r\n");
+
+			writer.write("  <Import Project=\"$(MSBuildToolsPath)\\Microsoft.CSharp.targets\" />\r\n");
+			writer.write("</Project>\r\n");
+		}
+	}
+
+	private static Writer newWriter(File file) throws IOException
+	{
+		return new OutputStreamWriter(Files.newOutputStream(file.toPath()), StandardCharsets.UTF_8);
+	}
+}
@@ -24,6 +24,13 @@ import org.jetbrains.annotations.NotNull;
  */
 public class CSharpVisualStudioLanguageImportProvider implements VisualStudioLanguageImportProvider
 {
+	private static final String[] ourProjectTypeGuids = {
+			// classic C# project
+			"FAE04EC0-301F-11D3-BF4B-00C04F79EFBC",
+			// SDK-style C# project
+			"9A19103F-16F7-4668-BE54-9A1E7A4F7556"
+	};
+
 	@NotNull
 	@Override
 	public String getLanguageModuleExtensionId(@NotNull VisualStudioImportTarget target)
@@ -38,4 +45,11 @@ public class CSharpVisualStudioLanguageImportProvider implements VisualStudioLan
 				throw new UnsupportedOperationException(target + " is not supported by C#");
 		}
 	}
+
+	@NotNull
+	@Override
+	public String[] getProjectTypeGuids()
+	{
+		return ourProjectTypeGuids;
+	}
 }
@@ -16,27 +16,24 @@
 
 package consulo.visualStudio.csproj;
 
-import java.util.ArrayList;
+import java.io.File;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 
-import org.bromix.msbuild.Item;
-import org.bromix.msbuild.ItemGroup;
-import org.bromix.msbuild.MSBuildReader;
-import org.bromix.msbuild.Project;
-import org.jdom.Document;
-import org.jdom.Element;
-import org.jdom.Namespace;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.openapi.projectRoots.Sdk;
 import com.intellij.openapi.projectRoots.SdkTable;
 import com.intellij.openapi.roots.ModifiableRootModel;
-import com.intellij.openapi.util.JDOMUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.util.containers.ContainerUtil;
 import consulo.dotnet.DotNetTarget;
@@ -47,6 +44,16 @@ import consulo.microsoft.dotnet.sdk.MicrosoftDotNetSdkType;
 import consulo.roots.ModifiableModuleRootLayer;
 import consulo.roots.impl.ModuleRootLayerImpl;
 import consulo.visualStudio.VisualStudioProjectFileType;
+import consulo.visualStudio.msbuild.MSBuildCondition;
+import consulo.visualStudio.msbuild.MSBuildConditionCache;
+import consulo.visualStudio.msbuild.MSBuildItemData;
+import consulo.visualStudio.msbuild.MSBuildProjectCache;
+import consulo.visualStudio.msbuild.MSBuildProjectData;
+import consulo.visualStudio.msbuild.MSBuildPropertyScope;
+import consulo.visualStudio.msbuild.MSBuildPropertyGroupData;
+import consulo.visualStudio.util.VisualStudioAssemblyReference;
+import consulo.visualStudio.util.VisualStudioImportStatistics;
+import consulo.visualStudio.util.VisualStudioReferenceInterner;
 
 /**
  * @author VISTALL
@@ -57,15 +64,29 @@ public class CsProjProcessor
 {
 	private static final Logger LOGGER = Logger.getInstance(CsProjProcessor.class);
 
-	private static final Namespace ourNamespace = Namespace.getNamespace("http://schemas.microsoft.com/developer/msbuild/2003");
+	private static final String Configuration = "Configuration";
+	private static final String Platform = "Platform";
+	private static final PropertyKey<DotNetTarget> OutputType = PropertyKey.create("OutputType");
+	private static final PropertyKey<String> TargetFrameworkVersion = PropertyKey.create("TargetFrameworkVersion");
+	private static final PropertyKey<List<String>> DefineConstants = PropertyKey.create("DefineConstants");
+	private static final PropertyKey<Boolean> DebugSymbols = PropertyKey.create("DebugSymbols");
+	private static final PropertyKey<Boolean> AllowUnsafeBlocks = PropertyKey.create("AllowUnsafeBlocks");
 
-	private static final String ourParentName = CsProjProcessor.class.getName();
-	private static final String OutputType = "OutputType";
-	private static final String TargetFrameworkVersion = "TargetFrameworkVersion";
-	private static final String DefineConstants = "DefineConstants";
-	private static final String DebugSymbols = "DebugSymbols";
-	private static final String AllowUnsafeBlocks = "AllowUnsafeBlocks";
+	// references are shared by all project files of processor
+	private final VisualStudioReferenceInterner myReferenceInterner;
 
+	public CsProjProcessor()
+	{
+		this(new VisualStudioReferenceInterner());
+	}
+
+	/**
+	 * @param referenceInterner interner of import session, see {@code VisualStudioImportSession#getReferenceInterner()}
+	 */
+	public CsProjProcessor(@NotNull VisualStudioReferenceInterner referenceInterner)
+	{
+		myReferenceInterner = referenceInterner;
+	}
 
 	@NotNull
 	public FileType getFileType()
@@ -75,100 +96,81 @@ public class CsProjProcessor
 
 	public void processFile(@NotNull VirtualFile projectFile, @NotNull ModifiableRootModel modifiableRootModel)
 	{
-		MSBuildReader reader = new MSBuildReader();
+		processFile(projectFile, modifiableRootModel, null);
+	}
+
+	/**
+	 * @param statistics statistics of running import, receives processing and loading of project file
+	 */
+	public void processFile(@NotNull VirtualFile projectFile,
+			@NotNull ModifiableRootModel modifiableRootModel,
+			@Nullable VisualStudioImportStatistics statistics)
+	{
+		long start = System.nanoTime();
 		try
 		{
-			Project project = reader.readProject(projectFile.getInputStream());
+			File file = VfsUtil.virtualToIoFile(projectFile);
+			MSBuildProjectData projectData = MSBuildProjectCache.getInstance().load(file, statistics);
 
 			List<Sdk> sdks = SdkTable.getInstance().getSdksOfType(MicrosoftDotNetSdkType.getInstance());
 
-			Document document = JDOMUtil.loadDocument(projectFile.getInputStream());
-
 			Map<String, PropertyGroup> groupMap = new LinkedHashMap<String, PropertyGroup>();
-			Element rootElement = document.getRootElement();
 
-			List<String> references = new ArrayList<String>();
-			for(org.bromix.msbuild.Element element : project.getChildren())
+			// parsed once, and shared by all configuration layers
+			Map<String, VisualStudioAssemblyReference> references = new LinkedHashMap<String, VisualStudioAssemblyReference>();
+			for(MSBuildItemData item : projectData.getItems("Reference"))
 			{
-				if(element instanceof ItemGroup)
+				String include = item.getInclude();
+				VisualStudioAssemblyReference reference = include == null ? null : myReferenceInterner.intern(include);
+				if(reference != null)
 				{
-					List<org.bromix.msbuild.Element> children = ((ItemGroup) element).getChildren();
-					for(org.bromix.msbuild.Element child : children)
-					{
-						if(child instanceof Item && "Reference".equals(child.getElementName()))
-						{
-							references.add(((Item) child).getInclude());
-						}
-					}
+					references.putIfAbsent(StringUtil.toLowerCase(reference.getName()), reference);
 				}
 			}
 
-			for(Element group : rootElement.getChildren("ItemGroup", ourNamespace))
+			// conditions are compiled once, configuration and platform values are taken from them
+			List<MSBuildPropertyGroupData> propertyGroups = projectData.getPropertyGroups();
+			MSBuildCondition[] conditions = new MSBuildCondition[propertyGroups.size()];
+			Map<String, Set<String>> conditionValues = new TreeMap<String, Set<String>>(String.CASE_INSENSITIVE_ORDER);
+			for(int i = 0; i < conditions.length; i++)
 			{
-				for(Element ref : group.getChildren("Reference", ourNamespace))
-				{
-					references.add(ref.getAttributeValue("Include"));
-				}
+				conditions[i] = MSBuildConditionCache.getInstance().compile(propertyGroups.get(i).getCondition());
+				conditions[i].collectPropertyValues(conditionValues);
 			}
 
-			for(Element propertyGroup : rootElement.getChildren("PropertyGroup", ourNamespace))
-			{
-				String cond = propertyGroup.getAttributeValue("Condition");
-				if(cond == null)
-				{
-					cond = ourParentName;
-				}
-				else
-				{
-					cond = cond.substring(" '$(Configuration)|$(Platform)' == '".length(), cond.lastIndexOf('|'));
-				}
-
-				PropertyGroup value = new PropertyGroup();
-				groupMap.put(cond, value);
+			Set<String> configurations = conditionValues.getOrDefault(Configuration, Collections.<String>emptySet());
+			Set<String> platforms = conditionValues.getOrDefault(Platform, Collections.<String>emptySet());
 
-				String outputType = propertyGroup.getChildText(OutputType, ourNamespace);
-				if("WinExe".equals(outputType))
-				{
-					value.put(OutputType, DotNetTarget.EXECUTABLE);
-				}
-				else if("Library".equals(outputType))
-				{
-					value.put(OutputType, DotNetTarget.LIBRARY);
-				}
+			MSBuildPropertyScope environmentScope = MSBuildPropertyScope.createEnvironment();
 
-				String targetFrameworkVersion = propertyGroup.getChildText(TargetFrameworkVersion, ourNamespace);
-				if(targetFrameworkVersion != null)
-				{
-					value.put(TargetFrameworkVersion, targetFrameworkVersion);
-				}
+			// values of default configuration are shared, configuration groups keep only values which differ from them
+			PropertyGroup defaultGroup = new PropertyGroup();
+			putValues(defaultGroup, environmentScope.evaluateProject(file, projectData));
 
-				String defineConstants = propertyGroup.getChildText(DefineConstants, ourNamespace);
-				if(defineConstants != null)
+			for(String configuration : configurations)
+			{
+				for(String platform : platforms.isEmpty() ? Collections.<String>singleton(null) : platforms)
 				{
-					String[] split = defineConstants.split(";");
-					value.put(DefineConstants, Arrays.asList(split));
-				}
+					// configuration and platform override values from project, like when project is built from solution
+					MSBuildPropertyScope configurationScope = environmentScope.createConfiguration(configuration, platform);
+					MSBuildPropertyScope scope = configurationScope.evaluateProject(file, projectData);
 
-				String debugSymbols = propertyGroup.getChildText(DebugSymbols, ourNamespace);
-				if(debugSymbols != null)
-				{
-					value.put(DebugSymbols, Boolean.parseBoolean(debugSymbols));
-				}
+					// pairs of configuration and platform which are not declared by project are skipped
+					boolean matched = false;
+					for(int i = 0; i < conditions.length && !matched; i++)
+					{
+						matched = propertyGroups.get(i).getCondition() != null && conditions[i].evaluate(scope::get);
+					}
 
-				String unsafeBlocks = propertyGroup.getChildText(AllowUnsafeBlocks, ourNamespace);
-				if(unsafeBlocks != null)
-				{
-					value.put(AllowUnsafeBlocks, Boolean.parseBoolean(unsafeBlocks));
+					if(matched)
+					{
+						PropertyGroup value = new PropertyGroup(defaultGroup);
+						putValues(value, scope);
+						groupMap.put(platforms.size() > 1 ? configuration + "|" + platform : configuration, value);
+					}
 				}
 			}
 
-			PropertyGroup own = groupMap.remove(ourParentName);
-
-			for(PropertyGroup propertyGroup : groupMap.values())
-			{
-				propertyGroup.putAll(own.get());
-			}
-
 			modifiableRootModel.removeLayer(ModifiableRootModel.DEFAULT_LAYER_NAME, false);
 
 			for(Map.Entry<String, PropertyGroup> groupEntry : groupMap.entrySet())
@@ -211,9 +213,9 @@ public class CsProjProcessor
 					}
 				}  */
 
-				for(String reference : references)
+				for(VisualStudioAssemblyReference reference : references.values())
 				{
-					layer.addOrderEntry(new DotNetLibraryOrderEntryImpl((ModuleRootLayerImpl) layer, reference));
+					layer.addOrderEntry(new DotNetLibraryOrderEntryImpl((ModuleRootLayerImpl) layer, reference.getName()));
 				}
 			}
 
@@ -230,5 +232,43 @@ public class CsProjProcessor
 		{
 			CsProjProcessor.LOGGER.error(e);
 		}
+		finally
+		{
+			if(statistics != null)
+			{
+				statistics.record(VisualStudioImportStatistics.Phase.CSPROJ_PROCESS, projectFile.getPath(), start, 0);
+			}
+		}
+	}
+
+	private static void putValues(@NotNull PropertyGroup value, @NotNull MSBuildPropertyScope scope)
+	{
+		String outputType = scope.get(OutputType.getName());
+		if("WinExe".equals(outputType))
+		{
+			value.put(OutputType, DotNetTarget.EXECUTABLE);
+		}
+		else if("Library".equals(outputType))
+		{
+			value.put(OutputType, DotNetTarget.LIBRARY);
+		}
+		else
+		{
+			value.put(OutputType, null);
+		}
+
+		value.put(TargetFrameworkVersion, scope.get(TargetFrameworkVersion.getName()));
+
+		String defineConstants = scope.get(DefineConstants.getName());
+		value.put(DefineConstants, defineConstants == null ? null : Arrays.asList(defineConstants.split(";")));
+
+		value.put(DebugSymbols, parseBoolean(scope.get(DebugSymbols.getName())));
+		value.put(AllowUnsafeBlocks, parseBoolean(scope.get(AllowUnsafeBlocks.getName())));
+	}
+
+	@Nullable
+	private static Boolean parseBoolean(@Nullable String value)
+	{
+		return value == null ? null : Boolean.valueOf(value);
 	}
 }
@@ -16,36 +16,90 @@
 
 package consulo.visualStudio.csproj;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.util.Comparing;
 
 /**
- * @author VISTALL
- * @since 27.03.14
+ * Values of {@link PropertyKey}s, stored in array slots. Group falls back to its parent for values which are not set, so configuration
+ * groups keep only values which differ from parent group
+ *
+ * @author agent
+ * @since 18.10.2026
  */
 public class PropertyGroup
 {
-	private final Map<String, Object> myData = new HashMap<String, Object>();
+	// marks value which is defined by parent, but not by this group
+	private static final Object ourRemoved = new Object();
 
-	public void putAll(Map<String, Object> map)
+	private final PropertyGroup myParent;
+	private Object[] mySlots;
+
+	public PropertyGroup()
 	{
-		myData.putAll(map);
+		this(null);
 	}
 
-	public void put(String key, Object value)
+	public PropertyGroup(@Nullable PropertyGroup parent)
 	{
-		myData.put(key, value);
+		myParent = parent;
+		mySlots = new Object[PropertyKey.getCount()];
+	}
+
+	/**
+	 * @param value null if property is not defined
+	 */
+	public <T> void put(@NotNull PropertyKey<T> key, @Nullable T value)
+	{
+		Object parentValue = myParent == null ? null : myParent.find(key.getIndex());
+		Object slotValue;
+		if(Comparing.equal(parentValue, value))
+		{
+			slotValue = null;
+		}
+		else
+		{
+			slotValue = value == null ? ourRemoved : value;
+		}
+
+		int index = key.getIndex();
+		if(index >= mySlots.length)
+		{
+			if(slotValue == null)
+			{
+				return;
+			}
+			// key was created after group
+			mySlots = Arrays.copyOf(mySlots, PropertyKey.getCount());
+		}
+		mySlots[index] = slotValue;
 	}
 
 	@SuppressWarnings("unchecked")
-	public <T> T get(String key, T defaultValue)
+	public <T> T get(@NotNull PropertyKey<T> key, T defaultValue)
 	{
-		Object o = myData.get(key);
-		return o == null ? defaultValue : (T) o;
+		Object value = find(key.getIndex());
+		// only values of key type are put into slot of key
+		return value == null ? defaultValue : (T) value;
 	}
 
-	public Map<String, Object> get()
+	@Nullable
+	private Object find(int index)
 	{
-		return myData;
+		for(PropertyGroup group = this; group != null; group = group.myParent)
+		{
+			Object value = index < group.mySlots.length ? group.mySlots[index] : null;
+			if(value == ourRemoved)
+			{
+				return null;
+			}
+			if(value != null)
+			{
+				return value;
+			}
+		}
+		return null;
 	}
 }
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.csproj;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Typed key of {@link PropertyGroup}. Each key owns one slot of property group, keys are expected to be constants
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public final class PropertyKey<T>
+{
+	private static final AtomicInteger ourCount = new AtomicInteger();
+
+	@NotNull
+	public static <T> PropertyKey<T> create(@NotNull String name)
+	{
+		return new PropertyKey<T>(name, ourCount.getAndIncrement());
+	}
+
+	static int getCount()
+	{
+		return ourCount.get();
+	}
+
+	private final String myName;
+	private final int myIndex;
+
+	private PropertyKey(@NotNull String name, int index)
+	{
+		myName = name;
+		myIndex = index;
+	}
+
+	/**
+	 * @return name of MSBuild property
+	 */
+	@NotNull
+	public String getName()
+	{
+		return myName;
+	}
+
+	int getIndex()
+	{
+		return myIndex;
+	}
+
+	@Override
+	public String toString()
+	{
+		return myName;
+	}
+}
@@ -31,6 +31,7 @@ public class VisualStudioFileTypeFactory extends FileTypeFactory
 	public void createFileTypes(@NotNull FileTypeConsumer consumer)
 	{
 		consumer.consume(VisualStudioSolutionFileType.INSTANCE);
+		consumer.consume(VisualStudioSolutionFilterFileType.INSTANCE);
 
 		for(KeyedLazyInstanceEP<VisualStudioLanguageImportProvider> ep : VisualStudioLanguageImportProvider.EP_NAME.getExtensions())
 		{
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.extensions.ExtensionPointListener;
+import com.intellij.openapi.extensions.ExtensionPointName;
+import com.intellij.openapi.extensions.Extensions;
+import com.intellij.openapi.extensions.PluginDescriptor;
+import com.intellij.util.KeyedLazyInstanceEP;
+import com.intellij.util.containers.CaseInsensitiveStringHashingStrategy;
+import com.intellij.util.containers.ContainerUtil;
+import consulo.module.extension.ModuleExtensionProviderEP;
+import gnu.trove.THashMap;
+
+/**
+ * Index of {@link VisualStudioLanguageImportProvider} by project file extension and project type GUID, and of available
+ * {@link VisualStudioImportTarget}s. Index is built on first access, and dropped when extensions are added or removed
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioImportRegistry
+{
+	private static class Index
+	{
+		private final Map<String, VisualStudioLanguageImportProvider> myByExtension = new THashMap<String,
+				VisualStudioLanguageImportProvider>(CaseInsensitiveStringHashingStrategy.INSTANCE);
+		private final Map<String, VisualStudioLanguageImportProvider> myByProjectTypeGuid = new THashMap<String,
+				VisualStudioLanguageImportProvider>(CaseInsensitiveStringHashingStrategy.INSTANCE);
+		private final VisualStudioImportTarget[] myAvailableTargets;
+
+		private Index()
+		{
+			for(KeyedLazyInstanceEP<VisualStudioLanguageImportProvider> ep : VisualStudioLanguageImportProvider.EP_NAME.getExtensions())
+			{
+				VisualStudioLanguageImportProvider provider = ep.getInstance();
+
+				// first registered provider wins, as in linear search
+				if(!myByExtension.containsKey(ep.getKey()))
+				{
+					myByExtension.put(ep.getKey(), provider);
+				}
+
+				for(String guid : provider.getProjectTypeGuids())
+				{
+					String guidWithoutBraces = guid.startsWith("{") && guid.endsWith("}") ? guid.substring(1, guid.length() - 1) : guid;
+					if(!myByProjectTypeGuid.containsKey(guidWithoutBraces))
+					{
+						// solution file contains GUID in braces, lookup must not allocate
+						myByProjectTypeGuid.put(guidWithoutBraces, provider);
+						myByProjectTypeGuid.put("{" + guidWithoutBraces + "}", provider);
+					}
+				}
+			}
+
+			VisualStudioImportTarget[] values = VisualStudioImportTarget.values();
+			List<VisualStudioImportTarget> list = new ArrayList<VisualStudioImportTarget>(values.length);
+			for(VisualStudioImportTarget target : values)
+			{
+				ModuleExtensionProviderEP providerEP = ModuleExtensionProviderEP.findProviderEP(target.getFrameworkExtensionId());
+				if(providerEP != null)
+				{
+					list.add(target);
+				}
+			}
+			myAvailableTargets = ContainerUtil.toArray(list, VisualStudioImportTarget.ARRAY_FACTORY);
+		}
+	}
+
+	@NotNull
+	public static VisualStudioImportRegistry getInstance()
+	{
+		return ServiceManager.getService(VisualStudioImportRegistry.class);
+	}
+
+	private volatile Index myIndex;
+	private long myModificationCount;
+
+	public VisualStudioImportRegistry()
+	{
+		listen(VisualStudioLanguageImportProvider.EP_NAME);
+		listen(ModuleExtensionProviderEP.EP_NAME);
+	}
+
+	private <T> void listen(@NotNull ExtensionPointName<T> extensionPointName)
+	{
+		Extensions.getRootArea().getExtensionPoint(extensionPointName).addExtensionPointListener(new ExtensionPointListener<T>()
+		{
+			@Override
+			public void extensionAdded(@NotNull T extension, @Nullable PluginDescriptor pluginDescriptor)
+			{
+				dropIndex();
+			}
+
+			@Override
+			public void extensionRemoved(@NotNull T extension, @Nullable PluginDescriptor pluginDescriptor)
+			{
+				dropIndex();
+			}
+		});
+	}
+
+	private synchronized void dropIndex()
+	{
+		myIndex = null;
+		myModificationCount++;
+	}
+
+	@NotNull
+	private Index getIndex()
+	{
+		Index index = myIndex;
+		if(index != null)
+		{
+			return index;
+		}
+
+		long modificationCount;
+		synchronized(this)
+		{
+			modificationCount = myModificationCount;
+		}
+
+		// extension instances are created outside of lock
+		index = new Index();
+
+		synchronized(this)
+		{
+			// do not store index which was built while extensions were changing
+			if(modificationCount == myModificationCount)
+			{
+				myIndex = index;
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * @param fileExtension project file extension, case insensitive
+	 */
+	@Nullable
+	public VisualStudioLanguageImportProvider findByExtension(@NotNull String fileExtension)
+	{
+		return getIndex().myByExtension.get(fileExtension);
+	}
+
+	/**
+	 * @param projectTypeGuid project type GUID from solution file, with or without braces, case insensitive
+	 */
+	@Nullable
+	public VisualStudioLanguageImportProvider findByProjectTypeGuid(@NotNull String projectTypeGuid)
+	{
+		return getIndex().myByProjectTypeGuid.get(projectTypeGuid);
+	}
+
+	/**
+	 * Looks up by extension first, project type GUID is used for unknown extensions
+	 */
+	@Nullable
+	public VisualStudioLanguageImportProvider findProvider(@NotNull String fileExtension, @Nullable String projectTypeGuid)
+	{
+		Index index = getIndex();
+		VisualStudioLanguageImportProvider provider = index.myByExtension.get(fileExtension);
+		if(provider == null && projectTypeGuid != null)
+		{
+			provider = index.myByProjectTypeGuid.get(projectTypeGuid);
+		}
+		return provider;
+	}
+
+	/**
+	 * @return copy of cached targets, can be modified by caller
+	 */
+	@NotNull
+	public VisualStudioImportTarget[] getAvailableTargets()
+	{
+		return getIndex().myAvailableTargets.clone();
+	}
+
+	public boolean hasAvailableTargets()
+	{
+		return getIndex().myAvailableTargets.length != 0;
+	}
+}
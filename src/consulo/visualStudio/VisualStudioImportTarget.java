@@ -16,13 +16,8 @@
 
 package consulo.visualStudio;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import org.jetbrains.annotations.NotNull;
 import com.intellij.util.ArrayFactory;
-import com.intellij.util.containers.ContainerUtil;
-import consulo.module.extension.ModuleExtensionProviderEP;
 
 /**
  * @author VISTALL
@@ -46,20 +41,13 @@ public enum VisualStudioImportTarget
 		myPresentableName = name().replace("_", ".");
 	}
 
+	/**
+	 * @return new array of targets. See {@link VisualStudioImportRegistry}
+	 */
 	@NotNull
 	public static VisualStudioImportTarget[] getAvailableTargets()
 	{
-		VisualStudioImportTarget[] values = values();
-		List<VisualStudioImportTarget> list = new ArrayList<VisualStudioImportTarget>(values.length);
-		for(VisualStudioImportTarget visualStudioImportTarget : values)
-		{
-			ModuleExtensionProviderEP providerEP = ModuleExtensionProviderEP.findProviderEP(visualStudioImportTarget.getFrameworkExtensionId());
-			if(providerEP != null)
-			{
-				list.add(visualStudioImportTarget);
-			}
-		}
-		return ContainerUtil.toArray(list, VisualStudioImportTarget.ARRAY_FACTORY);
+		return VisualStudioImportRegistry.getInstance().getAvailableTargets();
 	}
 
 	public String getFrameworkExtensionId()
@@ -18,6 +18,7 @@ package consulo.visualStudio;
 
 import org.jetbrains.annotations.NotNull;
 import com.intellij.openapi.extensions.ExtensionPointName;
+import com.intellij.util.ArrayUtil;
 import com.intellij.util.KeyedLazyInstanceEP;
 
 /**
@@ -26,9 +27,18 @@ import com.intellij.util.KeyedLazyInstanceEP;
  */
 public interface VisualStudioLanguageImportProvider
 {
-	ExtensionPointName<KeyedLazyInstanceEP<VisualStudioLanguageImportProvider>> EP_NAME = ExtensionPointName.create("org.mustbe.consulo" +
-			".visualStudio.languageImportProvider");
+	ExtensionPointName<KeyedLazyInstanceEP<VisualStudioLanguageImportProvider>> EP_NAME = ExtensionPointName.create("consulo.visualStudio" +
+			".languageImportProvider");
 
 	@NotNull
 	String getLanguageModuleExtensionId(@NotNull VisualStudioImportTarget target);
+
+	/**
+	 * @return project type GUIDs from solution file, which are handled by this provider. Used when project file extension is unknown
+	 */
+	@NotNull
+	default String[] getProjectTypeGuids()
+	{
+		return ArrayUtil.EMPTY_STRING_ARRAY;
+	}
 }
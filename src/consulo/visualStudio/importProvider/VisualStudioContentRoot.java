@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.importProvider;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Directory content root with excluded sub directories
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioContentRoot
+{
+	private final File myDirectory;
+	private final List<File> myExcludedDirectories;
+
+	public VisualStudioContentRoot(@NotNull File directory, @NotNull List<File> excludedDirectories)
+	{
+		myDirectory = directory;
+		myExcludedDirectories = Collections.unmodifiableList(excludedDirectories);
+	}
+
+	@NotNull
+	public File getDirectory()
+	{
+		return myDirectory;
+	}
+
+	@NotNull
+	public List<File> getExcludedDirectories()
+	{
+		return myExcludedDirectories;
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if(this == o)
+		{
+			return true;
+		}
+		if(o == null || getClass() != o.getClass())
+		{
+			return false;
+		}
+
+		VisualStudioContentRoot that = (VisualStudioContentRoot) o;
+		return myDirectory.equals(that.myDirectory) && myExcludedDirectories.equals(that.myExcludedDirectories);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return 31 * myDirectory.hashCode() + myExcludedDirectories.hashCode();
+	}
+}
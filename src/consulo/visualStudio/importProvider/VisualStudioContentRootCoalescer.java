@@ -0,0 +1,192 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.importProvider;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.util.SystemInfo;
+import com.intellij.openapi.util.io.FileUtil;
+
+/**
+ * Reduces compile files of project to minimal set of directory content roots. Files inside project directory are covered by project
+ * directory, other files by their parent directories. Sub directories without compile files are excluded
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioContentRootCoalescer
+{
+	private static class Node
+	{
+		private Map<String, Node> myChildren;
+
+		@NotNull
+		private Node getOrCreateChild(String name)
+		{
+			if(myChildren == null)
+			{
+				myChildren = new HashMap<String, Node>();
+			}
+			Node node = myChildren.get(name);
+			if(node == null)
+			{
+				myChildren.put(name, node = new Node());
+			}
+			return node;
+		}
+
+		@Nullable
+		private Node getChild(String name)
+		{
+			return myChildren == null ? null : myChildren.get(name);
+		}
+	}
+
+	private static final Function<File, File[]> ourDirectoryLister = directory -> directory.listFiles(File::isDirectory);
+
+	@NotNull
+	public static List<VisualStudioContentRoot> coalesce(@NotNull File projectDirectory, @NotNull Collection<File> files)
+	{
+		return coalesce(projectDirectory, files, ourDirectoryLister);
+	}
+
+	/**
+	 * @param directoryLister returns sub directories of directory
+	 */
+	@NotNull
+	public static List<VisualStudioContentRoot> coalesce(@NotNull File projectDirectory,
+			@NotNull Collection<File> files,
+			@NotNull Function<File, File[]> directoryLister)
+	{
+		if(files.isEmpty())
+		{
+			return Collections.emptyList();
+		}
+
+		String projectPath = normalize(projectDirectory.getPath());
+
+		Node trie = new Node();
+		TreeSet<String> rootPaths = new TreeSet<String>();
+		for(File file : files)
+		{
+			String path = normalize(file.getPath());
+
+			Node node = trie;
+			for(String name : split(path))
+			{
+				node = node.getOrCreateChild(key(name));
+			}
+
+			if(FileUtil.isAncestor(projectPath, path, true))
+			{
+				rootPaths.add(projectPath);
+			}
+			else
+			{
+				int index = path.lastIndexOf('/');
+				rootPaths.add(index <= 0 ? path : path.substring(0, index));
+			}
+		}
+
+		List<VisualStudioContentRoot> roots = new ArrayList<VisualStudioContentRoot>(rootPaths.size());
+		List<String> acceptedPaths = new ArrayList<String>(rootPaths.size());
+		// sorted set, ancestor is always before its children
+		for(String rootPath : rootPaths)
+		{
+			if(isUnderAny(acceptedPaths, rootPath))
+			{
+				continue;
+			}
+			acceptedPaths.add(rootPath);
+
+			Node node = trie;
+			for(String name : split(rootPath))
+			{
+				node = node.getChild(key(name));
+				assert node != null : rootPath;
+			}
+
+			File directory = new File(FileUtil.toSystemDependentName(rootPath));
+			List<File> excludes = new ArrayList<File>();
+			collectExcludes(directory, node, directoryLister, excludes);
+			roots.add(new VisualStudioContentRoot(directory, excludes));
+		}
+		return roots;
+	}
+
+	private static boolean isUnderAny(List<String> ancestors, String path)
+	{
+		for(String ancestor : ancestors)
+		{
+			if(FileUtil.isAncestor(ancestor, path, false))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static void collectExcludes(File directory, Node node, Function<File, File[]> directoryLister, List<File> excludes)
+	{
+		File[] children = directoryLister.apply(directory);
+		if(children == null)
+		{
+			return;
+		}
+
+		for(File child : children)
+		{
+			Node childNode = node.getChild(key(child.getName()));
+			if(childNode == null)
+			{
+				excludes.add(child);
+			}
+			else if(childNode.myChildren != null)
+			{
+				collectExcludes(child, childNode, directoryLister, excludes);
+			}
+		}
+	}
+
+	@NotNull
+	private static String normalize(String path)
+	{
+		return FileUtil.toCanonicalPath(FileUtil.toSystemIndependentName(path));
+	}
+
+	@NotNull
+	private static String[] split(String path)
+	{
+		return path.split("/");
+	}
+
+	@NotNull
+	private static String key(String name)
+	{
+		return SystemInfo.isFileSystemCaseSensitive ? name : name.toLowerCase();
+	}
+}
@@ -0,0 +1,332 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.importProvider;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.module.ModifiableModuleModel;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Ref;
+import consulo.visualStudio.VisualStudioImportTarget;
+import consulo.visualStudio.util.VisualStudioImportStatistics;
+
+/**
+ * Imports solution into existing project without wizard, with targets which are chosen by caller. Intended for CI and benchmarks: it
+ * works in headless and test application, and one project can be reused for many imports, see {@link #removeModules(Result)}.
+ * <p/>
+ * Must not be called from write action, projects are planned in background threads
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioHeadlessImporter
+{
+	public static class Result
+	{
+		private final File mySolutionFile;
+		private final List<Module> myModules;
+		private final VisualStudioImportStatistics myStatistics;
+		private final long myUsedHeapBefore;
+		private final long myUsedHeapAfter;
+		private final long myPeakHeap;
+
+		private Result(@NotNull File solutionFile,
+				@NotNull List<Module> modules,
+				@NotNull VisualStudioImportStatistics statistics,
+				long usedHeapBefore,
+				long usedHeapAfter,
+				long peakHeap)
+		{
+			mySolutionFile = solutionFile;
+			myModules = modules;
+			myStatistics = statistics;
+			myUsedHeapBefore = usedHeapBefore;
+			myUsedHeapAfter = usedHeapAfter;
+			myPeakHeap = peakHeap;
+		}
+
+		@NotNull
+		public File getSolutionFile()
+		{
+			return mySolutionFile;
+		}
+
+		/**
+		 * @return created modules, first one is module of solution directory
+		 */
+		@NotNull
+		public List<Module> getModules()
+		{
+			return myModules;
+		}
+
+		/**
+		 * @return per-phase timings of this import
+		 */
+		@NotNull
+		public VisualStudioImportStatistics getStatistics()
+		{
+			return myStatistics;
+		}
+
+		/**
+		 * @return used heap before import, measured after gc
+		 */
+		public long getUsedHeapBefore()
+		{
+			return myUsedHeapBefore;
+		}
+
+		/**
+		 * @return used heap after import, measured after gc. Difference with {@link #getUsedHeapBefore()} is heap retained by import
+		 */
+		public long getUsedHeapAfter()
+		{
+			return myUsedHeapAfter;
+		}
+
+		/**
+		 * @return peak of used heap during import, sampled every few milliseconds. Garbage which is not collected yet is counted
+		 */
+		public long getPeakHeap()
+		{
+			return myPeakHeap;
+		}
+
+		@Override
+		public String toString()
+		{
+			StringBuilder builder = new StringBuilder();
+			builder.append(myStatistics);
+			builder.append("\n  modules: ").append(myModules.size());
+			builder.append("\n  heap: ").append(toKilobytes(myUsedHeapBefore)).append(" KB before, ");
+			builder.append(toKilobytes(myUsedHeapAfter)).append(" KB after, ");
+			builder.append(toKilobytes(myPeakHeap)).append(" KB peak");
+			return builder.toString();
+		}
+
+		private static long toKilobytes(long bytes)
+		{
+			return bytes / 1024;
+		}
+	}
+
+	/**
+	 * Samples used heap of whole application. Heap pools reach their peaks at different times, so sum of pool peaks is above real peak
+	 */
+	private static class HeapSampler extends Thread
+	{
+		private static final int INTERVAL = 5;
+
+		private final MemoryMXBean myMemoryBean = ManagementFactory.getMemoryMXBean();
+		private volatile boolean myFinished;
+		// written by sampler thread, read after join
+		private long myPeak;
+
+		private HeapSampler()
+		{
+			super("Visual Studio import heap sampler");
+			setDaemon(true);
+		}
+
+		@Override
+		public void run()
+		{
+			while(!myFinished)
+			{
+				myPeak = Math.max(myPeak, myMemoryBean.getHeapMemoryUsage().getUsed());
+				try
+				{
+					Thread.sleep(INTERVAL);
+				}
+				catch(InterruptedException e)
+				{
+					return;
+				}
+			}
+		}
+
+		/**
+		 * @return peak of used heap since start
+		 */
+		private long finish()
+		{
+			myFinished = true;
+			try
+			{
+				join();
+			}
+			catch(InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+			}
+			return Math.max(myPeak, myMemoryBean.getHeapMemoryUsage().getUsed());
+		}
+	}
+
+	private final Project myProject;
+	private VisualStudioImportTarget myDefaultTarget = VisualStudioImportTarget._NET;
+	private final Map<String, VisualStudioImportTarget> myTargets = new HashMap<String, VisualStudioImportTarget>();
+	private boolean myWithReferencedProjects;
+
+	public VisualStudioHeadlessImporter(@NotNull Project project)
+	{
+		myProject = project;
+	}
+
+	/**
+	 * @param target target of projects which have no target set by {@link #target(String, VisualStudioImportTarget)}
+	 */
+	@NotNull
+	public VisualStudioHeadlessImporter defaultTarget(@NotNull VisualStudioImportTarget target)
+	{
+		myDefaultTarget = target;
+		return this;
+	}
+
+	/**
+	 * @param projectName name of project in solution
+	 */
+	@NotNull
+	public VisualStudioHeadlessImporter target(@NotNull String projectName, @NotNull VisualStudioImportTarget target)
+	{
+		myTargets.put(projectName, target);
+		return this;
+	}
+
+	/**
+	 * @param withReferencedProjects if true, projects referenced by projects of solution filter are imported too
+	 */
+	@NotNull
+	public VisualStudioHeadlessImporter withReferencedProjects(boolean withReferencedProjects)
+	{
+		myWithReferencedProjects = withReferencedProjects;
+		return this;
+	}
+
+	/**
+	 * @param solutionFile solution file, or solution filter file
+	 */
+	@NotNull
+	public Result importSolution(@NotNull File solutionFile)
+	{
+		final Application application = ApplicationManager.getApplication();
+		assert !application.isWriteAccessAllowed() : "Import can't be called from write action";
+
+		// statistics of import start with reading of solution
+		VisualStudioImportSession session = new VisualStudioImportSession(solutionFile);
+		List<VisualStudioImportItem> importItems = VisualStudioImportBuilder.loadItems(solutionFile, myWithReferencedProjects, session
+				.getStatistics());
+		for(VisualStudioImportItem importItem : importItems)
+		{
+			VisualStudioImportTarget target = myTargets.get(importItem.getProjectInfo().getName());
+			importItem.setTarget(target == null ? myDefaultTarget : target);
+		}
+
+		final VisualStudioImportBuilder builder = new VisualStudioImportBuilder();
+		builder.setFileToImport(solutionFile.getAbsolutePath());
+		builder.setWithReferencedProjects(myWithReferencedProjects);
+		// modules are removed after measurement, changes of files are not synchronized with them
+		builder.setSynchronizeChanges(false);
+		builder.setImportItems(session, importItems);
+
+		long usedHeapBefore = getUsedHeap();
+		HeapSampler heapSampler = new HeapSampler();
+		heapSampler.start();
+
+		final Ref<List<Module>> modules = Ref.create();
+		try
+		{
+			// module model is changed on dispatch thread, like import of wizard
+			Runnable commit = () -> modules.set(builder.commit(myProject, null, null, null));
+			if(application.isDispatchThread())
+			{
+				commit.run();
+			}
+			else
+			{
+				application.invokeAndWait(commit, ModalityState.defaultModalityState());
+			}
+		}
+		finally
+		{
+			builder.cleanup();
+		}
+
+		long peakHeap = heapSampler.finish();
+		long usedHeapAfter = getUsedHeap();
+
+		List<Module> result = modules.get();
+		return new Result(solutionFile, result == null ? Collections.<Module>emptyList() : result, session.getStatistics(), usedHeapBefore,
+				usedHeapAfter, peakHeap);
+	}
+
+	/**
+	 * Disposes modules of import, so next import starts from empty project
+	 */
+	public void removeModules(@NotNull final Result result)
+	{
+		Runnable remove = () -> new WriteAction<Object>()
+		{
+			@Override
+			protected void run(com.intellij.openapi.application.Result<Object> objectResult) throws Throwable
+			{
+				ModifiableModuleModel moduleModel = ModuleManager.getInstance(myProject).getModifiableModel();
+				for(Module module : result.getModules())
+				{
+					if(!module.isDisposed())
+					{
+						moduleModel.disposeModule(module);
+					}
+				}
+				moduleModel.commit();
+			}
+		}.execute();
+
+		Application application = ApplicationManager.getApplication();
+		if(application.isDispatchThread())
+		{
+			remove.run();
+		}
+		else
+		{
+			application.invokeAndWait(remove, ModalityState.defaultModalityState());
+		}
+	}
+
+	private static long getUsedHeap()
+	{
+		// garbage of previous imports is not counted
+		System.gc();
+		return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+	}
+}
@@ -18,47 +18,54 @@ package consulo.visualStudio.importProvider;
 
 import java.io.File;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.swing.Icon;
 
-import org.bromix.msbuild.Item;
-import org.bromix.msbuild.ItemGroup;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import consulo.visualStudio.VisualStudioIcons;
 import consulo.visualStudio.VisualStudioImportTarget;
-import consulo.visualStudio.VisualStudioLanguageImportProvider;
+import consulo.visualStudio.util.VisualStudioAssemblyReference;
+import consulo.visualStudio.util.VisualStudioImportStatistics;
 import consulo.visualStudio.util.VisualStudioProjectInfo;
 import consulo.visualStudio.util.VisualStudioSolutionParser;
+import consulo.visualStudio.util.VisualStudioVirtualFileResolver;
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.application.Result;
 import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.module.ModifiableModuleModel;
 import com.intellij.openapi.module.Module;
 import com.intellij.openapi.module.ModuleManager;
 import com.intellij.openapi.options.ConfigurationException;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.projectRoots.Sdk;
-import com.intellij.openapi.projectRoots.SdkTable;
-import com.intellij.openapi.projectRoots.SdkType;
+import com.intellij.openapi.roots.ContentEntry;
 import com.intellij.openapi.roots.ModifiableRootModel;
 import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.impl.ModifiableModelCommitter;
+import com.intellij.openapi.roots.libraries.Library;
 import com.intellij.openapi.roots.ui.configuration.ModulesProvider;
+import com.intellij.openapi.util.ThrowableComputable;
 import com.intellij.openapi.util.io.FileUtil;
-import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtil;
+import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.packaging.artifacts.ModifiableArtifactModel;
 import com.intellij.projectImport.ProjectImportBuilder;
-import com.intellij.util.KeyedLazyInstanceEP;
-import com.intellij.util.containers.ContainerUtil;
 import consulo.annotations.RequiredReadAction;
 import consulo.dotnet.module.extension.DotNetMutableModuleExtension;
 import consulo.dotnet.roots.orderEntry.DotNetLibraryOrderEntryImpl;
 import consulo.module.extension.MutableModuleExtension;
 import consulo.roots.ModifiableModuleRootLayer;
 import consulo.roots.impl.ModuleRootLayerImpl;
+import consulo.roots.types.BinariesOrderRootType;
 
 /**
  * @author VISTALL
@@ -66,7 +73,13 @@ import consulo.roots.impl.ModuleRootLayerImpl;
  */
 public class VisualStudioImportBuilder extends ProjectImportBuilder<Object>
 {
+	private static final Logger LOGGER = Logger.getInstance(VisualStudioImportBuilder.class);
+
 	private List<VisualStudioImportItem> myImportItems;
+	// session of import items, it is created when solution is read
+	private VisualStudioImportSession mySession;
+	private boolean myWithReferencedProjects;
+	private boolean mySynchronizeChanges = true;
 
 	@NotNull
 	@Override
@@ -110,162 +123,293 @@ public class VisualStudioImportBuilder extends ProjectImportBuilder<Object>
 	@RequiredReadAction
 	public List<Module> commit(Project project, ModifiableModuleModel old, ModulesProvider modulesProvider, ModifiableArtifactModel artifactModel)
 	{
+		VisualStudioImportSession session = getSession();
+		VisualStudioImportStatistics statistics = session.getStatistics();
+
 		List<Module> modules;
 		try
 		{
-			VirtualFile solutionFile = LocalFileSystem.getInstance().findFileByPath(getFileToImport());
+			final VirtualFile solutionFile = LocalFileSystem.getInstance().findFileByPath(getFileToImport());
 			assert solutionFile != null;
 
+			final VisualStudioVirtualFileResolver fileResolver = new VisualStudioVirtualFileResolver();
+			ThrowableComputable<List<VisualStudioModuleImportPlan>, RuntimeException> prepare = () -> prepare(solutionFile, session,
+					fileResolver);
+
+			// project files are read and file system is refreshed under modal progress, dispatch thread is not blocked by them
+			List<VisualStudioModuleImportPlan> plans;
+			if(ApplicationManager.getApplication().isDispatchThread())
+			{
+				String title = "Preparing Visual Studio Import";
+				plans = ProgressManager.getInstance().runProcessWithProgressSynchronously(prepare, title, false, project);
+			}
+			else
+			{
+				plans = prepare.compute();
+			}
+
 			List<VisualStudioImportItem> importItems = getImportItems(solutionFile);
 
 			VirtualFile parent = solutionFile.getParent();
 
-			modules = new ArrayList<Module>(importItems.size());
+			modules = new ArrayList<Module>(plans.size());
+
+			VisualStudioSdkResolver sdkResolver = new VisualStudioSdkResolver();
 
 			final ModifiableModuleModel modifiableModuleModel = old == null ? ModuleManager.getInstance(project).getModifiableModel() : old;
 
-			final ModifiableRootModel mainModuleModel = createModuleWithSingleContent(parent.getName() + " (Solution)", parent,
-					modifiableModuleModel);
-			modules.add(mainModuleModel.getModule());
-			new WriteAction<Object>()
+			final List<ModifiableRootModel> rootModels = new ArrayList<ModifiableRootModel>(plans.size() + 1);
+
+			boolean committed = false;
+			try
 			{
-				@Override
-				protected void run(Result<Object> objectResult) throws Throwable
+				ModifiableRootModel mainModuleModel = createModuleWithSingleContent(parent.getName() + " (Solution)", parent, modifiableModuleModel);
+				modules.add(mainModuleModel.getModule());
+				rootModels.add(mainModuleModel);
+
+				// modules are created before setup, module dependencies can be added in any order
+				final Map<VisualStudioModuleImportPlan, ModifiableRootModel> planRootModels = new HashMap<VisualStudioModuleImportPlan,
+						ModifiableRootModel>(plans.size());
+				for(VisualStudioModuleImportPlan plan : plans)
 				{
-					mainModuleModel.commit();
+					VirtualFile projectFile = fileResolver.get(plan.getProjectFile());
+					if(projectFile == null)
+					{
+						continue;
+					}
+
+					Module module = modifiableModuleModel.newModule(plan.getModuleName(), null);
+					ModifiableRootModel modifiableRootModel = ModuleRootManager.getInstance(module).getModifiableModel();
+					modules.add(modifiableRootModel.getModule());
+					rootModels.add(modifiableRootModel);
+					planRootModels.put(plan, modifiableRootModel);
 				}
-			}.execute();
 
-			for(VisualStudioImportItem o : importItems)
-			{
-				VirtualFile projectFile = LocalFileSystem.getInstance().findFileByIoFile(o.getProjectInfo().getFile());
-				if(projectFile == null)
+				final VisualStudioProjectGraph graph = new VisualStudioProjectGraph(plans);
+				for(List<VisualStudioModuleImportPlan> cycle : graph.getCycles())
 				{
-					continue;
+					List<String> names = new ArrayList<String>(cycle.size());
+					for(VisualStudioModuleImportPlan plan : cycle)
+					{
+						names.add(plan.getModuleName());
+					}
+					LOGGER.warn("Cyclic project references in " + getFileToImport() + ": " + StringUtil.join(names, ", "));
 				}
 
-				Module module = modifiableModuleModel.newModule(o.getProjectInfo().getName(), null);
-				final ModifiableRootModel modifiableRootModel = ModuleRootManager.getInstance(module).getModifiableModel();
-				modules.add(modifiableRootModel.getModule());
+				// root models are not thread safe, they are set up by current thread. Parallel work is done by planning
+				for(VisualStudioModuleImportPlan plan : plans)
+				{
+					ModifiableRootModel modifiableRootModel = planRootModels.get(plan);
+					if(modifiableRootModel == null)
+					{
+						continue;
+					}
 
-				setupModule(o, modifiableRootModel);
+					long setupStart = System.nanoTime();
 
+					setupModule(plan, modifiableRootModel, fileResolver, sdkResolver, statistics);
+					setupModuleDependencies(plan, modifiableRootModel, graph, planRootModels);
+
+					statistics.record(VisualStudioImportStatistics.Phase.MODULE_SETUP, plan.getProjectFile().getPath(), setupStart, 0);
+				}
+
+				long commitStart = System.nanoTime();
+
+				// all root models and module model are committed in one write action, listeners receive one change event
 				new WriteAction<Object>()
 				{
 					@Override
 					protected void run(Result<Object> objectResult) throws Throwable
 					{
-						modifiableRootModel.commit();
+						if(modifiableModuleModel != old)
+						{
+							ModifiableModelCommitter.multiCommit(rootModels.toArray(new ModifiableRootModel[rootModels.size()]), modifiableModuleModel);
+						}
+						else
+						{
+							// module model is owned by caller, and will be committed by it
+							for(ModifiableRootModel rootModel : rootModels)
+							{
+								rootModel.commit();
+							}
+						}
 					}
 				}.execute();
-			}
+				committed = true;
 
-			if(modifiableModuleModel != old)
+				statistics.record(VisualStudioImportStatistics.Phase.COMMIT, null, commitStart, 0);
+			}
+			finally
 			{
-				new WriteAction<Object>()
+				if(!committed)
 				{
-					@Override
-					protected void run(Result<Object> objectResult) throws Throwable
-					{
-						modifiableModuleModel.commit();
-					}
-				}.execute();
+					// modules of failed import are not added to project
+					disposeModels(rootModels, modifiableModuleModel, old);
+				}
+			}
+
+			// later changes of solution and project files are applied by synchronizer
+			VisualStudioImportSynchronizer synchronizer = mySynchronizeChanges ? VisualStudioImportSynchronizer.getInstance(project) : null;
+			if(synchronizer != null)
+			{
+				synchronizer.importFinished(new File(getFileToImport()), myWithReferencedProjects, importItems, plans);
 			}
 		}
 		finally
 		{
 			myImportItems = null;
+			mySession = null;
+
+			statistics.finish();
 		}
 		return modules;
 	}
 
-	private void setupModule(VisualStudioImportItem importItem, ModifiableRootModel model)
+	private static void disposeModels(List<ModifiableRootModel> rootModels,
+			ModifiableModuleModel moduleModel,
+			@Nullable ModifiableModuleModel old)
+	{
+		for(ModifiableRootModel rootModel : rootModels)
+		{
+			rootModel.dispose();
+		}
+
+		// module model of caller is disposed by caller
+		if(moduleModel != old)
+		{
+			moduleModel.dispose();
+		}
+	}
+
+	@NotNull
+	private List<VisualStudioModuleImportPlan> prepare(VirtualFile solutionFile,
+			VisualStudioImportSession session,
+			VisualStudioVirtualFileResolver fileResolver)
+	{
+		List<VisualStudioModuleImportPlan> plans = VisualStudioModuleImportPlanner.plan(getImportItems(solutionFile), session);
+
+		for(VisualStudioModuleImportPlan plan : plans)
+		{
+			fileResolver.addFile(plan.getProjectFile());
+			for(VisualStudioContentRoot contentRoot : plan.getContentRoots())
+			{
+				fileResolver.addContentRoot(contentRoot.getDirectory(), contentRoot.getExcludedDirectories());
+			}
+		}
+		long resolveStart = System.nanoTime();
+		fileResolver.resolve();
+		session.getStatistics().record(VisualStudioImportStatistics.Phase.VFS_REFRESH, null, resolveStart, 0);
+		return plans;
+	}
+
+	private static void setupModule(VisualStudioModuleImportPlan plan,
+			ModifiableRootModel model,
+			VisualStudioVirtualFileResolver fileResolver,
+			VisualStudioSdkResolver sdkResolver,
+			VisualStudioImportStatistics statistics)
 	{
 		ModifiableModuleRootLayer layer = (ModifiableModuleRootLayer) model.getCurrentLayer();
 
 		// setup layer
-		DotNetMutableModuleExtension<?> extension = layer.getExtensionWithoutCheck(importItem.getTarget().getFrameworkExtensionId());
-		if(extension == null)
+		if(!setupExtensions(plan, layer, sdkResolver, statistics))
 		{
 			return;
 		}
 
-		Class<? extends SdkType> sdkTypeClass = extension.getSdkTypeClass();
+		setupReferences(plan, layer);
+		setupContentRoots(plan, layer, fileResolver);
+	}
+
+	/**
+	 * @return false if framework extension of target is not available
+	 */
+	static boolean setupExtensions(VisualStudioModuleImportPlan plan,
+			ModifiableModuleRootLayer layer,
+			VisualStudioSdkResolver sdkResolver,
+			@Nullable VisualStudioImportStatistics statistics)
+	{
+		DotNetMutableModuleExtension<?> extension = layer.getExtensionWithoutCheck(plan.getTarget().getFrameworkExtensionId());
+		if(extension == null)
+		{
+			return false;
+		}
 
 		extension.setEnabled(true);
 
-		SdkType sdkType = SdkType.EP_NAME.findExtension(sdkTypeClass);
-		if(sdkType != null)
+		long sdkStart = System.nanoTime();
+		Sdk sdk = sdkResolver.resolve(extension.getSdkTypeClass(), plan.getTargetFrameworkVersion());
+		if(sdk != null)
 		{
-			SdkTable sdkTable = SdkTable.getInstance();
-			List<Sdk> sdksOfType = sdkTable.getSdksOfType(sdkType);
+			extension.getInheritableSdk().set(null, sdk);
+		}
+		if(statistics != null)
+		{
+			statistics.record(VisualStudioImportStatistics.Phase.SDK_RESOLVE, plan.getProjectFile().getPath(), sdkStart, 0);
+		}
 
-			// we need sort predefined first
-			ContainerUtil.sort(sdksOfType, new Comparator<Sdk>()
+		String languageExtensionId = plan.getLanguageExtensionId();
+		if(languageExtensionId != null)
+		{
+			MutableModuleExtension<?> languageExtension = layer.getExtensionWithoutCheck(languageExtensionId);
+			if(languageExtension != null)
 			{
-				@Override
-				public int compare(Sdk o1, Sdk o2)
-				{
-					return getWeight(o2) - getWeight(o1);
-				}
+				languageExtension.setEnabled(true);
+			}
+		}
+		return true;
+	}
 
-				private int getWeight(Sdk sdk)
-				{
-					return sdk.isPredefined() ? 100 : 0;
-				}
-			});
+	static void setupReferences(VisualStudioModuleImportPlan plan, ModifiableModuleRootLayer layer)
+	{
+		for(VisualStudioAssemblyReference reference : plan.getReferences())
+		{
+			// name instance is shared by all modules which reference this assembly
+			layer.addOrderEntry(new DotNetLibraryOrderEntryImpl((ModuleRootLayerImpl) layer, reference.getName()));
 		}
 
-		VisualStudioProjectInfo projectInfo = importItem.getProjectInfo();
-		File file = projectInfo.getFile();
-		String fileExtension = FileUtilRt.getExtension(file.getName());
+		for(File libraryFile : plan.getLibraryFiles())
+		{
+			Library.ModifiableModel libraryModel = layer.getModuleLibraryTable().createLibrary().getModifiableModel();
+			String url = VfsUtilCore.pathToUrl(FileUtil.toSystemIndependentName(libraryFile.getPath()));
+			libraryModel.addRoot(url, BinariesOrderRootType.getInstance());
+			libraryModel.commit();
+		}
+	}
 
-		for(KeyedLazyInstanceEP<VisualStudioLanguageImportProvider> instanceEP : VisualStudioLanguageImportProvider.EP_NAME.getExtensions())
+	static void setupContentRoots(VisualStudioModuleImportPlan plan,
+			ModifiableModuleRootLayer layer,
+			VisualStudioVirtualFileResolver fileResolver)
+	{
+		for(VisualStudioContentRoot contentRoot : plan.getContentRoots())
 		{
-			String key = instanceEP.getKey();
-			if(fileExtension.equalsIgnoreCase(key))
+			VirtualFile contentVirtualFile = fileResolver.get(contentRoot.getDirectory());
+			if(contentVirtualFile == null)
 			{
-				MutableModuleExtension<?> languageExtension = layer.getExtensionWithoutCheck(instanceEP.getInstance().getLanguageModuleExtensionId
-						(importItem.getTarget()));
-				if(languageExtension != null)
-				{
-					languageExtension.setEnabled(true);
-				}
-				break;
+				continue;
 			}
-		}
 
-		layer.addOrderEntry(new DotNetLibraryOrderEntryImpl((ModuleRootLayerImpl) layer, "mscorlib"));
+			ContentEntry contentEntry = layer.addContentEntry(contentVirtualFile);
+			for(File excludedDirectory : contentRoot.getExcludedDirectories())
+			{
+				contentEntry.addExcludeFolder(VfsUtilCore.pathToUrl(FileUtil.toSystemIndependentName(excludedDirectory.getPath())));
+			}
+		}
+	}
 
-		org.bromix.msbuild.Project project = projectInfo.getProject();
-		for(org.bromix.msbuild.Element element : project.getChildren())
+	private static void setupModuleDependencies(VisualStudioModuleImportPlan plan,
+			ModifiableRootModel model,
+			VisualStudioProjectGraph graph,
+			Map<VisualStudioModuleImportPlan, ModifiableRootModel> planRootModels)
+	{
+		ModifiableModuleRootLayer layer = (ModifiableModuleRootLayer) model.getCurrentLayer();
+		for(VisualStudioModuleImportPlan dependency : graph.getDependencies(plan))
 		{
-			if(element instanceof ItemGroup)
+			ModifiableRootModel dependencyModel = planRootModels.get(dependency);
+			if(dependencyModel != null)
 			{
-				List<org.bromix.msbuild.Element> children = ((ItemGroup) element).getChildren();
-				for(org.bromix.msbuild.Element child : children)
-				{
-					if(child instanceof Item)
-					{
-						String name = ((Item) child).getName();
-						if("Reference".equals(name))
-						{
-							layer.addOrderEntry(new DotNetLibraryOrderEntryImpl((ModuleRootLayerImpl) layer, ((Item) child).getInclude()));
-						}
-						else if("Compile".equals(name))
-						{
-							File contentFile = new File(file.getParent(), FileUtil.toSystemDependentName(((Item) child).getInclude()));
-							VirtualFile contentVirtualFile = LocalFileSystem.getInstance().findFileByIoFile(contentFile);
-							if(contentVirtualFile != null)
-							{
-								layer.addContentEntry(contentVirtualFile);
-							}
-						}
-					}
-				}
+				layer.addModuleOrderEntry(dependencyModel.getModule());
 			}
 		}
-
 	}
 
 	private ModifiableRootModel createModuleWithSingleContent(String name, VirtualFile dir, ModifiableModuleModel modifiableModuleModel)
@@ -284,21 +428,105 @@ public class VisualStudioImportBuilder extends ProjectImportBuilder<Object>
 	{
 		if(myImportItems == null)
 		{
-			myImportItems = loadItems(file);
+			myImportItems = loadItems(file, myWithReferencedProjects, getSession().getStatistics());
 		}
 		return myImportItems;
 	}
 
+	@NotNull
+	private VisualStudioImportSession getSession()
+	{
+		if(mySession == null)
+		{
+			mySession = new VisualStudioImportSession(new File(getFileToImport()));
+		}
+		return mySession;
+	}
+
+	/**
+	 * @return true if projects referenced by projects of solution filter are imported too
+	 */
+	public boolean isWithReferencedProjects()
+	{
+		return myWithReferencedProjects;
+	}
+
+	public void setWithReferencedProjects(boolean withReferencedProjects)
+	{
+		myWithReferencedProjects = withReferencedProjects;
+	}
+
+	/**
+	 * @param synchronizeChanges false if modules of import must not be updated by {@link VisualStudioImportSynchronizer}
+	 */
+	public void setSynchronizeChanges(boolean synchronizeChanges)
+	{
+		mySynchronizeChanges = synchronizeChanges;
+	}
+
 	public void setImportItems(@NotNull List<VisualStudioImportItem> importItems)
 	{
 		myImportItems = importItems;
 	}
 
+	/**
+	 * @param session session which statistics received reading of solution and project files of items
+	 */
+	public void setImportItems(@NotNull VisualStudioImportSession session, @NotNull List<VisualStudioImportItem> importItems)
+	{
+		mySession = session;
+		myImportItems = importItems;
+	}
+
 	@NotNull
 	public static List<VisualStudioImportItem> loadItems(VirtualFile file)
 	{
-		List<VisualStudioProjectInfo> studioSolution = VisualStudioSolutionParser.parse(file);
+		return loadItems(file, false);
+	}
+
+	/**
+	 * @param withReferencedProjects see {@link VisualStudioSolutionParser#parse(File, boolean)}
+	 */
+	@NotNull
+	public static List<VisualStudioImportItem> loadItems(VirtualFile file, boolean withReferencedProjects)
+	{
+		return loadItems(VfsUtil.virtualToIoFile(file), withReferencedProjects, null);
+	}
+
+	@NotNull
+	public static List<VisualStudioImportItem> loadItems(VirtualFile file,
+			boolean withReferencedProjects,
+			@Nullable VisualStudioImportStatistics statistics)
+	{
+		return loadItems(VfsUtil.virtualToIoFile(file), withReferencedProjects, statistics);
+	}
+
+	@NotNull
+	public static List<VisualStudioImportItem> loadItems(@NotNull File file)
+	{
+		return loadItems(file, false);
+	}
+
+	@NotNull
+	public static List<VisualStudioImportItem> loadItems(@NotNull File file, boolean withReferencedProjects)
+	{
+		return loadItems(file, withReferencedProjects, null);
+	}
 
+	/**
+	 * @param statistics receives reading of solution, and later loading of project files of items
+	 */
+	@NotNull
+	public static List<VisualStudioImportItem> loadItems(@NotNull File file,
+			boolean withReferencedProjects,
+			@Nullable VisualStudioImportStatistics statistics)
+	{
+		return createItems(VisualStudioSolutionParser.parse(file, withReferencedProjects, statistics));
+	}
+
+	@NotNull
+	private static List<VisualStudioImportItem> createItems(List<VisualStudioProjectInfo> studioSolution)
+	{
 		List<VisualStudioImportItem> visualStudioImportItems = new ArrayList<VisualStudioImportItem>(studioSolution.size());
 		for(VisualStudioProjectInfo visualStudioProjectInfo : studioSolution)
 		{
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.importProvider;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import consulo.visualStudio.msbuild.MSBuildDirectoryWalker;
+import consulo.visualStudio.msbuild.MSBuildImportCache;
+import consulo.visualStudio.msbuild.MSBuildItemExpander;
+import consulo.visualStudio.msbuild.MSBuildPropertyScope;
+import consulo.visualStudio.util.VisualStudioImportStatistics;
+import consulo.visualStudio.util.VisualStudioReferenceInterner;
+import consulo.visualStudio.util.VisualStudioSolutionParser;
+
+/**
+ * State which is shared by all projects of one import. Thread safe, projects are planned in parallel
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioImportSession
+{
+	private final VisualStudioReferenceInterner myReferenceInterner = new VisualStudioReferenceInterner();
+	private final MSBuildItemExpander myItemExpander = new MSBuildItemExpander(new MSBuildDirectoryWalker());
+	private final VisualStudioImportStatistics myStatistics;
+	private final MSBuildImportCache myImportCache;
+	private final MSBuildPropertyScope mySolutionScope;
+	// project configuration, like 'Debug|AnyCPU' -> scope
+	private final ConcurrentMap<String, MSBuildPropertyScope> myConfigurationScopes = new ConcurrentHashMap<String, MSBuildPropertyScope>();
+
+	/**
+	 * @param solutionFile solution file, or solution filter file. Properties of filter are properties of its solution
+	 */
+	public VisualStudioImportSession(@Nullable File solutionFile)
+	{
+		myStatistics = new VisualStudioImportStatistics(solutionFile == null ? null : solutionFile.getPath());
+		myImportCache = new MSBuildImportCache(myItemExpander, myStatistics);
+
+		MSBuildPropertyScope environmentScope = MSBuildPropertyScope.createEnvironment();
+		if(solutionFile == null)
+		{
+			mySolutionScope = environmentScope;
+		}
+		else
+		{
+			mySolutionScope = environmentScope.createSolution(VisualStudioSolutionParser.getSolutionFile(solutionFile));
+		}
+	}
+
+	@NotNull
+	public VisualStudioReferenceInterner getReferenceInterner()
+	{
+		return myReferenceInterner;
+	}
+
+	@NotNull
+	public MSBuildItemExpander getItemExpander()
+	{
+		return myItemExpander;
+	}
+
+	@NotNull
+	public MSBuildImportCache getImportCache()
+	{
+		return myImportCache;
+	}
+
+	/**
+	 * @return timings of this import, collecting starts with creation of session
+	 */
+	@NotNull
+	public VisualStudioImportStatistics getStatistics()
+	{
+		return myStatistics;
+	}
+
+	/**
+	 * @return parent scope of all projects. Expansions which use only solution and environment properties are shared by projects
+	 */
+	@NotNull
+	public MSBuildPropertyScope getSolutionScope()
+	{
+		return mySolutionScope;
+	}
+
+	/**
+	 * @param configuration configuration and platform of project, like {@code Debug|AnyCPU}, see
+	 *                      {@link consulo.visualStudio.util.VisualStudioProjectInfo#getConfiguration()}
+	 * @return parent scope of projects with this configuration, or solution scope if configuration is null
+	 */
+	@NotNull
+	public MSBuildPropertyScope getConfigurationScope(@Nullable String configuration)
+	{
+		if(configuration == null)
+		{
+			return mySolutionScope;
+		}
+
+		// scope is shared, so expansions which use only configuration properties are memoized once for all projects
+		return myConfigurationScopes.computeIfAbsent(configuration, key ->
+		{
+			int separator = key.indexOf('|');
+			if(separator == -1)
+			{
+				return mySolutionScope.createConfiguration(key.trim(), null);
+			}
+			return mySolutionScope.createConfiguration(key.substring(0, separator).trim(), key.substring(separator + 1).trim());
+		});
+	}
+}
@@ -0,0 +1,943 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.importProvider;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.Result;
+import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.components.AbstractProjectComponent;
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.components.StoragePathMacros;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.module.ModifiableModuleModel;
+import com.intellij.openapi.module.Module;
+import com.intellij.openapi.module.ModuleManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ContentEntry;
+import com.intellij.openapi.roots.LibraryOrderEntry;
+import com.intellij.openapi.roots.ModifiableRootModel;
+import com.intellij.openapi.roots.ModuleOrderEntry;
+import com.intellij.openapi.roots.ModuleRootManager;
+import com.intellij.openapi.roots.OrderEntry;
+import com.intellij.openapi.roots.impl.ModifiableModelCommitter;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.util.Alarm;
+import consulo.dotnet.roots.orderEntry.DotNetLibraryOrderEntryImpl;
+import consulo.module.extension.MutableModuleExtension;
+import consulo.roots.ModifiableModuleRootLayer;
+import consulo.visualStudio.VisualStudioImportTarget;
+import consulo.visualStudio.importProvider.VisualStudioModuleImportDiff.Change;
+import consulo.visualStudio.util.VisualStudioAssemblyReference;
+import consulo.visualStudio.util.VisualStudioKeyUtil;
+import consulo.visualStudio.util.VisualStudioSolutionFilter;
+import consulo.visualStudio.util.VisualStudioSolutionParser;
+import consulo.visualStudio.util.VisualStudioVirtualFileResolver;
+
+/**
+ * Applies changes of imported solution and project files to modules. Bursts of file events, like switch of branch, are coalesced to one
+ * synchronization, only changed projects are planned again, and only changed parts of their modules are updated.
+ * <p/>
+ * Stamps of tracked files are saved with state. When project is opened, files which were changed while it was closed are synchronized,
+ * projects are not planned before first change
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+@State(name = "VisualStudioImportSynchronizer", storages = @Storage(file = StoragePathMacros.WORKSPACE_FILE))
+public class VisualStudioImportSynchronizer extends AbstractProjectComponent implements
+		PersistentStateComponent<VisualStudioImportSynchronizer.State>
+{
+	public static class ProjectState
+	{
+		// path key of project file
+		public String PATH;
+		public String MODULE;
+		public String TARGET;
+		// path keys of files which are imported by project
+		public List<String> IMPORTS = new ArrayList<String>();
+	}
+
+	public static class State
+	{
+		public String SOLUTION_PATH;
+		public boolean WITH_REFERENCED_PROJECTS;
+		// path key of tracked file -> stamp of file which modules are synchronized with, see getStamp()
+		public Map<String, String> STAMPS = new HashMap<String, String>();
+		// imported projects, modules of removed and renamed projects are found by them
+		public List<ProjectState> PROJECTS = new ArrayList<ProjectState>();
+	}
+
+	private static final Logger LOGGER = Logger.getInstance(VisualStudioImportSynchronizer.class);
+
+	private static final int DELAY = 500;
+
+	// stamp of file which was changed, but not synchronized before project was closed
+	private static final String CHANGED_STAMP = "changed";
+
+	private static final String DIRECTORY_BUILD_PROPS = "directory.build.props";
+	private static final String DIRECTORY_BUILD_TARGETS = "directory.build.targets";
+
+	@Nullable
+	public static VisualStudioImportSynchronizer getInstance(@NotNull Project project)
+	{
+		return project.getComponent(VisualStudioImportSynchronizer.class);
+	}
+
+	private final Alarm myAlarm;
+	// path keys of changed files, which are not synchronized yet
+	private final Set<String> myChangedPaths = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+	// synchronization requests can be run by different pooled threads, they are run one by one. Planning and refresh of files are done
+	// under this lock only, never in event dispatch thread. It is held until changes are applied to modules
+	private final Object mySynchronizationLock = new Object();
+
+	// guarded by myLock, it is held only to read or replace state
+	private final Object myLock = new Object();
+	private State myState = new State();
+	// incremented by each import, result of synchronization which was started before import is dropped
+	private int myImportCount;
+	// path keys of changed files which are taken by running synchronization, they stay changed until modules are updated
+	private final Set<String> mySynchronizingPaths = new HashSet<String>();
+	private File mySolutionFile;
+	// solution of solution filter, or solution file itself
+	private File myFilteredSolutionFile;
+	// null if solution was not read after project was opened
+	private List<VisualStudioImportItem> myItems;
+	// path key of project file -> plan of its module, null if projects were not planned after project was opened
+	private Map<String, VisualStudioModuleImportPlan> myPlans;
+	// path key of imported file -> path keys of project files which import it
+	private Map<String, Set<String>> myImportingProjects = Collections.emptyMap();
+
+	// snapshot of tracked paths for listener
+	private volatile Set<String> myTrackedPaths = Collections.emptySet();
+	private volatile String mySolutionDirectory;
+
+	public VisualStudioImportSynchronizer(@NotNull Project project)
+	{
+		super(project);
+		myAlarm = new Alarm(Alarm.ThreadToUse.POOLED_THREAD, project);
+	}
+
+	@Override
+	public void projectOpened()
+	{
+		myProject.getMessageBus().connect(myProject).subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener.Adapter()
+		{
+			@Override
+			public void after(@NotNull List<? extends VFileEvent> events)
+			{
+				filesChanged(events);
+			}
+		});
+
+		final State state;
+		synchronized(myLock)
+		{
+			state = myState;
+		}
+		if(state.SOLUTION_PATH != null)
+		{
+			ApplicationManager.getApplication().executeOnPooledThread(() -> restore(state));
+		}
+	}
+
+	/**
+	 * Called after import of solution, plans describe modules which were created by import
+	 */
+	public void importFinished(@NotNull File solutionFile,
+			boolean withReferencedProjects,
+			@NotNull List<VisualStudioImportItem> items,
+			@NotNull List<VisualStudioModuleImportPlan> plans)
+	{
+		File filteredSolutionFile = VisualStudioSolutionParser.getSolutionFile(solutionFile);
+		synchronized(myLock)
+		{
+			myState.SOLUTION_PATH = solutionFile.getPath();
+			myState.WITH_REFERENCED_PROJECTS = withReferencedProjects;
+			myImportCount++;
+			// files are stamped in pooled thread
+			setPlans(solutionFile, filteredSolutionFile, items, plans, Collections.<String, String>emptyMap());
+			myChangedPaths.clear();
+			mySynchronizingPaths.clear();
+		}
+
+		ApplicationManager.getApplication().executeOnPooledThread(this::stampFiles);
+	}
+
+	/**
+	 * Modules are already set up. Files which were changed while project was closed are synchronized, other projects are planned when
+	 * first change comes
+	 */
+	private void restore(@NotNull State state)
+	{
+		File solutionFile = new File(state.SOLUTION_PATH);
+		if(myProject.isDisposed() || !solutionFile.isFile())
+		{
+			return;
+		}
+
+		if(state.STAMPS.isEmpty())
+		{
+			// saved without stamps, files are taken as they are now
+			loadPlans(solutionFile, state.WITH_REFERENCED_PROJECTS);
+			return;
+		}
+
+		Set<String> changedPaths = new HashSet<String>();
+		for(Map.Entry<String, String> entry : state.STAMPS.entrySet())
+		{
+			if(!entry.getValue().equals(getStamp(new File(entry.getKey()))))
+			{
+				changedPaths.add(entry.getKey());
+			}
+		}
+
+		File filteredSolutionFile = VisualStudioSolutionParser.getSolutionFile(solutionFile);
+		synchronized(myLock)
+		{
+			// import was finished while files were checked
+			if(mySolutionFile != null)
+			{
+				return;
+			}
+
+			mySolutionFile = solutionFile;
+			myFilteredSolutionFile = filteredSolutionFile;
+			myImportingProjects = getImportingProjects(state.PROJECTS);
+			myTrackedPaths = new HashSet<String>(state.STAMPS.keySet());
+			mySolutionDirectory = VisualStudioKeyUtil.getPathKey(filteredSolutionFile.getParentFile()) + "/";
+			myChangedPaths.addAll(changedPaths);
+		}
+
+		if(!changedPaths.isEmpty())
+		{
+			LOGGER.info(changedPaths.size() + " files of " + solutionFile.getPath() + " were changed while project was closed");
+			scheduleSynchronization();
+		}
+	}
+
+	private void loadPlans(@NotNull File solutionFile, boolean withReferencedProjects)
+	{
+		List<VisualStudioImportItem> items = VisualStudioImportBuilder.loadItems(solutionFile, withReferencedProjects);
+		List<VisualStudioModuleImportPlan> plans = VisualStudioModuleImportPlanner.plan(items, solutionFile);
+		File filteredSolutionFile = VisualStudioSolutionParser.getSolutionFile(solutionFile);
+		Map<String, String> stamps = getStamps(solutionFile, filteredSolutionFile, items, plans);
+		synchronized(myLock)
+		{
+			// import was finished while plans were loaded
+			if(mySolutionFile == null)
+			{
+				setPlans(solutionFile, filteredSolutionFile, items, plans, stamps);
+			}
+		}
+	}
+
+	private void stampFiles()
+	{
+		File solutionFile;
+		File filteredSolutionFile;
+		List<VisualStudioImportItem> items;
+		List<VisualStudioModuleImportPlan> plans;
+		int importCount;
+		synchronized(myLock)
+		{
+			solutionFile = mySolutionFile;
+			filteredSolutionFile = myFilteredSolutionFile;
+			items = myItems;
+			plans = myPlans == null ? null : new ArrayList<VisualStudioModuleImportPlan>(myPlans.values());
+			importCount = myImportCount;
+		}
+
+		if(items == null || plans == null)
+		{
+			return;
+		}
+
+		Map<String, String> stamps = getStamps(solutionFile, filteredSolutionFile, items, plans);
+		synchronized(myLock)
+		{
+			// files are stamped by synchronization or next import already
+			if(myImportCount == importCount && myState.STAMPS.isEmpty())
+			{
+				myState.STAMPS = stamps;
+			}
+		}
+	}
+
+	@NotNull
+	private static Map<String, String> getStamps(@NotNull File solutionFile,
+			@NotNull File filteredSolutionFile,
+			@NotNull List<VisualStudioImportItem> items,
+			@NotNull Collection<VisualStudioModuleImportPlan> plans)
+	{
+		List<File> files = new ArrayList<File>(items.size() + 2);
+		files.add(solutionFile);
+		files.add(filteredSolutionFile);
+		for(VisualStudioImportItem item : items)
+		{
+			files.add(item.getProjectInfo().getFile());
+		}
+		for(VisualStudioModuleImportPlan plan : plans)
+		{
+			files.addAll(plan.getImportedFiles());
+		}
+
+		Map<String, String> stamps = new HashMap<String, String>(files.size());
+		for(File file : files)
+		{
+			String path = VisualStudioKeyUtil.getPathKey(file);
+			// imported files are shared by projects, they are stamped once
+			if(!stamps.containsKey(path))
+			{
+				stamps.put(path, getStamp(file));
+			}
+		}
+		return stamps;
+	}
+
+	/**
+	 * @return empty string if file does not exist
+	 */
+	@NotNull
+	private static String getStamp(@NotNull File file)
+	{
+		return file.isFile() ? file.length() + ":" + file.lastModified() : "";
+	}
+
+	private void setPlans(@NotNull File solutionFile,
+			@NotNull File filteredSolutionFile,
+			@NotNull List<VisualStudioImportItem> items,
+			@NotNull List<VisualStudioModuleImportPlan> plans,
+			@NotNull Map<String, String> stamps)
+	{
+		Map<String, VisualStudioModuleImportPlan> planMap = new LinkedHashMap<String, VisualStudioModuleImportPlan>(plans.size());
+		List<ProjectState> projects = new ArrayList<ProjectState>(plans.size());
+		for(VisualStudioModuleImportPlan plan : plans)
+		{
+			String path = VisualStudioKeyUtil.getPathKey(plan.getProjectFile());
+			planMap.put(path, plan);
+
+			ProjectState project = new ProjectState();
+			project.PATH = path;
+			project.MODULE = plan.getModuleName();
+			project.TARGET = plan.getTarget().name();
+			for(File importedFile : plan.getImportedFiles())
+			{
+				project.IMPORTS.add(VisualStudioKeyUtil.getPathKey(importedFile));
+			}
+			projects.add(project);
+		}
+
+		mySolutionFile = solutionFile;
+		myFilteredSolutionFile = filteredSolutionFile;
+		myItems = items;
+		myPlans = planMap;
+		myState.STAMPS = stamps;
+		myState.PROJECTS = projects;
+		myImportingProjects = getImportingProjects(projects);
+
+		// project files which are not loaded yet are tracked too, they are planned after change
+		Set<String> trackedPaths = new HashSet<String>(items.size() + 2);
+		trackedPaths.add(VisualStudioKeyUtil.getPathKey(solutionFile));
+		trackedPaths.add(VisualStudioKeyUtil.getPathKey(filteredSolutionFile));
+		for(VisualStudioImportItem item : items)
+		{
+			trackedPaths.add(VisualStudioKeyUtil.getPathKey(item.getProjectInfo().getFile()));
+		}
+		trackedPaths.addAll(myImportingProjects.keySet());
+		myTrackedPaths = trackedPaths;
+		mySolutionDirectory = VisualStudioKeyUtil.getPathKey(filteredSolutionFile.getParentFile()) + "/";
+	}
+
+	@NotNull
+	private static Map<String, Set<String>> getImportingProjects(@NotNull List<ProjectState> projects)
+	{
+		Map<String, Set<String>> importingProjects = new HashMap<String, Set<String>>();
+		for(ProjectState project : projects)
+		{
+			for(String importedPath : project.IMPORTS)
+			{
+				importingProjects.computeIfAbsent(importedPath, path -> new HashSet<String>()).add(project.PATH);
+			}
+		}
+		return importingProjects;
+	}
+
+	private void filesChanged(@NotNull List<? extends VFileEvent> events)
+	{
+		Set<String> trackedPaths = myTrackedPaths;
+		String solutionDirectory = mySolutionDirectory;
+		if(solutionDirectory == null)
+		{
+			return;
+		}
+
+		boolean changed = false;
+		for(VFileEvent event : events)
+		{
+			String path = VisualStudioKeyUtil.getPathKey(new File(event.getPath()));
+			// new Directory.Build file can be imported instead of tracked one, or by project which imported nothing
+			if(trackedPaths.contains(path) || isDirectoryBuildFile(path) && path.startsWith(solutionDirectory) && !isBuildOutput(path
+					.substring(solutionDirectory.length() - 1)))
+			{
+				changed |= myChangedPaths.add(path);
+			}
+		}
+
+		if(changed)
+		{
+			scheduleSynchronization();
+		}
+	}
+
+	private void scheduleSynchronization()
+	{
+		// debounce, synchronization starts when events stop coming
+		myAlarm.cancelAllRequests();
+		myAlarm.addRequest(this::synchronize, DELAY);
+	}
+
+	private void synchronize()
+	{
+		if(myProject.isDisposed())
+		{
+			return;
+		}
+
+		synchronized(mySynchronizationLock)
+		{
+			File solutionFile;
+			File filteredSolutionFile;
+			boolean withReferencedProjects;
+			List<VisualStudioImportItem> oldItems;
+			Map<String, VisualStudioModuleImportPlan> oldPlans;
+			Map<String, ProjectState> projects = new HashMap<String, ProjectState>();
+			Map<String, Set<String>> importingProjects;
+			int importCount;
+			Set<String> changedPaths;
+			synchronized(myLock)
+			{
+				if(mySolutionFile == null || myChangedPaths.isEmpty())
+				{
+					return;
+				}
+
+				solutionFile = mySolutionFile;
+				filteredSolutionFile = myFilteredSolutionFile;
+				withReferencedProjects = myState.WITH_REFERENCED_PROJECTS;
+				oldItems = myItems;
+				oldPlans = myPlans;
+				for(ProjectState project : myState.PROJECTS)
+				{
+					projects.put(project.PATH, project);
+				}
+				importingProjects = myImportingProjects;
+				importCount = myImportCount;
+				// paths of failed synchronization are taken again
+				Set<String> newChangedPaths = new HashSet<String>(myChangedPaths);
+				myChangedPaths.removeAll(newChangedPaths);
+				mySynchronizingPaths.addAll(newChangedPaths);
+				changedPaths = new HashSet<String>(mySynchronizingPaths);
+			}
+
+			// projects which import changed files are planned again, and projects below new Directory.Build file
+			Set<String> changedProjectPaths = new HashSet<String>(changedPaths);
+			List<String> directoryBuildDirectories = new ArrayList<String>();
+			for(String changedPath : changedPaths)
+			{
+				Set<String> importingProjectPaths = importingProjects.get(changedPath);
+				if(importingProjectPaths != null)
+				{
+					changedProjectPaths.addAll(importingProjectPaths);
+				}
+				else if(isDirectoryBuildFile(changedPath))
+				{
+					directoryBuildDirectories.add(changedPath.substring(0, changedPath.lastIndexOf('/') + 1));
+				}
+			}
+
+			List<VisualStudioImportItem> items = oldItems;
+			boolean solutionChanged = changedPaths.contains(VisualStudioKeyUtil.getPathKey(solutionFile)) || changedPaths.contains
+					(VisualStudioKeyUtil.getPathKey(filteredSolutionFile));
+			if(items == null || solutionChanged || isReferenceClosureChanged(solutionFile, withReferencedProjects, items, changedPaths))
+			{
+				if(!solutionFile.isFile())
+				{
+					LOGGER.info("Solution " + solutionFile.getPath() + " was removed, modules are not changed");
+					return;
+				}
+				items = reloadItems(solutionFile, withReferencedProjects, projects);
+				filteredSolutionFile = VisualStudioSolutionParser.getSolutionFile(solutionFile);
+			}
+
+			Set<String> changedItemPaths = new HashSet<String>();
+			List<VisualStudioImportItem> changedItems = new ArrayList<VisualStudioImportItem>();
+			for(VisualStudioImportItem item : items)
+			{
+				String path = VisualStudioKeyUtil.getPathKey(item.getProjectInfo().getFile());
+				boolean imported = oldPlans == null ? projects.containsKey(path) : oldPlans.containsKey(path);
+				if(changedProjectPaths.contains(path) || isBelow(path, directoryBuildDirectories) || !imported)
+				{
+					item.getProjectInfo().releaseProjectData();
+					changedItemPaths.add(path);
+					changedItems.add(item);
+				}
+			}
+
+			// plans of last synchronization are unknown after project was opened, not changed projects are planned again to restore them
+			List<VisualStudioImportItem> plannedItems = oldPlans == null ? items : changedItems;
+			Map<String, VisualStudioModuleImportPlan> newPlans = new HashMap<String, VisualStudioModuleImportPlan>();
+			for(VisualStudioModuleImportPlan plan : VisualStudioModuleImportPlanner.plan(plannedItems, solutionFile))
+			{
+				newPlans.put(VisualStudioKeyUtil.getPathKey(plan.getProjectFile()), plan);
+			}
+			if(oldPlans == null)
+			{
+				oldPlans = restorePlans(items, changedItemPaths, newPlans, projects);
+			}
+
+			// plans of not changed projects are kept, projects which cannot be loaded anymore are removed
+			List<VisualStudioModuleImportPlan> plans = new ArrayList<VisualStudioModuleImportPlan>(items.size());
+			for(VisualStudioImportItem item : items)
+			{
+				String path = VisualStudioKeyUtil.getPathKey(item.getProjectInfo().getFile());
+				VisualStudioModuleImportPlan plan = changedItemPaths.contains(path) ? newPlans.get(path) : oldPlans.get(path);
+				if(plan != null)
+				{
+					plans.add(plan);
+				}
+			}
+
+			VisualStudioModuleImportDiff diff = VisualStudioModuleImportDiff.compute(oldPlans.values(), plans);
+			Map<String, String> stamps = getStamps(solutionFile, filteredSolutionFile, items, plans);
+			final File newFilteredSolutionFile = filteredSolutionFile;
+			final List<VisualStudioImportItem> newItems = items;
+			Runnable setPlans = () -> setPlansIfNotImported(importCount, solutionFile, newFilteredSolutionFile, newItems, plans, stamps);
+			if(diff.isEmpty())
+			{
+				setPlans.run();
+			}
+			else
+			{
+				apply(solutionFile, diff, importCount, setPlans);
+			}
+		}
+	}
+
+	/**
+	 * Plans are replaced only when modules match them, saved state must not claim changes which are not applied
+	 */
+	private void setPlansIfNotImported(int importCount,
+			@NotNull File solutionFile,
+			@NotNull File filteredSolutionFile,
+			@NotNull List<VisualStudioImportItem> items,
+			@NotNull List<VisualStudioModuleImportPlan> plans,
+			@NotNull Map<String, String> stamps)
+	{
+		synchronized(myLock)
+		{
+			// solution was imported again while projects were planned, modules already match files
+			if(myImportCount == importCount)
+			{
+				setPlans(solutionFile, filteredSolutionFile, items, plans, stamps);
+				mySynchronizingPaths.clear();
+			}
+		}
+	}
+
+	private boolean isImportCount(int importCount)
+	{
+		synchronized(myLock)
+		{
+			return myImportCount == importCount;
+		}
+	}
+
+	/**
+	 * Restores plans of last synchronization after project was opened. Plans of not changed projects are the same, changed projects
+	 * have no plan and their modules are set up again completely. Modules of removed and renamed projects are known by saved state only
+	 *
+	 * @param plans plans of all projects, by path key of project file
+	 */
+	@NotNull
+	private static Map<String, VisualStudioModuleImportPlan> restorePlans(@NotNull List<VisualStudioImportItem> items,
+			@NotNull Set<String> changedItemPaths,
+			@NotNull Map<String, VisualStudioModuleImportPlan> plans,
+			@NotNull Map<String, ProjectState> projects)
+	{
+		Map<String, VisualStudioModuleImportPlan> oldPlans = new LinkedHashMap<String, VisualStudioModuleImportPlan>(items.size());
+		for(VisualStudioImportItem item : items)
+		{
+			String path = VisualStudioKeyUtil.getPathKey(item.getProjectInfo().getFile());
+			VisualStudioModuleImportPlan plan = plans.get(path);
+			if(plan != null && !changedItemPaths.contains(path))
+			{
+				oldPlans.put(path, plan);
+			}
+		}
+
+		for(ProjectState project : projects.values())
+		{
+			VisualStudioModuleImportPlan plan = plans.get(project.PATH);
+			if(project.MODULE != null && (plan == null || !plan.getModuleName().equals(project.MODULE)))
+			{
+				// only module name is used to remove module
+				oldPlans.put(project.PATH, new VisualStudioModuleImportPlan(project.MODULE, new File(project.PATH), null,
+						getTarget(project), null, null, Collections.<VisualStudioAssemblyReference>emptyList(),
+						Collections.<File>emptyList(), Collections.<VisualStudioProjectReference>emptyList(),
+						Collections.<VisualStudioContentRoot>emptyList(), Collections.<File>emptyList()));
+			}
+		}
+		return oldPlans;
+	}
+
+	@NotNull
+	private static VisualStudioImportTarget getTarget(@NotNull ProjectState project)
+	{
+		for(VisualStudioImportTarget target : VisualStudioImportTarget.values())
+		{
+			if(target.name().equals(project.TARGET))
+			{
+				return target;
+			}
+		}
+		return VisualStudioImportTarget._NET;
+	}
+
+	/**
+	 * @return true if projects of solution filter are extended by referenced projects, and one of project files is changed. References
+	 * of changed project can add projects to import
+	 */
+	private static boolean isReferenceClosureChanged(@NotNull File solutionFile,
+			boolean withReferencedProjects,
+			@NotNull List<VisualStudioImportItem> items,
+			@NotNull Set<String> changedPaths)
+	{
+		if(!withReferencedProjects || !VisualStudioSolutionFilter.isFilterFile(solutionFile))
+		{
+			return false;
+		}
+
+		for(VisualStudioImportItem item : items)
+		{
+			if(changedPaths.contains(VisualStudioKeyUtil.getPathKey(item.getProjectInfo().getFile())))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Reads solution again, targets of imported projects are kept
+	 */
+	@NotNull
+	private static List<VisualStudioImportItem> reloadItems(@NotNull File solutionFile,
+			boolean withReferencedProjects,
+			@NotNull Map<String, ProjectState> projects)
+	{
+		List<VisualStudioImportItem> items = VisualStudioImportBuilder.loadItems(solutionFile, withReferencedProjects);
+		for(VisualStudioImportItem item : items)
+		{
+			ProjectState project = projects.get(VisualStudioKeyUtil.getPathKey(item.getProjectInfo().getFile()));
+			if(project != null)
+			{
+				item.setTarget(getTarget(project));
+			}
+		}
+		return items;
+	}
+
+	/**
+	 * Changes modules in write action and waits for it, next synchronization is computed from plans which are set after it
+	 *
+	 * @param setPlans called in write action after modules are changed
+	 */
+	private void apply(@NotNull final File solutionFile,
+			@NotNull final VisualStudioModuleImportDiff diff,
+			final int importCount,
+			@NotNull final Runnable setPlans)
+	{
+		// files are resolved outside of write action
+		final VisualStudioVirtualFileResolver fileResolver = new VisualStudioVirtualFileResolver();
+		List<VisualStudioModuleImportPlan> plans = new ArrayList<VisualStudioModuleImportPlan>(diff.getAdded());
+		plans.addAll(diff.getChanged().keySet());
+		for(VisualStudioModuleImportPlan plan : plans)
+		{
+			fileResolver.addFile(plan.getProjectFile());
+			for(VisualStudioContentRoot contentRoot : plan.getContentRoots())
+			{
+				fileResolver.addContentRoot(contentRoot.getDirectory(), contentRoot.getExcludedDirectories());
+			}
+		}
+		fileResolver.resolve();
+
+		final VisualStudioSdkResolver sdkResolver = new VisualStudioSdkResolver();
+
+		final CountDownLatch applied = new CountDownLatch(1);
+		ApplicationManager.getApplication().invokeLater(() ->
+		{
+			try
+			{
+				if(myProject.isDisposed())
+				{
+					return;
+				}
+
+				new WriteAction<Object>()
+				{
+					@Override
+					protected void run(Result<Object> result) throws Throwable
+					{
+						// diff is computed from plans of previous import, it does not match modules of new import
+						if(isImportCount(importCount))
+						{
+							applyInWriteAction(solutionFile, diff, fileResolver, sdkResolver);
+							setPlans.run();
+						}
+					}
+				}.execute();
+			}
+			finally
+			{
+				applied.countDown();
+			}
+		}, ModalityState.NON_MODAL);
+
+		try
+		{
+			while(!applied.await(DELAY, TimeUnit.MILLISECONDS))
+			{
+				if(myProject.isDisposed())
+				{
+					return;
+				}
+			}
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void applyInWriteAction(@NotNull File solutionFile,
+			@NotNull VisualStudioModuleImportDiff diff,
+			@NotNull VisualStudioVirtualFileResolver fileResolver,
+			@NotNull VisualStudioSdkResolver sdkResolver)
+	{
+		ModifiableModuleModel moduleModel = ModuleManager.getInstance(myProject).getModifiableModel();
+
+		for(VisualStudioModuleImportPlan plan : diff.getRemoved())
+		{
+			Module module = moduleModel.findModuleByName(plan.getModuleName());
+			if(module != null)
+			{
+				moduleModel.disposeModule(module);
+			}
+		}
+
+		Map<VisualStudioModuleImportPlan, Set<Change>> changes = new LinkedHashMap<VisualStudioModuleImportPlan, Set<Change>>();
+		for(VisualStudioModuleImportPlan plan : diff.getAdded())
+		{
+			changes.put(plan, EnumSet.allOf(Change.class));
+		}
+		changes.putAll(diff.getChanged());
+
+		// modules are created before setup, dependencies can reference them
+		Map<VisualStudioModuleImportPlan, ModifiableRootModel> rootModels = new LinkedHashMap<VisualStudioModuleImportPlan,
+				ModifiableRootModel>();
+		for(VisualStudioModuleImportPlan plan : changes.keySet())
+		{
+			if(fileResolver.get(plan.getProjectFile()) == null)
+			{
+				continue;
+			}
+
+			Module module = moduleModel.findModuleByName(plan.getModuleName());
+			if(module == null)
+			{
+				module = moduleModel.newModule(plan.getModuleName(), null);
+				// new module is set up completely
+				changes.put(plan, EnumSet.allOf(Change.class));
+			}
+			rootModels.put(plan, ModuleRootManager.getInstance(module).getModifiableModel());
+		}
+
+		for(Map.Entry<VisualStudioModuleImportPlan, ModifiableRootModel> entry : rootModels.entrySet())
+		{
+			VisualStudioModuleImportPlan plan = entry.getKey();
+			ModifiableModuleRootLayer layer = (ModifiableModuleRootLayer) entry.getValue().getCurrentLayer();
+			Set<Change> planChanges = changes.get(plan);
+
+			if(planChanges.contains(Change.SETTINGS))
+			{
+				updateSettings(plan, diff.getPreviousPlan(plan), layer, sdkResolver);
+			}
+
+			if(planChanges.contains(Change.REFERENCES))
+			{
+				for(OrderEntry orderEntry : layer.getOrderEntries())
+				{
+					// module libraries are created by import for hint paths
+					if(orderEntry instanceof DotNetLibraryOrderEntryImpl ||
+							orderEntry instanceof LibraryOrderEntry && ((LibraryOrderEntry) orderEntry).isModuleLevel())
+					{
+						layer.removeOrderEntry(orderEntry);
+					}
+				}
+				VisualStudioImportBuilder.setupReferences(plan, layer);
+			}
+
+			if(planChanges.contains(Change.DEPENDENCIES))
+			{
+				for(OrderEntry orderEntry : layer.getOrderEntries())
+				{
+					if(orderEntry instanceof ModuleOrderEntry)
+					{
+						layer.removeOrderEntry(orderEntry);
+					}
+				}
+				for(VisualStudioModuleImportPlan dependency : diff.getGraph().getDependencies(plan))
+				{
+					Module dependencyModule = moduleModel.findModuleByName(dependency.getModuleName());
+					if(dependencyModule != null)
+					{
+						layer.addModuleOrderEntry(dependencyModule);
+					}
+				}
+			}
+
+			if(planChanges.contains(Change.CONTENT_ROOTS))
+			{
+				for(ContentEntry contentEntry : layer.getContentEntries())
+				{
+					layer.removeContentEntry(contentEntry);
+				}
+				VisualStudioImportBuilder.setupContentRoots(plan, layer, fileResolver);
+			}
+		}
+
+		LOGGER.info("Synchronized " + solutionFile.getPath() + ": " + diff.getAdded().size() + " added, " + diff.getRemoved().size() +
+				" removed, " + diff.getChanged().size() + " changed projects");
+
+		// all changes are committed at once, listeners receive one change event
+		List<ModifiableRootModel> models = new ArrayList<ModifiableRootModel>(rootModels.values());
+		ModifiableModelCommitter.multiCommit(models.toArray(new ModifiableRootModel[models.size()]), moduleModel);
+	}
+
+	private static void updateSettings(@NotNull VisualStudioModuleImportPlan plan,
+			@Nullable VisualStudioModuleImportPlan previousPlan,
+			@NotNull ModifiableModuleRootLayer layer,
+			@NotNull VisualStudioSdkResolver sdkResolver)
+	{
+		if(previousPlan != null)
+		{
+			String previousLanguageExtensionId = previousPlan.getLanguageExtensionId();
+			if(previousLanguageExtensionId != null && !previousLanguageExtensionId.equals(plan.getLanguageExtensionId()))
+			{
+				MutableModuleExtension<?> languageExtension = layer.getExtensionWithoutCheck(previousLanguageExtensionId);
+				if(languageExtension != null)
+				{
+					languageExtension.setEnabled(false);
+				}
+			}
+		}
+
+		// summary of synchronization is logged by caller, statistics are not collected
+		VisualStudioImportBuilder.setupExtensions(plan, layer, sdkResolver, null);
+	}
+
+	private static boolean isDirectoryBuildFile(@NotNull String path)
+	{
+		String fileName = StringUtil.toLowerCase(path.substring(path.lastIndexOf('/') + 1));
+		return fileName.equals(DIRECTORY_BUILD_PROPS) || fileName.equals(DIRECTORY_BUILD_TARGETS);
+	}
+
+	/**
+	 * @param path path relative to solution directory, with leading slash
+	 * @return true if file is in {@code bin} or {@code obj} directory, they are rewritten by each restore and build
+	 */
+	private static boolean isBuildOutput(@NotNull String path)
+	{
+		String lowerCasePath = StringUtil.toLowerCase(path);
+		return lowerCasePath.contains("/bin/") || lowerCasePath.contains("/obj/");
+	}
+
+	private static boolean isBelow(@NotNull String path, @NotNull List<String> directories)
+	{
+		for(String directory : directories)
+		{
+			if(path.startsWith(directory))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Nullable
+	@Override
+	public State getState()
+	{
+		synchronized(myLock)
+		{
+			// files which are not synchronized yet are checked again after project is opened
+			Set<String> changedPaths = new HashSet<String>(myChangedPaths);
+			changedPaths.addAll(mySynchronizingPaths);
+			for(String changedPath : changedPaths)
+			{
+				if(myState.STAMPS.containsKey(changedPath))
+				{
+					myState.STAMPS.put(changedPath, CHANGED_STAMP);
+				}
+			}
+			return myState;
+		}
+	}
+
+	@Override
+	public void loadState(State state)
+	{
+		synchronized(myLock)
+		{
+			myState = state;
+		}
+	}
+}
@@ -18,11 +18,13 @@ package consulo.visualStudio.importProvider;
 
 import org.intellij.lang.annotations.Language;
 import org.jetbrains.annotations.Nullable;
-import consulo.visualStudio.VisualStudioImportTarget;
+import consulo.visualStudio.VisualStudioImportRegistry;
 import consulo.visualStudio.VisualStudioSolutionFileType;
+import consulo.visualStudio.VisualStudioSolutionFilterFileType;
 import consulo.visualStudio.importProvider.ui.VisualStudioSetupTargetStep;
 import com.intellij.ide.util.projectWizard.ModuleWizardStep;
 import com.intellij.ide.util.projectWizard.WizardContext;
+import com.intellij.openapi.fileTypes.FileType;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
@@ -53,8 +55,9 @@ public class VisualStudioImporterProvider extends ProjectImportProvider
 	@Override
 	public boolean canImport(VirtualFile fileOrDirectory, @Nullable Project project)
 	{
-		boolean isSolutionFile = fileOrDirectory.getFileType() == VisualStudioSolutionFileType.INSTANCE;
-		return VisualStudioImportTarget.getAvailableTargets().length != 0 && isSolutionFile;
+		FileType fileType = fileOrDirectory.getFileType();
+		return (fileType == VisualStudioSolutionFileType.INSTANCE || fileType == VisualStudioSolutionFilterFileType.INSTANCE) &&
+				VisualStudioImportRegistry.getInstance().hasAvailableTargets();
 	}
 
 	@Override
@@ -68,6 +71,6 @@ public class VisualStudioImporterProvider extends ProjectImportProvider
 	@Language("HTML")
 	public String getFileSample()
 	{
-		return "<b>Visual Studio</b> solution file (*.sln)";
+		return "<b>Visual Studio</b> solution file (*.sln) or solution filter file (*.slnf)";
 	}
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.importProvider;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.util.Comparing;
+import consulo.visualStudio.util.VisualStudioKeyUtil;
+
+/**
+ * Difference between two plans of same solution. Projects are matched by project file, project which module name was changed is
+ * removed and added again
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioModuleImportDiff
+{
+	public enum Change
+	{
+		// framework, language and target framework version
+		SETTINGS,
+		REFERENCES,
+		DEPENDENCIES,
+		CONTENT_ROOTS
+	}
+
+	@NotNull
+	public static VisualStudioModuleImportDiff compute(@NotNull Collection<VisualStudioModuleImportPlan> oldPlans,
+			@NotNull Collection<VisualStudioModuleImportPlan> newPlans)
+	{
+		VisualStudioProjectGraph oldGraph = new VisualStudioProjectGraph(new ArrayList<VisualStudioModuleImportPlan>(oldPlans));
+		VisualStudioProjectGraph newGraph = new VisualStudioProjectGraph(new ArrayList<VisualStudioModuleImportPlan>(newPlans));
+
+		Map<String, VisualStudioModuleImportPlan> oldByPath = new HashMap<String, VisualStudioModuleImportPlan>(oldPlans.size());
+		for(VisualStudioModuleImportPlan oldPlan : oldPlans)
+		{
+			oldByPath.put(VisualStudioKeyUtil.getPathKey(oldPlan.getProjectFile()), oldPlan);
+		}
+
+		VisualStudioModuleImportDiff diff = new VisualStudioModuleImportDiff(newGraph);
+		for(VisualStudioModuleImportPlan newPlan : newPlans)
+		{
+			VisualStudioModuleImportPlan oldPlan = oldByPath.remove(VisualStudioKeyUtil.getPathKey(newPlan.getProjectFile()));
+			if(oldPlan == null || !oldPlan.getModuleName().equals(newPlan.getModuleName()))
+			{
+				if(oldPlan != null)
+				{
+					diff.myRemoved.add(oldPlan);
+				}
+				diff.myAdded.add(newPlan);
+				continue;
+			}
+
+			Set<Change> changes = EnumSet.noneOf(Change.class);
+			if(oldPlan.getTarget() != newPlan.getTarget() ||
+					!Comparing.equal(oldPlan.getLanguageExtensionId(), newPlan.getLanguageExtensionId()) ||
+					!Comparing.equal(oldPlan.getTargetFrameworkVersion(), newPlan.getTargetFrameworkVersion()))
+			{
+				changes.add(Change.SETTINGS);
+			}
+			if(!oldPlan.getReferences().equals(newPlan.getReferences()) || !oldPlan.getLibraryFiles().equals(newPlan.getLibraryFiles()))
+			{
+				changes.add(Change.REFERENCES);
+			}
+			// dependencies of unchanged project can be changed by added or removed projects
+			if(!getModuleNames(oldGraph.getDependencies(oldPlan)).equals(getModuleNames(newGraph.getDependencies(newPlan))))
+			{
+				changes.add(Change.DEPENDENCIES);
+			}
+			if(!oldPlan.getContentRoots().equals(newPlan.getContentRoots()))
+			{
+				changes.add(Change.CONTENT_ROOTS);
+			}
+
+			if(!changes.isEmpty())
+			{
+				diff.myChanged.put(newPlan, changes);
+				diff.myPreviousPlans.put(newPlan, oldPlan);
+			}
+		}
+
+		diff.myRemoved.addAll(oldByPath.values());
+		return diff;
+	}
+
+	@NotNull
+	private static List<String> getModuleNames(@NotNull List<VisualStudioModuleImportPlan> plans)
+	{
+		List<String> names = new ArrayList<String>(plans.size());
+		for(VisualStudioModuleImportPlan plan : plans)
+		{
+			names.add(plan.getModuleName());
+		}
+		return names;
+	}
+
+	private final VisualStudioProjectGraph myGraph;
+	private final List<VisualStudioModuleImportPlan> myAdded = new ArrayList<VisualStudioModuleImportPlan>();
+	private final List<VisualStudioModuleImportPlan> myRemoved = new ArrayList<VisualStudioModuleImportPlan>();
+	private final Map<VisualStudioModuleImportPlan, Set<Change>> myChanged = new LinkedHashMap<VisualStudioModuleImportPlan, Set<Change>>();
+	// new plan -> old plan of changed project
+	private final Map<VisualStudioModuleImportPlan, VisualStudioModuleImportPlan> myPreviousPlans =
+			new HashMap<VisualStudioModuleImportPlan, VisualStudioModuleImportPlan>();
+
+	private VisualStudioModuleImportDiff(@NotNull VisualStudioProjectGraph graph)
+	{
+		myGraph = graph;
+	}
+
+	public boolean isEmpty()
+	{
+		return myAdded.isEmpty() && myRemoved.isEmpty() && myChanged.isEmpty();
+	}
+
+	/**
+	 * @return graph of new plans
+	 */
+	@NotNull
+	public VisualStudioProjectGraph getGraph()
+	{
+		return myGraph;
+	}
+
+	@NotNull
+	public List<VisualStudioModuleImportPlan> getAdded()
+	{
+		return Collections.unmodifiableList(myAdded);
+	}
+
+	/**
+	 * @return old plans of removed projects
+	 */
+	@NotNull
+	public List<VisualStudioModuleImportPlan> getRemoved()
+	{
+		return Collections.unmodifiableList(myRemoved);
+	}
+
+	/**
+	 * @return new plans of changed projects, with parts of module which must be updated
+	 */
+	@NotNull
+	public Map<VisualStudioModuleImportPlan, Set<Change>> getChanged()
+	{
+		return Collections.unmodifiableMap(myChanged);
+	}
+
+	@Nullable
+	public VisualStudioModuleImportPlan getPreviousPlan(@NotNull VisualStudioModuleImportPlan plan)
+	{
+		return myPreviousPlans.get(plan);
+	}
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.importProvider;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import consulo.visualStudio.VisualStudioImportTarget;
+import consulo.visualStudio.util.VisualStudioAssemblyReference;
+
+/**
+ * Immutable result of module planning, see {@link VisualStudioModuleImportPlanner}. Contains everything which is required for setup of
+ * module root model
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioModuleImportPlan
+{
+	private final String myModuleName;
+	private final File myProjectFile;
+	private final String myGuid;
+	private final VisualStudioImportTarget myTarget;
+	private final String myLanguageExtensionId;
+	private final String myTargetFrameworkVersion;
+	private final List<VisualStudioAssemblyReference> myReferences;
+	private final List<File> myLibraryFiles;
+	private final List<VisualStudioProjectReference> myProjectReferences;
+	private final List<VisualStudioContentRoot> myContentRoots;
+	private final List<File> myImportedFiles;
+
+	public VisualStudioModuleImportPlan(@NotNull String moduleName,
+			@NotNull File projectFile,
+			@Nullable String guid,
+			@NotNull VisualStudioImportTarget target,
+			@Nullable String languageExtensionId,
+			@Nullable String targetFrameworkVersion,
+			@NotNull List<VisualStudioAssemblyReference> references,
+			@NotNull List<File> libraryFiles,
+			@NotNull List<VisualStudioProjectReference> projectReferences,
+			@NotNull List<VisualStudioContentRoot> contentRoots,
+			@NotNull List<File> importedFiles)
+	{
+		myModuleName = moduleName;
+		myProjectFile = projectFile;
+		myGuid = guid;
+		myTarget = target;
+		myLanguageExtensionId = languageExtensionId;
+		myTargetFrameworkVersion = targetFrameworkVersion;
+		myReferences = Collections.unmodifiableList(references);
+		myLibraryFiles = Collections.unmodifiableList(libraryFiles);
+		myProjectReferences = Collections.unmodifiableList(projectReferences);
+		myContentRoots = Collections.unmodifiableList(contentRoots);
+		myImportedFiles = Collections.unmodifiableList(importedFiles);
+	}
+
+	@NotNull
+	public String getModuleName()
+	{
+		return myModuleName;
+	}
+
+	@NotNull
+	public File getProjectFile()
+	{
+		return myProjectFile;
+	}
+
+	/**
+	 * @return guid from solution file, or {@code ProjectGuid} property of project
+	 */
+	@Nullable
+	public String getGuid()
+	{
+		return myGuid;
+	}
+
+	@NotNull
+	public VisualStudioImportTarget getTarget()
+	{
+		return myTarget;
+	}
+
+	@Nullable
+	public String getLanguageExtensionId()
+	{
+		return myLanguageExtensionId;
+	}
+
+	/**
+	 * @return version without 'v' prefix, for example {@code 4.5.2}
+	 */
+	@Nullable
+	public String getTargetFrameworkVersion()
+	{
+		return myTargetFrameworkVersion;
+	}
+
+	@NotNull
+	public List<VisualStudioAssemblyReference> getReferences()
+	{
+		return myReferences;
+	}
+
+	/**
+	 * @return assembly files of references which have existing {@code HintPath}, they are not in {@link #getReferences()}
+	 */
+	@NotNull
+	public List<File> getLibraryFiles()
+	{
+		return myLibraryFiles;
+	}
+
+	@NotNull
+	public List<VisualStudioProjectReference> getProjectReferences()
+	{
+		return myProjectReferences;
+	}
+
+	@NotNull
+	public List<VisualStudioContentRoot> getContentRoots()
+	{
+		return myContentRoots;
+	}
+
+	/**
+	 * @return files which were imported by project file, module must be planned again when one of them is changed
+	 */
+	@NotNull
+	public List<File> getImportedFiles()
+	{
+		return myImportedFiles;
+	}
+}
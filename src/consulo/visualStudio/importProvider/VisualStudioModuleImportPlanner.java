@@ -0,0 +1,326 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.importProvider;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.util.Computable;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.openapi.util.text.StringUtil;
+import consulo.annotations.RequiredReadAction;
+import consulo.visualStudio.VisualStudioImportRegistry;
+import consulo.visualStudio.VisualStudioLanguageImportProvider;
+import consulo.visualStudio.msbuild.MSBuildEvaluatedProject;
+import consulo.visualStudio.msbuild.MSBuildItemData;
+import consulo.visualStudio.msbuild.MSBuildItemExpander;
+import consulo.visualStudio.msbuild.MSBuildItemGroupData;
+import consulo.visualStudio.msbuild.MSBuildProjectData;
+import consulo.visualStudio.msbuild.MSBuildPropertyScope;
+import consulo.visualStudio.util.VisualStudioAssemblyReference;
+import consulo.visualStudio.util.VisualStudioImportStatistics;
+import consulo.visualStudio.util.VisualStudioParallelUtil;
+import consulo.visualStudio.util.VisualStudioProjectInfo;
+import consulo.visualStudio.util.VisualStudioReferenceInterner;
+
+/**
+ * Computes {@link VisualStudioModuleImportPlan} for import items. Planning does not touch project model, and runs in parallel inside read
+ * actions
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioModuleImportPlanner
+{
+	// project file extension -> extension of implicit compile items of SDK-style project
+	private static final Map<String, String> ourDefaultSourceExtensions = new HashMap<String, String>();
+
+	static
+	{
+		ourDefaultSourceExtensions.put("csproj", "cs");
+		ourDefaultSourceExtensions.put("vbproj", "vb");
+	}
+
+	/**
+	 * @param solutionFile defines solution properties, like {@code $(SolutionDir)}
+	 * @return plans in order of items, items which project file cannot be loaded are skipped
+	 */
+	@NotNull
+	public static List<VisualStudioModuleImportPlan> plan(@NotNull List<VisualStudioImportItem> items, @Nullable File solutionFile)
+	{
+		return plan(items, new VisualStudioImportSession(solutionFile));
+	}
+
+	/**
+	 * @return plans in order of items, items which project file cannot be loaded are skipped
+	 */
+	@NotNull
+	public static List<VisualStudioModuleImportPlan> plan(@NotNull List<VisualStudioImportItem> items,
+			@NotNull final VisualStudioImportSession session)
+	{
+		final Application application = ApplicationManager.getApplication();
+
+		// background read actions will wait for write action of current thread
+		int parallelism = application.isWriteAccessAllowed() ? 1 : VisualStudioParallelUtil.getDefaultParallelism();
+
+		List<VisualStudioModuleImportPlan> plans = VisualStudioParallelUtil.map(items, parallelism, item -> application.runReadAction(
+				(Computable<VisualStudioModuleImportPlan>) () -> plan(item, session)));
+
+		List<VisualStudioModuleImportPlan> result = new ArrayList<VisualStudioModuleImportPlan>(plans.size());
+		for(VisualStudioModuleImportPlan plan : plans)
+		{
+			if(plan != null)
+			{
+				result.add(plan);
+			}
+		}
+		return result;
+	}
+
+	@Nullable
+	@RequiredReadAction
+	public static VisualStudioModuleImportPlan plan(@NotNull VisualStudioImportItem item, @NotNull VisualStudioImportSession session)
+	{
+		VisualStudioProjectInfo projectInfo = item.getProjectInfo();
+		MSBuildProjectData projectData = projectInfo.getProjectData();
+		if(projectData == null)
+		{
+			return null;
+		}
+
+		long start = System.nanoTime();
+		try
+		{
+			return plan(item, projectData, findLanguageExtensionId(item), session);
+		}
+		finally
+		{
+			projectInfo.releaseProjectData();
+
+			session.getStatistics().record(VisualStudioImportStatistics.Phase.PLANNING, projectInfo.getFile().getPath(), start, 0);
+		}
+	}
+
+	@NotNull
+	public static VisualStudioModuleImportPlan plan(@NotNull VisualStudioImportItem item,
+			@NotNull MSBuildProjectData projectData,
+			@Nullable String languageExtensionId,
+			@NotNull VisualStudioImportSession session)
+	{
+		File file = item.getProjectInfo().getFile();
+		Path projectDirectory = file.getParentFile().toPath().toAbsolutePath().normalize();
+
+		VisualStudioReferenceInterner referenceInterner = session.getReferenceInterner();
+		MSBuildItemExpander itemExpander = session.getItemExpander();
+
+		// configuration which solution selects for project, or default configuration of project if it is not known
+		MSBuildPropertyScope configurationScope = session.getConfigurationScope(item.getProjectInfo().getConfiguration());
+		MSBuildEvaluatedProject evaluatedProject = configurationScope.evaluate(file, projectData, session.getImportCache());
+		MSBuildPropertyScope scope = evaluatedProject.getScope();
+
+		// one reference per assembly name, first one wins
+		Map<String, VisualStudioAssemblyReference> references = new LinkedHashMap<String, VisualStudioAssemblyReference>();
+		addReference(references, referenceInterner, "mscorlib");
+
+		// assemblies of references with existing HintPath, like $(SolutionDir)lib\Foo.dll
+		Set<File> libraryFiles = new LinkedHashSet<File>();
+
+		List<VisualStudioProjectReference> projectReferences = new ArrayList<VisualStudioProjectReference>();
+
+		// items are evaluated in order of project file, implicit items of SDK are first
+		Set<Path> compileFiles = new LinkedHashSet<Path>();
+		String defaultCompileInclude = getDefaultCompileInclude(file, projectData, scope);
+		if(defaultCompileInclude != null)
+		{
+			String excludes = MSBuildItemExpander.DEFAULT_ITEM_EXCLUDES;
+			String defaultItemExcludes = scope.get("DefaultItemExcludes");
+			if(defaultItemExcludes != null)
+			{
+				excludes += ";" + defaultItemExcludes;
+			}
+			compileFiles.addAll(itemExpander.expand(projectDirectory, defaultCompileInclude, excludes));
+		}
+
+		// items of imported files are included too, their relative paths are relative to project
+		for(MSBuildItemGroupData itemGroup : evaluatedProject.getItemGroups())
+		{
+			MSBuildPropertyScope groupScope = evaluatedProject.getScope(itemGroup);
+			if(!groupScope.evaluateCondition(itemGroup.getCondition()))
+			{
+				continue;
+			}
+
+			for(MSBuildItemData msbuildItem : itemGroup.getItems())
+			{
+				if(!groupScope.evaluateCondition(msbuildItem.getCondition()))
+				{
+					continue;
+				}
+
+				String include = expand(groupScope, msbuildItem.getInclude());
+
+				if(msbuildItem.isType("Reference"))
+				{
+					File libraryFile = findHintPathFile(projectDirectory, expand(groupScope, msbuildItem.getMetadata("HintPath")));
+					if(libraryFile != null)
+					{
+						libraryFiles.add(libraryFile);
+					}
+					else if(include != null)
+					{
+						// assembly is resolved by name, like MSBuild does when hint path does not exist
+						addReference(references, referenceInterner, include);
+					}
+				}
+				else if(msbuildItem.isType("ProjectReference"))
+				{
+					if(include != null)
+					{
+						// path can be not normalized, project is resolved by guid in this case
+						File projectFile = projectDirectory.resolve(FileUtil.toSystemIndependentName(include)).normalize().toFile();
+						projectReferences.add(new VisualStudioProjectReference(projectFile, msbuildItem.getMetadata("Project")));
+					}
+				}
+				else if(msbuildItem.isType("Compile"))
+				{
+					if(include != null)
+					{
+						compileFiles.addAll(itemExpander.expand(projectDirectory, include, expand(groupScope, msbuildItem.getExclude())));
+					}
+
+					String remove = expand(groupScope, msbuildItem.getRemove());
+					if(remove != null)
+					{
+						itemExpander.remove(compileFiles, projectDirectory, remove);
+					}
+				}
+			}
+		}
+
+		List<File> contentFiles = new ArrayList<File>(compileFiles.size());
+		for(Path compileFile : compileFiles)
+		{
+			contentFiles.add(compileFile.toFile());
+		}
+
+		List<VisualStudioContentRoot> contentRoots = VisualStudioContentRootCoalescer.coalesce(file.getParentFile(), contentFiles);
+
+		String guid = item.getProjectInfo().getGuid();
+		if(guid == null)
+		{
+			guid = scope.get("ProjectGuid");
+		}
+
+		return new VisualStudioModuleImportPlan(item.getProjectInfo().getName(), file, guid, item.getTarget(), languageExtensionId,
+				findTargetFrameworkVersion(scope), new ArrayList<VisualStudioAssemblyReference>(references.values()),
+				new ArrayList<File>(libraryFiles), projectReferences, contentRoots, evaluatedProject.getImportedFiles());
+	}
+
+	/**
+	 * @param hintPath expanded {@code HintPath} metadata, relative paths are relative to project directory
+	 * @return null if there is no hint path, or file does not exist
+	 */
+	@Nullable
+	private static File findHintPathFile(@NotNull Path projectDirectory, @Nullable String hintPath)
+	{
+		if(StringUtil.isEmptyOrSpaces(hintPath))
+		{
+			return null;
+		}
+
+		File file = projectDirectory.resolve(FileUtil.toSystemIndependentName(hintPath.trim())).normalize().toFile();
+		return file.isFile() ? file : null;
+	}
+
+	private static void addReference(@NotNull Map<String, VisualStudioAssemblyReference> references,
+			@NotNull VisualStudioReferenceInterner referenceInterner,
+			@NotNull String include)
+	{
+		VisualStudioAssemblyReference reference = referenceInterner.intern(include);
+		if(reference != null)
+		{
+			references.putIfAbsent(StringUtil.toLowerCase(reference.getName()), reference);
+		}
+	}
+
+	/**
+	 * @return pattern of implicit compile items, if project is SDK-style project and they are not disabled
+	 */
+	@Nullable
+	private static String getDefaultCompileInclude(@NotNull File file,
+			@NotNull MSBuildProjectData projectData,
+			@NotNull MSBuildPropertyScope scope)
+	{
+		if(!projectData.isSdkStyle())
+		{
+			return null;
+		}
+
+		String sourceExtension = ourDefaultSourceExtensions.get(FileUtilRt.getExtension(file.getName()).toLowerCase(Locale.US));
+		if(sourceExtension == null)
+		{
+			return null;
+		}
+
+		if("false".equalsIgnoreCase(scope.get("EnableDefaultItems")) || "false".equalsIgnoreCase(scope.get("EnableDefaultCompileItems")))
+		{
+			return null;
+		}
+		return "**/*." + sourceExtension;
+	}
+
+	@Nullable
+	private static String expand(@NotNull MSBuildPropertyScope scope, @Nullable String text)
+	{
+		return text == null ? null : scope.expand(text);
+	}
+
+	@Nullable
+	private static String findTargetFrameworkVersion(@NotNull MSBuildPropertyScope scope)
+	{
+		String version = scope.get("TargetFrameworkVersion");
+		if(StringUtil.isEmpty(version))
+		{
+			return null;
+		}
+		return StringUtil.trimStart(StringUtil.trimStart(version, "v"), "V");
+	}
+
+	@Nullable
+	private static String findLanguageExtensionId(@NotNull VisualStudioImportItem item)
+	{
+		VisualStudioProjectInfo projectInfo = item.getProjectInfo();
+		String fileExtension = FileUtilRt.getExtension(projectInfo.getFile().getName());
+
+		VisualStudioLanguageImportProvider provider = VisualStudioImportRegistry.getInstance().findProvider(fileExtension, projectInfo
+				.getTypeGuid());
+		return provider == null ? null : provider.getLanguageModuleExtensionId(item.getTarget());
+	}
+}
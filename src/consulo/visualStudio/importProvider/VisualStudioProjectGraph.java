@@ -0,0 +1,266 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.importProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+import com.intellij.openapi.diagnostic.Logger;
+import consulo.visualStudio.util.VisualStudioKeyUtil;
+
+/**
+ * Dependency graph of projects from {@code ProjectReference} items. Referenced project is found by path, and by guid if path does not
+ * point to project of solution. References to projects outside of solution are ignored
+ * <p/>
+ * Projects with cyclic references are available via {@link #getCycles()}
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioProjectGraph
+{
+	private static final Logger LOGGER = Logger.getInstance(VisualStudioProjectGraph.class);
+
+	private final List<VisualStudioModuleImportPlan> myPlans;
+	private final Map<VisualStudioModuleImportPlan, Integer> myIndexes = new HashMap<VisualStudioModuleImportPlan, Integer>();
+	// indexes of dependencies, in order of references
+	private final int[][] myDependencies;
+
+	private final List<List<VisualStudioModuleImportPlan>> myCycles = new ArrayList<List<VisualStudioModuleImportPlan>>();
+
+	public VisualStudioProjectGraph(@NotNull List<VisualStudioModuleImportPlan> plans)
+	{
+		myPlans = plans;
+
+		Map<String, Integer> byPath = new HashMap<String, Integer>(plans.size());
+		Map<String, Integer> byGuid = new HashMap<String, Integer>(plans.size());
+		for(int i = 0; i < plans.size(); i++)
+		{
+			VisualStudioModuleImportPlan plan = plans.get(i);
+			myIndexes.put(plan, i);
+			byPath.putIfAbsent(VisualStudioKeyUtil.getPathKey(plan.getProjectFile()), i);
+
+			String guidKey = VisualStudioKeyUtil.getGuidKey(plan.getGuid());
+			if(guidKey != null)
+			{
+				byGuid.putIfAbsent(guidKey, i);
+			}
+		}
+
+		myDependencies = new int[plans.size()][];
+		for(int i = 0; i < plans.size(); i++)
+		{
+			VisualStudioModuleImportPlan plan = plans.get(i);
+
+			int[] dependencies = new int[plan.getProjectReferences().size()];
+			int count = 0;
+			for(VisualStudioProjectReference reference : plan.getProjectReferences())
+			{
+				Integer dependency = byPath.get(VisualStudioKeyUtil.getPathKey(reference.getProjectFile()));
+				if(dependency == null)
+				{
+					String guidKey = VisualStudioKeyUtil.getGuidKey(reference.getGuid());
+					dependency = guidKey == null ? null : byGuid.get(guidKey);
+				}
+
+				if(dependency == null)
+				{
+					LOGGER.info("Project " + reference + " referenced by " + plan.getProjectFile().getPath() + " is not part of solution");
+					continue;
+				}
+
+				if(dependency != i && !contains(dependencies, count, dependency))
+				{
+					dependencies[count++] = dependency;
+				}
+			}
+			myDependencies[i] = count == dependencies.length ? dependencies : Arrays.copyOf(dependencies, count);
+		}
+
+		findCycles();
+	}
+
+	/**
+	 * @return projects referenced by plan, in order of references
+	 */
+	@NotNull
+	public List<VisualStudioModuleImportPlan> getDependencies(@NotNull VisualStudioModuleImportPlan plan)
+	{
+		Integer index = myIndexes.get(plan);
+		if(index == null)
+		{
+			return Collections.emptyList();
+		}
+
+		int[] dependencies = myDependencies[index];
+		List<VisualStudioModuleImportPlan> result = new ArrayList<VisualStudioModuleImportPlan>(dependencies.length);
+		for(int dependency : dependencies)
+		{
+			result.add(myPlans.get(dependency));
+		}
+		return result;
+	}
+
+	/**
+	 * @return groups of projects which reference each other
+	 */
+	@NotNull
+	public List<List<VisualStudioModuleImportPlan>> getCycles()
+	{
+		return myCycles;
+	}
+
+	private void findCycles()
+	{
+		int size = myPlans.size();
+
+		int[] components = new int[size];
+		int componentCount = findComponents(components);
+
+		List<List<Integer>> componentMembers = new ArrayList<List<Integer>>(componentCount);
+		for(int i = 0; i < componentCount; i++)
+		{
+			componentMembers.add(new ArrayList<Integer>(1));
+		}
+		for(int i = 0; i < size; i++)
+		{
+			componentMembers.get(components[i]).add(i);
+		}
+
+		for(List<Integer> members : componentMembers)
+		{
+			if(members.size() > 1)
+			{
+				myCycles.add(toPlans(members));
+			}
+		}
+	}
+
+	/**
+	 * Tarjan's algorithm, without recursion - reference chains can be long
+	 *
+	 * @return count of strongly connected components
+	 */
+	private int findComponents(int[] components)
+	{
+		int size = myPlans.size();
+
+		int[] indexes = new int[size];
+		int[] lowLinks = new int[size];
+		boolean[] onStack = new boolean[size];
+		Arrays.fill(indexes, -1);
+
+		int[] stack = new int[size];
+		int stackSize = 0;
+
+		// call stack: node and position in its dependencies
+		int[] callNodes = new int[size];
+		int[] callPositions = new int[size];
+
+		int index = 0;
+		int componentCount = 0;
+		for(int root = 0; root < size; root++)
+		{
+			if(indexes[root] != -1)
+			{
+				continue;
+			}
+
+			int depth = 0;
+			callNodes[0] = root;
+			callPositions[0] = 0;
+			indexes[root] = lowLinks[root] = index++;
+			stack[stackSize++] = root;
+			onStack[root] = true;
+
+			while(depth >= 0)
+			{
+				int node = callNodes[depth];
+				int[] dependencies = myDependencies[node];
+				if(callPositions[depth] < dependencies.length)
+				{
+					int dependency = dependencies[callPositions[depth]++];
+					if(indexes[dependency] == -1)
+					{
+						indexes[dependency] = lowLinks[dependency] = index++;
+						stack[stackSize++] = dependency;
+						onStack[dependency] = true;
+
+						depth++;
+						callNodes[depth] = dependency;
+						callPositions[depth] = 0;
+					}
+					else if(onStack[dependency])
+					{
+						lowLinks[node] = Math.min(lowLinks[node], indexes[dependency]);
+					}
+					continue;
+				}
+
+				if(lowLinks[node] == indexes[node])
+				{
+					int member;
+					do
+					{
+						member = stack[--stackSize];
+						onStack[member] = false;
+						components[member] = componentCount;
+					}
+					while(member != node);
+					componentCount++;
+				}
+
+				depth--;
+				if(depth >= 0)
+				{
+					int parent = callNodes[depth];
+					lowLinks[parent] = Math.min(lowLinks[parent], lowLinks[node]);
+				}
+			}
+		}
+		return componentCount;
+	}
+
+	@NotNull
+	private List<VisualStudioModuleImportPlan> toPlans(@NotNull List<Integer> indexes)
+	{
+		List<VisualStudioModuleImportPlan> plans = new ArrayList<VisualStudioModuleImportPlan>(indexes.size());
+		for(int index : indexes)
+		{
+			plans.add(myPlans.get(index));
+		}
+		return plans;
+	}
+
+	private static boolean contains(int[] array, int length, int value)
+	{
+		for(int i = 0; i < length; i++)
+		{
+			if(array[i] == value)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+}
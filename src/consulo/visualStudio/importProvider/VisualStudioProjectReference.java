@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.importProvider;
+
+import java.io.File;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.util.Comparing;
+
+/**
+ * {@code <ProjectReference Include="..\Foo\Foo.csproj"/>} item of project
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioProjectReference
+{
+	private final File myProjectFile;
+	private final String myGuid;
+
+	public VisualStudioProjectReference(@NotNull File projectFile, @Nullable String guid)
+	{
+		myProjectFile = projectFile;
+		myGuid = guid;
+	}
+
+	/**
+	 * @return absolute normalized path of referenced project file
+	 */
+	@NotNull
+	public File getProjectFile()
+	{
+		return myProjectFile;
+	}
+
+	/**
+	 * @return value of {@code Project} metadata
+	 */
+	@Nullable
+	public String getGuid()
+	{
+		return myGuid;
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if(this == o)
+		{
+			return true;
+		}
+		if(o == null || getClass() != o.getClass())
+		{
+			return false;
+		}
+
+		VisualStudioProjectReference that = (VisualStudioProjectReference) o;
+		return myProjectFile.equals(that.myProjectFile) && Comparing.equal(myGuid, that.myGuid);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return 31 * myProjectFile.hashCode() + Comparing.hashcode(myGuid);
+	}
+
+	@Override
+	public String toString()
+	{
+		return myProjectFile.getPath();
+	}
+}
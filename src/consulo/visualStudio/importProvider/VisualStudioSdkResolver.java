@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.importProvider;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.projectRoots.Sdk;
+import com.intellij.openapi.projectRoots.SdkTable;
+import com.intellij.openapi.projectRoots.SdkType;
+import com.intellij.openapi.util.text.StringUtil;
+
+/**
+ * Index of available SDKs by type and version. Created once per import, SDK table is not expected to change while import is running
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioSdkResolver
+{
+	private final SdkTable mySdkTable;
+
+	private final Map<Class<? extends SdkType>, NavigableMap<String, Sdk>> mySdksByType = new HashMap<Class<? extends SdkType>,
+			NavigableMap<String, Sdk>>();
+
+	public VisualStudioSdkResolver()
+	{
+		this(SdkTable.getInstance());
+	}
+
+	public VisualStudioSdkResolver(@NotNull SdkTable sdkTable)
+	{
+		mySdkTable = sdkTable;
+	}
+
+	/**
+	 * Picks SDK with lowest version which is not older than target version. If all SDKs are older, picks newest one. SDKs with same version
+	 * prefer predefined one
+	 *
+	 * @param targetVersion version without 'v' prefix, null if project does not specify it
+	 */
+	@Nullable
+	public Sdk resolve(@NotNull Class<? extends SdkType> sdkTypeClass, @Nullable String targetVersion)
+	{
+		NavigableMap<String, Sdk> sdks = getSdks(sdkTypeClass);
+		if(sdks.isEmpty())
+		{
+			return null;
+		}
+
+		if(targetVersion == null)
+		{
+			return sdks.lastEntry().getValue();
+		}
+
+		Map.Entry<String, Sdk> entry = sdks.ceilingEntry(targetVersion);
+		if(entry == null)
+		{
+			entry = sdks.lastEntry();
+		}
+		return entry.getValue();
+	}
+
+	@NotNull
+	private NavigableMap<String, Sdk> getSdks(@NotNull Class<? extends SdkType> sdkTypeClass)
+	{
+		NavigableMap<String, Sdk> sdks = mySdksByType.get(sdkTypeClass);
+		if(sdks != null)
+		{
+			return sdks;
+		}
+
+		sdks = new TreeMap<String, Sdk>(StringUtil::compareVersionNumbers);
+
+		SdkType sdkType = SdkType.EP_NAME.findExtension(sdkTypeClass);
+		if(sdkType != null)
+		{
+			List<Sdk> sdksOfType = mySdkTable.getSdksOfType(sdkType);
+			for(Sdk sdk : sdksOfType)
+			{
+				String versionString = sdk.getVersionString();
+				if(versionString == null)
+				{
+					continue;
+				}
+
+				Sdk old = sdks.get(versionString);
+				if(old == null || !old.isPredefined() && sdk.isPredefined())
+				{
+					sdks.put(versionString, sdk);
+				}
+			}
+		}
+
+		mySdksByType.put(sdkTypeClass, sdks);
+		return sdks;
+	}
+}
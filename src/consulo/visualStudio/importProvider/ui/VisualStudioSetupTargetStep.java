@@ -16,22 +16,45 @@
 
 package consulo.visualStudio.importProvider.ui;
 
+import java.awt.BorderLayout;
 import java.awt.GridBagConstraints;
 import java.awt.Insets;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
 import javax.swing.JTable;
 import javax.swing.table.TableCellEditor;
 
 import org.jdesktop.swingx.autocomplete.ComboBoxCellEditor;
+import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import consulo.visualStudio.VisualStudioImportTarget;
 import consulo.visualStudio.importProvider.VisualStudioImportBuilder;
 import consulo.visualStudio.importProvider.VisualStudioImportItem;
+import consulo.visualStudio.importProvider.VisualStudioImportSession;
+import consulo.visualStudio.util.VisualStudioSolutionFilter;
 import com.intellij.ide.util.newProjectWizard.ProjectNameStep;
 import com.intellij.ide.util.newProjectWizard.modes.WizardMode;
 import com.intellij.ide.util.projectWizard.WizardContext;
+import com.intellij.openapi.application.Application;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.options.ConfigurationException;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.progress.util.ProgressIndicatorBase;
 import com.intellij.openapi.ui.ComboBox;
+import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.ui.ScrollPaneFactory;
 import com.intellij.ui.table.TableView;
@@ -39,18 +62,35 @@ import com.intellij.util.ui.ColumnInfo;
 import com.intellij.util.ui.ListTableModel;
 
 /**
+ * Solution file is read on pooled thread. Project files are not loaded by wizard, they are loaded one by one when modules are planned
+ *
  * @author VISTALL
  * @since 09.06.2015
  */
 public class VisualStudioSetupTargetStep extends ProjectNameStep
 {
-	private List<VisualStudioImportItem> myItems;
+	private static final Logger LOGGER = Logger.getInstance(VisualStudioSetupTargetStep.class);
+
+	// indicator of current loading, loading is restarted if set of projects is changed
+	private volatile ProgressIndicator myIndicator = new ProgressIndicatorBase();
+	private final VirtualFile mySolutionFile;
+
+	private final ListTableModel<VisualStudioImportItem> myTableModel;
+	private final JProgressBar myProgressBar = new JProgressBar();
+	private final JLabel myStatusLabel = new JLabel("Loading solution...");
+	private final JButton myCancelButton = new JButton("Cancel");
+	private final JCheckBox myWithReferencedProjectsCheckBox = new JCheckBox("Include projects referenced by projects of filter");
+
+	// all items of solution in solution order, set when solution is read
+	private volatile List<VisualStudioImportItem> myItems = Collections.emptyList();
+	// session which statistics start with reading of solution, it is passed to import
+	private VisualStudioImportSession mySession;
+	private boolean myLoadingFinished;
 
-	public VisualStudioSetupTargetStep(WizardContext wizardContext, @Nullable WizardMode mode, VirtualFile fileByPath)
+	public VisualStudioSetupTargetStep(WizardContext wizardContext, @Nullable WizardMode mode, final VirtualFile fileByPath)
 	{
 		super(wizardContext, mode);
-
-		myItems = VisualStudioImportBuilder.loadItems(fileByPath);
+		mySolutionFile = fileByPath;
 
 		ColumnInfo<VisualStudioImportItem, String> nameColumn = new ColumnInfo<VisualStudioImportItem, String>("Name")
 		{
@@ -104,14 +144,132 @@ public class VisualStudioSetupTargetStep extends ProjectNameStep
 				return VisualStudioImportTarget.class;
 			}
 		};
-		ListTableModel<VisualStudioImportItem> tableModel = new ListTableModel<VisualStudioImportItem>(new ColumnInfo[]{
+		myTableModel = new ListTableModel<VisualStudioImportItem>(new ColumnInfo[]{
 				nameColumn,
 				targetColumn
-		}, myItems);
-		TableView<VisualStudioImportItem> tableItemTableView = new TableView<VisualStudioImportItem>(tableModel);
+		}, new ArrayList<VisualStudioImportItem>());
+		TableView<VisualStudioImportItem> tableItemTableView = new TableView<VisualStudioImportItem>(myTableModel);
+
+		myProgressBar.setIndeterminate(true);
+		myCancelButton.addActionListener(new ActionListener()
+		{
+			@Override
+			public void actionPerformed(ActionEvent e)
+			{
+				myIndicator.cancel();
+			}
+		});
+
+		if(VisualStudioSolutionFilter.EXTENSION.equalsIgnoreCase(fileByPath.getExtension()))
+		{
+			myWithReferencedProjectsCheckBox.addActionListener(e -> restartLoading());
+			myAdditionalContentPanel.add(myWithReferencedProjectsCheckBox, new GridBagConstraints(0, GridBagConstraints.RELATIVE, 1, 1, 1,
+					0, GridBagConstraints.NORTHWEST, GridBagConstraints.HORIZONTAL, new Insets(0, 0, 5, 0), 0, 0));
+		}
+
+		JPanel progressPanel = new JPanel(new BorderLayout(5, 0));
+		progressPanel.add(myStatusLabel, BorderLayout.WEST);
+		progressPanel.add(myProgressBar, BorderLayout.CENTER);
+		progressPanel.add(myCancelButton, BorderLayout.EAST);
 
+		myAdditionalContentPanel.add(progressPanel, new GridBagConstraints(0, GridBagConstraints.RELATIVE, 1, 1, 1, 0,
+				GridBagConstraints.NORTHWEST, GridBagConstraints.HORIZONTAL, new Insets(0, 0, 5, 0), 0, 0));
 		myAdditionalContentPanel.add(ScrollPaneFactory.createScrollPane(tableItemTableView), new GridBagConstraints(0, GridBagConstraints.RELATIVE,
 				1, 1, 1, 1, GridBagConstraints.NORTHWEST, GridBagConstraints.BOTH, new Insets(0, 0, 0, 0), 0, 0));
+
+		startLoading(myIndicator);
+	}
+
+	private void restartLoading()
+	{
+		myIndicator.cancel();
+		ProgressIndicator indicator = new ProgressIndicatorBase();
+		myIndicator = indicator;
+
+		myLoadingFinished = false;
+		myItems = Collections.emptyList();
+		mySession = null;
+		myTableModel.setItems(new ArrayList<VisualStudioImportItem>());
+		myProgressBar.setIndeterminate(true);
+		myProgressBar.setVisible(true);
+		myCancelButton.setVisible(true);
+		myStatusLabel.setText("Loading solution...");
+		myStatusLabel.setVisible(true);
+
+		startLoading(indicator);
+	}
+
+	private void startLoading(@NotNull ProgressIndicator indicator)
+	{
+		boolean withReferencedProjects = myWithReferencedProjectsCheckBox.isSelected();
+		ApplicationManager.getApplication().executeOnPooledThread(() -> ProgressManager.getInstance().runProcess(() -> load(mySolutionFile,
+				withReferencedProjects, indicator), indicator));
+	}
+
+	private void load(@NotNull VirtualFile solutionFile, boolean withReferencedProjects, @NotNull ProgressIndicator indicator)
+	{
+		final VisualStudioImportSession session = new VisualStudioImportSession(VfsUtil.virtualToIoFile(solutionFile));
+		final List<VisualStudioImportItem> items;
+		try
+		{
+			// only name, path and type of projects are kept, projects which cannot be loaded are skipped by import
+			items = VisualStudioImportBuilder.loadItems(solutionFile, withReferencedProjects, session.getStatistics());
+		}
+		catch(ProcessCanceledException e)
+		{
+			invokeLater(indicator, () -> finishLoading("Loading canceled"));
+			return;
+		}
+		catch(Exception e)
+		{
+			LOGGER.warn(e);
+			invokeLater(indicator, () -> finishLoading("Failed to read solution: " + e.getMessage()));
+			return;
+		}
+
+		invokeLater(indicator, () ->
+		{
+			myItems = items;
+			mySession = session;
+			myTableModel.setItems(new ArrayList<VisualStudioImportItem>(items));
+			finishLoading(null);
+		});
+	}
+
+	private void finishLoading(@Nullable String status)
+	{
+		myLoadingFinished = true;
+
+		myProgressBar.setVisible(false);
+		myCancelButton.setVisible(false);
+		myStatusLabel.setText(status == null ? "" : status);
+		myStatusLabel.setVisible(status != null);
+	}
+
+	/**
+	 * Runs UI update of loading, updates of restarted loading are dropped
+	 */
+	private void invokeLater(@NotNull ProgressIndicator indicator, @NotNull Runnable runnable)
+	{
+		Application application = ApplicationManager.getApplication();
+		// wizard is modal dialog
+		application.invokeLater(() ->
+		{
+			if(indicator == myIndicator)
+			{
+				runnable.run();
+			}
+		}, ModalityState.any());
+	}
+
+	@Override
+	public boolean validate() throws ConfigurationException
+	{
+		if(!myLoadingFinished)
+		{
+			throw new ConfigurationException("Solution is still loading. Wait for loading, or cancel it to read solution during import");
+		}
+		return super.validate();
 	}
 
 	@Override
@@ -120,6 +278,19 @@ public class VisualStudioSetupTargetStep extends ProjectNameStep
 		super.updateDataModel();
 		VisualStudioImportBuilder projectBuilder = (VisualStudioImportBuilder) myWizardContext.getProjectBuilder();
 		assert projectBuilder != null;
-		projectBuilder.setImportItems(myItems);
+
+		// if loading was canceled, solution is read by import
+		if(mySession != null)
+		{
+			projectBuilder.setImportItems(mySession, myItems);
+		}
+		projectBuilder.setWithReferencedProjects(myWithReferencedProjectsCheckBox.isSelected());
+	}
+
+	@Override
+	public void disposeUIResources()
+	{
+		myIndicator.cancel();
+		super.disposeUIResources();
 	}
 }
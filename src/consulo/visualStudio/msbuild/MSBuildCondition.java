@@ -0,0 +1,466 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.msbuild;
+
+import java.io.File;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Compiled {@code Condition} attribute. Evaluation follows MSBuild rules: strings are compared ignoring case, operands which are numbers
+ * are compared as numbers, {@code true/on/yes} and {@code false/off/no} are booleans. Undefined properties are empty strings
+ * <p/>
+ * Instances are immutable and do not depend on project, see {@link MSBuildConditionCache}
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public abstract class MSBuildCondition
+{
+	/**
+	 * Condition which is always true, result for missing condition
+	 */
+	public static final MSBuildCondition TRUE = new MSBuildCondition()
+	{
+		@Override
+		public boolean evaluate(@NotNull Function<String, String> properties)
+		{
+			return true;
+		}
+	};
+
+	/**
+	 * @param properties returns value of property by name, or null if property is not defined
+	 */
+	public abstract boolean evaluate(@NotNull Function<String, String> properties);
+
+	/**
+	 * Collects values which properties are compared with, in order of condition. For
+	 * {@code '$(Configuration)|$(Platform)' == 'Debug|AnyCPU'} it is {@code Debug} for {@code Configuration} and {@code AnyCPU} for
+	 * {@code Platform}
+	 */
+	public void collectPropertyValues(@NotNull Map<String, Set<String>> values)
+	{
+	}
+
+	static class Or extends MSBuildCondition
+	{
+		private final MSBuildCondition myLeft;
+		private final MSBuildCondition myRight;
+
+		Or(MSBuildCondition left, MSBuildCondition right)
+		{
+			myLeft = left;
+			myRight = right;
+		}
+
+		@Override
+		public boolean evaluate(@NotNull Function<String, String> properties)
+		{
+			return myLeft.evaluate(properties) || myRight.evaluate(properties);
+		}
+
+		@Override
+		public void collectPropertyValues(@NotNull Map<String, Set<String>> values)
+		{
+			myLeft.collectPropertyValues(values);
+			myRight.collectPropertyValues(values);
+		}
+	}
+
+	static class And extends MSBuildCondition
+	{
+		private final MSBuildCondition myLeft;
+		private final MSBuildCondition myRight;
+
+		And(MSBuildCondition left, MSBuildCondition right)
+		{
+			myLeft = left;
+			myRight = right;
+		}
+
+		@Override
+		public boolean evaluate(@NotNull Function<String, String> properties)
+		{
+			return myLeft.evaluate(properties) && myRight.evaluate(properties);
+		}
+
+		@Override
+		public void collectPropertyValues(@NotNull Map<String, Set<String>> values)
+		{
+			myLeft.collectPropertyValues(values);
+			myRight.collectPropertyValues(values);
+		}
+	}
+
+	static class Not extends MSBuildCondition
+	{
+		private final MSBuildCondition myCondition;
+
+		Not(MSBuildCondition condition)
+		{
+			myCondition = condition;
+		}
+
+		@Override
+		public boolean evaluate(@NotNull Function<String, String> properties)
+		{
+			return !myCondition.evaluate(properties);
+		}
+
+		@Override
+		public void collectPropertyValues(@NotNull Map<String, Set<String>> values)
+		{
+			myCondition.collectPropertyValues(values);
+		}
+	}
+
+	enum Operator
+	{
+		EQ, NE, LT, GT, LE, GE
+	}
+
+	static class Comparison extends MSBuildCondition
+	{
+		private final Operand myLeft;
+		private final Operator myOperator;
+		private final Operand myRight;
+
+		Comparison(Operand left, Operator operator, Operand right)
+		{
+			myLeft = left;
+			myOperator = operator;
+			myRight = right;
+		}
+
+		@Override
+		public boolean evaluate(@NotNull Function<String, String> properties)
+		{
+			String left = myLeft.evaluate(properties);
+			String right = myRight.evaluate(properties);
+
+			Double leftNumber = parseNumber(left);
+			Double rightNumber = leftNumber == null ? null : parseNumber(right);
+			if(myOperator != Operator.EQ && myOperator != Operator.NE)
+			{
+				// relational operators are defined only for numbers
+				if(leftNumber == null || rightNumber == null)
+				{
+					return false;
+				}
+				int compare = Double.compare(leftNumber, rightNumber);
+				switch(myOperator)
+				{
+					case LT:
+						return compare < 0;
+					case GT:
+						return compare > 0;
+					case LE:
+						return compare <= 0;
+					default:
+						return compare >= 0;
+				}
+			}
+
+			boolean equal;
+			if(leftNumber != null && rightNumber != null)
+			{
+				equal = leftNumber.doubleValue() == rightNumber.doubleValue();
+			}
+			else
+			{
+				Boolean leftBoolean = parseBoolean(left);
+				Boolean rightBoolean = leftBoolean == null ? null : parseBoolean(right);
+				equal = rightBoolean != null ? leftBoolean.equals(rightBoolean) : left.equalsIgnoreCase(right);
+			}
+			return myOperator == Operator.EQ ? equal : !equal;
+		}
+
+		@Override
+		public void collectPropertyValues(@NotNull Map<String, Set<String>> values)
+		{
+			if(myOperator != Operator.EQ && myOperator != Operator.NE)
+			{
+				return;
+			}
+
+			if(myLeft instanceof Text && myRight instanceof Text)
+			{
+				Text left = (Text) myLeft;
+				Text right = (Text) myRight;
+				if(right.isConstant())
+				{
+					left.matchConstant(right.myParts[0], values);
+				}
+				else if(left.isConstant())
+				{
+					right.matchConstant(left.myParts[0], values);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Operand in boolean context, like {@code '$(Optimize)'} or {@code Exists('file')}
+	 */
+	static class BooleanOperand extends MSBuildCondition
+	{
+		private final Operand myOperand;
+
+		BooleanOperand(Operand operand)
+		{
+			myOperand = operand;
+		}
+
+		@Override
+		public boolean evaluate(@NotNull Function<String, String> properties)
+		{
+			return parseBoolean(myOperand.evaluate(properties)) == Boolean.TRUE;
+		}
+	}
+
+	static abstract class Operand
+	{
+		@NotNull
+		abstract String evaluate(@NotNull Function<String, String> properties);
+	}
+
+	/**
+	 * Quoted or unquoted text. Parts with even index are literals, parts with odd index are property names
+	 */
+	static class Text extends Operand
+	{
+		private final String[] myParts;
+
+		Text(String[] parts)
+		{
+			myParts = parts;
+		}
+
+		boolean isConstant()
+		{
+			return myParts.length == 1;
+		}
+
+		@NotNull
+		@Override
+		String evaluate(@NotNull Function<String, String> properties)
+		{
+			if(myParts.length == 1)
+			{
+				return myParts[0];
+			}
+
+			StringBuilder builder = new StringBuilder();
+			for(int i = 0; i < myParts.length; i++)
+			{
+				if(i % 2 == 0)
+				{
+					builder.append(myParts[i]);
+				}
+				else
+				{
+					String value = properties.apply(myParts[i]);
+					if(value != null)
+					{
+						builder.append(value);
+					}
+				}
+			}
+			return builder.toString();
+		}
+
+		/**
+		 * Splits constant by literal parts, and assigns pieces to properties between them
+		 */
+		private void matchConstant(@NotNull String constant, @NotNull Map<String, Set<String>> values)
+		{
+			if(!startsWithIgnoreCase(constant, 0, myParts[0]))
+			{
+				return;
+			}
+
+			String[] propertyValues = new String[myParts.length];
+			int offset = myParts[0].length();
+			for(int i = 1; i < myParts.length; i += 2)
+			{
+				String separator = myParts[i + 1];
+				int end;
+				if(i + 2 >= myParts.length)
+				{
+					// last property takes all up to suffix
+					end = constant.length() - separator.length();
+					if(end < offset || !startsWithIgnoreCase(constant, end, separator))
+					{
+						return;
+					}
+				}
+				else
+				{
+					if(separator.isEmpty())
+					{
+						// '$(A)$(B)' cannot be split
+						return;
+					}
+					end = indexOfIgnoreCase(constant, separator, offset);
+					if(end < 0)
+					{
+						return;
+					}
+				}
+				propertyValues[i] = constant.substring(offset, end);
+				offset = end + separator.length();
+			}
+
+			for(int i = 1; i < myParts.length; i += 2)
+			{
+				values.computeIfAbsent(myParts[i], name -> new LinkedHashSet<String>()).add(propertyValues[i]);
+			}
+		}
+	}
+
+	static class Exists extends Operand
+	{
+		private final Operand myPath;
+
+		Exists(Operand path)
+		{
+			myPath = path;
+		}
+
+		@NotNull
+		@Override
+		String evaluate(@NotNull Function<String, String> properties)
+		{
+			String path = myPath.evaluate(properties).trim();
+			if(path.isEmpty())
+			{
+				return "false";
+			}
+
+			File file = new File(path.replace('\\', File.separatorChar));
+			if(!file.isAbsolute())
+			{
+				// relative paths are relative to project
+				String projectDirectory = properties.apply("MSBuildProjectDirectory");
+				if(projectDirectory != null)
+				{
+					file = new File(projectDirectory, file.getPath());
+				}
+			}
+			return String.valueOf(file.exists());
+		}
+	}
+
+	static class HasTrailingSlash extends Operand
+	{
+		private final Operand myPath;
+
+		HasTrailingSlash(Operand path)
+		{
+			myPath = path;
+		}
+
+		@NotNull
+		@Override
+		String evaluate(@NotNull Function<String, String> properties)
+		{
+			String path = myPath.evaluate(properties);
+			return String.valueOf(path.endsWith("/") || path.endsWith("\\"));
+		}
+	}
+
+	@Nullable
+	static Double parseNumber(@NotNull String value)
+	{
+		String text = value.trim();
+		if(text.isEmpty())
+		{
+			return null;
+		}
+
+		try
+		{
+			if(text.length() > 2 && text.charAt(0) == '0' && (text.charAt(1) == 'x' || text.charAt(1) == 'X'))
+			{
+				return (double) Long.parseLong(text.substring(2), 16);
+			}
+
+			char first = text.charAt(0);
+			// Double.parseDouble accepts 'NaN', 'Infinity' and type suffixes
+			boolean numberStart = Character.isDigit(first) || first == '-' || first == '+' || first == '.';
+			if(!numberStart || !Character.isDigit(text.charAt(text.length() - 1)))
+			{
+				return null;
+			}
+			return Double.parseDouble(text);
+		}
+		catch(NumberFormatException e)
+		{
+			return null;
+		}
+	}
+
+	@Nullable
+	static Boolean parseBoolean(@NotNull String value)
+	{
+		String text = value.trim();
+		boolean negate = text.startsWith("!");
+		if(negate)
+		{
+			text = text.substring(1);
+		}
+
+		Boolean result;
+		if(text.equalsIgnoreCase("true") || text.equalsIgnoreCase("on") || text.equalsIgnoreCase("yes"))
+		{
+			result = Boolean.TRUE;
+		}
+		else if(text.equalsIgnoreCase("false") || text.equalsIgnoreCase("off") || text.equalsIgnoreCase("no"))
+		{
+			result = Boolean.FALSE;
+		}
+		else
+		{
+			return null;
+		}
+		return negate ? !result : result;
+	}
+
+	private static boolean startsWithIgnoreCase(String text, int offset, String prefix)
+	{
+		return text.regionMatches(true, offset, prefix, 0, prefix.length());
+	}
+
+	private static int indexOfIgnoreCase(String text, String part, int fromIndex)
+	{
+		for(int i = fromIndex; i <= text.length() - part.length(); i++)
+		{
+			if(text.regionMatches(true, i, part, 0, part.length()))
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+}
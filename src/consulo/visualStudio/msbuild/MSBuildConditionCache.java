@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.msbuild;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.diagnostic.Logger;
+
+/**
+ * Compiled conditions by text. Projects of one solution usually have the same conditions, each distinct condition is parsed once
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildConditionCache
+{
+	private static final Logger LOGGER = Logger.getInstance(MSBuildConditionCache.class);
+
+	private static final int MAX_SIZE = 4096;
+
+	// invalid conditions fail build in MSBuild, import treats them as false
+	private static final MSBuildCondition INVALID = new MSBuildCondition()
+	{
+		@Override
+		public boolean evaluate(@NotNull Function<String, String> properties)
+		{
+			return false;
+		}
+	};
+
+	private static class Holder
+	{
+		private static final MSBuildConditionCache INSTANCE = new MSBuildConditionCache();
+	}
+
+	@NotNull
+	public static MSBuildConditionCache getInstance()
+	{
+		return Holder.INSTANCE;
+	}
+
+	private final ConcurrentMap<String, MSBuildCondition> myConditions = new ConcurrentHashMap<String, MSBuildCondition>();
+
+	/**
+	 * @return {@link MSBuildCondition#TRUE} for null or empty condition
+	 */
+	@NotNull
+	public MSBuildCondition compile(@Nullable String text)
+	{
+		if(text == null || text.trim().isEmpty())
+		{
+			return MSBuildCondition.TRUE;
+		}
+
+		MSBuildCondition condition = myConditions.get(text);
+		if(condition != null)
+		{
+			return condition;
+		}
+
+		try
+		{
+			condition = MSBuildConditionParser.parse(text);
+		}
+		catch(IllegalArgumentException e)
+		{
+			LOGGER.warn(e.getMessage());
+			condition = INVALID;
+		}
+
+		// conditions are cheap to parse again, cache is dropped instead of tracking usage
+		if(myConditions.size() >= MAX_SIZE)
+		{
+			myConditions.clear();
+		}
+		MSBuildCondition old = myConditions.putIfAbsent(text, condition);
+		return old == null ? condition : old;
+	}
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.msbuild;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Recursive descent parser of MSBuild conditions. Supported: {@code and}, {@code or}, {@code !}, comparison operators, parentheses,
+ * quoted strings with {@code $(Property)} references, unquoted properties, numbers and booleans, {@code Exists()} and
+ * {@code HasTrailingSlash()} functions
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+class MSBuildConditionParser
+{
+	private final String myText;
+	private int myOffset;
+
+	private MSBuildConditionParser(@NotNull String text)
+	{
+		myText = text;
+	}
+
+	/**
+	 * @throws IllegalArgumentException if condition is not valid
+	 */
+	@NotNull
+	static MSBuildCondition parse(@NotNull String text)
+	{
+		MSBuildConditionParser parser = new MSBuildConditionParser(text);
+		MSBuildCondition condition = parser.parseOr();
+		parser.skipWhitespaces();
+		if(parser.myOffset != text.length())
+		{
+			throw parser.error("Unexpected '" + text.charAt(parser.myOffset) + "'");
+		}
+		return condition;
+	}
+
+	private MSBuildCondition parseOr()
+	{
+		MSBuildCondition condition = parseAnd();
+		while(consumeKeyword("or"))
+		{
+			condition = new MSBuildCondition.Or(condition, parseAnd());
+		}
+		return condition;
+	}
+
+	private MSBuildCondition parseAnd()
+	{
+		MSBuildCondition condition = parseNot();
+		while(consumeKeyword("and"))
+		{
+			condition = new MSBuildCondition.And(condition, parseNot());
+		}
+		return condition;
+	}
+
+	private MSBuildCondition parseNot()
+	{
+		skipWhitespaces();
+		if(peek() == '!' && peek(1) != '=')
+		{
+			myOffset++;
+			return new MSBuildCondition.Not(parseNot());
+		}
+		return parseComparison();
+	}
+
+	private MSBuildCondition parseComparison()
+	{
+		skipWhitespaces();
+		if(peek() == '(')
+		{
+			myOffset++;
+			MSBuildCondition condition = parseOr();
+			expect(')');
+			return condition;
+		}
+
+		MSBuildCondition.Operand left = parseOperand();
+		MSBuildCondition.Operator operator = parseOperator();
+		if(operator == null)
+		{
+			return new MSBuildCondition.BooleanOperand(left);
+		}
+		return new MSBuildCondition.Comparison(left, operator, parseOperand());
+	}
+
+	private MSBuildCondition.Operator parseOperator()
+	{
+		skipWhitespaces();
+		char c = peek();
+		char next = peek(1);
+		if(c == '=' && next == '=')
+		{
+			myOffset += 2;
+			return MSBuildCondition.Operator.EQ;
+		}
+		if(c == '!' && next == '=')
+		{
+			myOffset += 2;
+			return MSBuildCondition.Operator.NE;
+		}
+		if(c == '<' || c == '>')
+		{
+			boolean orEqual = next == '=';
+			myOffset += orEqual ? 2 : 1;
+			if(c == '<')
+			{
+				return orEqual ? MSBuildCondition.Operator.LE : MSBuildCondition.Operator.LT;
+			}
+			return orEqual ? MSBuildCondition.Operator.GE : MSBuildCondition.Operator.GT;
+		}
+		return null;
+	}
+
+	private MSBuildCondition.Operand parseOperand()
+	{
+		skipWhitespaces();
+		char c = peek();
+		if(c == '\'')
+		{
+			myOffset++;
+			int end = myText.indexOf('\'', myOffset);
+			if(end < 0)
+			{
+				throw error("Unclosed string");
+			}
+			MSBuildCondition.Operand operand = parseText(myText.substring(myOffset, end));
+			myOffset = end + 1;
+			return operand;
+		}
+
+		if(c == '$' && peek(1) == '(')
+		{
+			int end = MSBuildPropertyTemplate.findPropertyEnd(myText, myOffset + 2);
+			if(end < 0)
+			{
+				throw error("Unclosed property reference");
+			}
+			MSBuildCondition.Operand operand = parseText(myText.substring(myOffset, end + 1));
+			myOffset = end + 1;
+			return operand;
+		}
+
+		int start = myOffset;
+		while(myOffset < myText.length() && isWordChar(myText.charAt(myOffset)))
+		{
+			myOffset++;
+		}
+		if(start == myOffset)
+		{
+			throw error(c == 0 ? "Unexpected end of condition" : "Unexpected '" + c + "'");
+		}
+		String word = myText.substring(start, myOffset);
+
+		skipWhitespaces();
+		if(peek() != '(')
+		{
+			return new MSBuildCondition.Text(new String[]{word});
+		}
+
+		myOffset++;
+		MSBuildCondition.Operand argument = parseOperand();
+		expect(')');
+		if(word.equalsIgnoreCase("Exists"))
+		{
+			return new MSBuildCondition.Exists(argument);
+		}
+		if(word.equalsIgnoreCase("HasTrailingSlash"))
+		{
+			return new MSBuildCondition.HasTrailingSlash(argument);
+		}
+		throw error("Unknown function '" + word + "'");
+	}
+
+	@NotNull
+	private MSBuildCondition.Text parseText(@NotNull String text)
+	{
+		String[] parts = MSBuildPropertyTemplate.parse(text);
+		if(parts == null)
+		{
+			throw error("Unclosed property reference");
+		}
+		return new MSBuildCondition.Text(parts);
+	}
+
+	private boolean consumeKeyword(@NotNull String keyword)
+	{
+		skipWhitespaces();
+		int end = myOffset + keyword.length();
+		boolean wordEnd = end >= myText.length() || !isWordChar(myText.charAt(end));
+		if(wordEnd && myText.regionMatches(true, myOffset, keyword, 0, keyword.length()))
+		{
+			myOffset = end;
+			return true;
+		}
+		return false;
+	}
+
+	private void expect(char c)
+	{
+		skipWhitespaces();
+		if(peek() != c)
+		{
+			throw error("Expected '" + c + "'");
+		}
+		myOffset++;
+	}
+
+	private void skipWhitespaces()
+	{
+		while(myOffset < myText.length() && Character.isWhitespace(myText.charAt(myOffset)))
+		{
+			myOffset++;
+		}
+	}
+
+	private char peek()
+	{
+		return peek(0);
+	}
+
+	private char peek(int delta)
+	{
+		int index = myOffset + delta;
+		return index < myText.length() ? myText.charAt(index) : 0;
+	}
+
+	private static boolean isWordChar(char c)
+	{
+		return Character.isLetterOrDigit(c) || c == '_' || c == '.' || c == '-' || c == '+';
+	}
+
+	@NotNull
+	private IllegalArgumentException error(@NotNull String message)
+	{
+		return new IllegalArgumentException(message + " at " + myOffset + " in condition: " + myText);
+	}
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.msbuild;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.diagnostic.Logger;
+
+/**
+ * Walks directory trees for wildcard items. Directory listings are cached, projects with overlapping directories (for example shared
+ * source folder, or nested projects) list each directory only once. Subdirectories are visited in parallel.
+ * <p/>
+ * Cache is not invalidated, instance lives while one import is running
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildDirectoryWalker
+{
+	private static final Logger LOGGER = Logger.getInstance(MSBuildDirectoryWalker.class);
+
+	private static final Path[] EMPTY_PATHS = new Path[0];
+
+	private static class Listing
+	{
+		private final Path[] myFiles;
+		private final Path[] myDirectories;
+		// symbolic links to directories
+		private final Path[] myDirectoryLinks;
+
+		private Listing(Path[] files, Path[] directories, Path[] directoryLinks)
+		{
+			myFiles = files;
+			myDirectories = directories;
+			myDirectoryLinks = directoryLinks;
+		}
+	}
+
+	private static final Listing EMPTY_LISTING = new Listing(EMPTY_PATHS, EMPTY_PATHS, EMPTY_PATHS);
+
+	/**
+	 * Real paths of directories where links were followed, from walked directory to root
+	 */
+	private static class LinkChain
+	{
+		private final Path myRealPath;
+		private final LinkChain myParent;
+
+		private LinkChain(Path realPath, LinkChain parent)
+		{
+			myRealPath = realPath;
+			myParent = parent;
+		}
+	}
+
+	private class WalkAction extends RecursiveAction
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final Path myRoot;
+		private final Path myDirectory;
+		private final Predicate<Path> myPruneDirectory;
+		private final Consumer<Path> myFileConsumer;
+		@Nullable
+		private final LinkChain myLinkChain;
+
+		private WalkAction(Path root,
+				Path directory,
+				Predicate<Path> pruneDirectory,
+				Consumer<Path> fileConsumer,
+				@Nullable LinkChain linkChain)
+		{
+			myRoot = root;
+			myDirectory = directory;
+			myPruneDirectory = pruneDirectory;
+			myFileConsumer = fileConsumer;
+			myLinkChain = linkChain;
+		}
+
+		@Override
+		protected void compute()
+		{
+			Listing listing = list(myDirectory);
+			for(Path file : listing.myFiles)
+			{
+				myFileConsumer.accept(file);
+			}
+
+			List<WalkAction> actions = new ArrayList<WalkAction>(listing.myDirectories.length + listing.myDirectoryLinks.length);
+			for(Path directory : listing.myDirectories)
+			{
+				if(!myPruneDirectory.test(myRoot.relativize(directory)))
+				{
+					actions.add(new WalkAction(myRoot, directory, myPruneDirectory, myFileConsumer, myLinkChain));
+				}
+			}
+
+			if(listing.myDirectoryLinks.length != 0)
+			{
+				addLinkActions(listing.myDirectoryLinks, actions);
+			}
+			invokeAll(actions);
+		}
+
+		private void addLinkActions(Path[] links, List<WalkAction> actions)
+		{
+			Path realDirectory;
+			try
+			{
+				realDirectory = myDirectory.toRealPath();
+			}
+			catch(IOException e)
+			{
+				LOGGER.warn("Failed to resolve " + myDirectory, e);
+				return;
+			}
+
+			LinkChain linkChain = new LinkChain(realDirectory, myLinkChain);
+			for(Path link : links)
+			{
+				if(myPruneDirectory.test(myRoot.relativize(link)))
+				{
+					continue;
+				}
+
+				// link to directory which is already walked would never end
+				try
+				{
+					if(!isCycle(link.toRealPath(), linkChain))
+					{
+						actions.add(new WalkAction(myRoot, link, myPruneDirectory, myFileConsumer, linkChain));
+					}
+				}
+				catch(IOException e)
+				{
+					LOGGER.warn("Failed to resolve " + link, e);
+				}
+			}
+		}
+	}
+
+	private final ConcurrentMap<Path, Listing> myListings = new ConcurrentHashMap<Path, Listing>();
+
+	/**
+	 * Reports all files under root directory. Consumer is called from several threads
+	 *
+	 * @param pruneDirectory receives directory path relative to root, returns true if directory must not be visited
+	 */
+	public void walk(@NotNull Path root, @NotNull Predicate<Path> pruneDirectory, @NotNull Consumer<Path> fileConsumer)
+	{
+		new WalkAction(root, root, pruneDirectory, fileConsumer, null).invoke();
+	}
+
+	private static boolean isCycle(@NotNull Path realTarget, @NotNull LinkChain linkChain)
+	{
+		for(LinkChain current = linkChain; current != null; current = current.myParent)
+		{
+			// walked directories are the chain entries and their parents
+			if(current.myRealPath.startsWith(realTarget))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@NotNull
+	private Listing list(@NotNull Path directory)
+	{
+		Listing listing = myListings.get(directory);
+		if(listing != null)
+		{
+			return listing;
+		}
+
+		listing = EMPTY_LISTING;
+		if(Files.isDirectory(directory))
+		{
+			List<Path> files = new ArrayList<Path>();
+			List<Path> directories = new ArrayList<Path>();
+			List<Path> directoryLinks = new ArrayList<Path>(0);
+			try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory))
+			{
+				for(Path child : stream)
+				{
+					BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+					if(attributes.isDirectory())
+					{
+						directories.add(child);
+					}
+					else if(attributes.isRegularFile())
+					{
+						files.add(child);
+					}
+					else if(attributes.isSymbolicLink())
+					{
+						// links to files are reported as files, links to directories are walked if they do not make cycle
+						if(Files.isDirectory(child))
+						{
+							directoryLinks.add(child);
+						}
+						else if(Files.isRegularFile(child))
+						{
+							files.add(child);
+						}
+					}
+				}
+				listing = new Listing(toArray(files), toArray(directories), toArray(directoryLinks));
+			}
+			catch(IOException e)
+			{
+				LOGGER.warn("Failed to list " + directory, e);
+			}
+		}
+
+		Listing old = myListings.putIfAbsent(directory, listing);
+		return old == null ? listing : old;
+	}
+
+	@NotNull
+	private static Path[] toArray(@NotNull List<Path> paths)
+	{
+		return paths.isEmpty() ? EMPTY_PATHS : paths.toArray(new Path[paths.size()]);
+	}
+}
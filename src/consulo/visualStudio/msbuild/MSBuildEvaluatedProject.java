@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.msbuild;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Result of project evaluation: properties and item groups of project and of imported files, in order of MSBuild
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildEvaluatedProject
+{
+	private final MSBuildPropertyScope myScope;
+	private final List<MSBuildItemGroupData> myItemGroups;
+	// scopes of item groups from imported files, they define MSBuildThisFile properties of imported file
+	private final Map<MSBuildItemGroupData, MSBuildPropertyScope> myImportedItemGroupScopes;
+	private final List<File> myImportedFiles;
+
+	MSBuildEvaluatedProject(@NotNull MSBuildPropertyScope scope,
+			@NotNull List<MSBuildItemGroupData> itemGroups,
+			@NotNull Map<MSBuildItemGroupData, MSBuildPropertyScope> importedItemGroupScopes,
+			@NotNull List<File> importedFiles)
+	{
+		myScope = scope;
+		myItemGroups = Collections.unmodifiableList(new ArrayList<MSBuildItemGroupData>(itemGroups));
+		myImportedItemGroupScopes = importedItemGroupScopes;
+		myImportedFiles = Collections.unmodifiableList(new ArrayList<File>(importedFiles));
+	}
+
+	/**
+	 * @return final properties of project
+	 */
+	@NotNull
+	public MSBuildPropertyScope getScope()
+	{
+		return myScope;
+	}
+
+	/**
+	 * @return item groups of project and imported files. Conditions are not checked
+	 */
+	@NotNull
+	public List<MSBuildItemGroupData> getItemGroups()
+	{
+		return myItemGroups;
+	}
+
+	/**
+	 * @return files which were imported by project, directly or by other imported files
+	 */
+	@NotNull
+	public List<File> getImportedFiles()
+	{
+		return myImportedFiles;
+	}
+
+	/**
+	 * @return scope for conditions and expansion of item group
+	 */
+	@NotNull
+	public MSBuildPropertyScope getScope(@NotNull MSBuildItemGroupData itemGroup)
+	{
+		MSBuildPropertyScope scope = myImportedItemGroupScopes.get(itemGroup);
+		return scope == null ? myScope : scope;
+	}
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.msbuild;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.util.SystemInfo;
+
+/**
+ * Compiled MSBuild item pattern, like {@code src\**\*.cs}. Pattern is split to literal base directory, and wildcard segments which are
+ * matched against path relative to base directory. {@code **} matches any count of directories, {@code *} and {@code ?} match inside
+ * one segment. Instances do not depend on project, and are shared
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildGlobPattern
+{
+	private static abstract class Segment
+	{
+		abstract boolean matches(@NotNull String name);
+	}
+
+	private static class LiteralSegment extends Segment
+	{
+		private final String myName;
+
+		private LiteralSegment(String name)
+		{
+			myName = name;
+		}
+
+		@Override
+		boolean matches(@NotNull String name)
+		{
+			return SystemInfo.isFileSystemCaseSensitive ? myName.equals(name) : myName.equalsIgnoreCase(name);
+		}
+	}
+
+	private static class WildcardSegment extends Segment
+	{
+		private final Pattern myPattern;
+
+		private WildcardSegment(String segment)
+		{
+			StringBuilder regex = new StringBuilder();
+			int literalStart = 0;
+			for(int i = 0; i < segment.length(); i++)
+			{
+				char c = segment.charAt(i);
+				if(c == '*' || c == '?')
+				{
+					if(literalStart < i)
+					{
+						regex.append(Pattern.quote(segment.substring(literalStart, i)));
+					}
+					regex.append(c == '*' ? ".*" : ".");
+					literalStart = i + 1;
+				}
+			}
+			if(literalStart < segment.length())
+			{
+				regex.append(Pattern.quote(segment.substring(literalStart)));
+			}
+
+			int flags = Pattern.DOTALL;
+			if(!SystemInfo.isFileSystemCaseSensitive)
+			{
+				flags |= Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE;
+			}
+			myPattern = Pattern.compile(regex.toString(), flags);
+		}
+
+		@Override
+		boolean matches(@NotNull String name)
+		{
+			return myPattern.matcher(name).matches();
+		}
+	}
+
+	// marks '**'
+	private static final Segment ANY_DIRECTORIES = null;
+
+	private final String myText;
+	private final String myBaseDirectory;
+	private final Segment[] mySegments;
+
+	private MSBuildGlobPattern(@NotNull String text, @NotNull String baseDirectory, @NotNull Segment[] segments)
+	{
+		myText = text;
+		myBaseDirectory = baseDirectory;
+		mySegments = segments;
+	}
+
+	public static boolean isWildcard(@NotNull String value)
+	{
+		return value.indexOf('*') >= 0 || value.indexOf('?') >= 0;
+	}
+
+	/**
+	 * @param pattern single pattern, without ';' separators
+	 */
+	@NotNull
+	public static MSBuildGlobPattern compile(@NotNull String pattern)
+	{
+		String[] parts = pattern.replace('\\', '/').split("/");
+
+		StringBuilder baseDirectory = new StringBuilder();
+		int index = 0;
+		// last part is file name, it is part of base directory only for literal pattern. Absolute path starts with empty part
+		for(; index < parts.length - 1 && !isWildcard(parts[index]); index++)
+		{
+			if(index > 0)
+			{
+				baseDirectory.append('/');
+			}
+			baseDirectory.append(parts[index]);
+		}
+
+		List<Segment> segments = new ArrayList<Segment>(parts.length - index);
+		for(; index < parts.length; index++)
+		{
+			String part = parts[index];
+			if(part.isEmpty())
+			{
+				continue;
+			}
+
+			if(part.equals("**"))
+			{
+				// '**/**' is same as '**'
+				if(segments.isEmpty() || segments.get(segments.size() - 1) != ANY_DIRECTORIES)
+				{
+					segments.add(ANY_DIRECTORIES);
+				}
+			}
+			else if(isWildcard(part))
+			{
+				segments.add(new WildcardSegment(part));
+			}
+			else
+			{
+				segments.add(new LiteralSegment(part));
+			}
+		}
+		return new MSBuildGlobPattern(pattern, baseDirectory.toString(), segments.toArray(new Segment[segments.size()]));
+	}
+
+	/**
+	 * @return base directory relative to project directory (or absolute), with '/' separators. Empty for project directory
+	 */
+	@NotNull
+	public String getBaseDirectory()
+	{
+		return myBaseDirectory;
+	}
+
+	@NotNull
+	public Path resolveBaseDirectory(@NotNull Path projectDirectory)
+	{
+		return myBaseDirectory.isEmpty() ? projectDirectory : projectDirectory.resolve(myBaseDirectory).normalize();
+	}
+
+	/**
+	 * @param relativePath path relative to base directory
+	 */
+	public boolean matches(@NotNull Path relativePath)
+	{
+		return matches(relativePath, 0, relativePath.getNameCount(), 0, mySegments.length);
+	}
+
+	/**
+	 * @param relativeDirectory path relative to base directory, empty for base directory itself
+	 * @return true if all files under directory match pattern, like for {@code obj\**}. Such directories are not visited by walker
+	 */
+	public boolean matchesWholeDirectory(@NotNull Path relativeDirectory)
+	{
+		int segmentCount = mySegments.length;
+		// 'dir/**' or 'dir/**/*'
+		if(segmentCount > 0 && mySegments[segmentCount - 1] == ANY_DIRECTORIES)
+		{
+			return matchesAncestor(relativeDirectory, segmentCount - 1);
+		}
+		if(segmentCount > 1 && mySegments[segmentCount - 2] == ANY_DIRECTORIES && isAnyName(mySegments[segmentCount - 1]))
+		{
+			return matchesAncestor(relativeDirectory, segmentCount - 2);
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if directory or one of its parents matches segments before {@code segmentEnd}
+	 */
+	private boolean matchesAncestor(@NotNull Path relativeDirectory, int segmentEnd)
+	{
+		// empty path has one empty name
+		int nameCount = relativeDirectory.toString().isEmpty() ? 0 : relativeDirectory.getNameCount();
+		for(int pathEnd = 0; pathEnd <= nameCount; pathEnd++)
+		{
+			if(matches(relativeDirectory, 0, pathEnd, 0, segmentEnd))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isAnyName(@Nullable Segment segment)
+	{
+		return segment instanceof WildcardSegment && ((WildcardSegment) segment).myPattern.pattern().equals(".*");
+	}
+
+	private boolean matches(Path path, int pathIndex, int pathEnd, int segmentIndex, int segmentEnd)
+	{
+		while(segmentIndex < segmentEnd)
+		{
+			Segment segment = mySegments[segmentIndex];
+			if(segment == ANY_DIRECTORIES)
+			{
+				if(segmentIndex == segmentEnd - 1)
+				{
+					return true;
+				}
+				for(int i = pathIndex; i <= pathEnd; i++)
+				{
+					if(matches(path, i, pathEnd, segmentIndex + 1, segmentEnd))
+					{
+						return true;
+					}
+				}
+				return false;
+			}
+
+			if(pathIndex >= pathEnd || !segment.matches(path.getName(pathIndex).toString()))
+			{
+				return false;
+			}
+			pathIndex++;
+			segmentIndex++;
+		}
+		return pathIndex == pathEnd;
+	}
+
+	@Override
+	public String toString()
+	{
+		return myText;
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.msbuild;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.util.SystemInfo;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+import consulo.visualStudio.util.VisualStudioImportStatistics;
+
+/**
+ * Imported files of one import session, like {@code Directory.Build.props} or shared {@code .props} and {@code .targets} files. Each
+ * file is read once by canonical path, no matter how many projects import it. Parsed data does not depend on evaluation context,
+ * properties are evaluated per project by {@link MSBuildPropertyScope#evaluate}
+ * <p/>
+ * Lookups of {@code Directory.Build.props} are cached per directory, projects of one directory tree share them
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildImportCache
+{
+	private static final Logger LOGGER = Logger.getInstance(MSBuildImportCache.class);
+
+	private final MSBuildItemExpander myItemExpander;
+	private final VisualStudioImportStatistics myStatistics;
+
+	// absolute path -> canonical path
+	private final ConcurrentMap<String, String> myCanonicalPaths = new ConcurrentHashMap<String, String>();
+	// canonical path -> parsed file, empty if file cannot be read
+	private final ConcurrentMap<String, Optional<MSBuildProjectData>> myFiles = new ConcurrentHashMap<String,
+			Optional<MSBuildProjectData>>();
+	// file name + directory -> nearest file in directory or its parents
+	private final ConcurrentMap<String, Optional<File>> myFilesAbove = new ConcurrentHashMap<String, Optional<File>>();
+
+	/**
+	 * @param statistics receives loading of imported files
+	 */
+	public MSBuildImportCache(@NotNull MSBuildItemExpander itemExpander, @Nullable VisualStudioImportStatistics statistics)
+	{
+		myItemExpander = itemExpander;
+		myStatistics = statistics;
+	}
+
+	/**
+	 * @return null if file does not exist or cannot be read
+	 */
+	@Nullable
+	public MSBuildProjectData load(@NotNull File file)
+	{
+		String path = getCanonicalPath(file);
+		Optional<MSBuildProjectData> result = myFiles.get(path);
+		if(result == null)
+		{
+			// file is read outside of map, so other files are not blocked. Threads which import it at same time read it too,
+			// first result is kept
+			result = read(new File(path));
+			Optional<MSBuildProjectData> previous = myFiles.putIfAbsent(path, result);
+			if(previous != null)
+			{
+				result = previous;
+			}
+		}
+		return result.orElse(null);
+	}
+
+	@NotNull
+	private Optional<MSBuildProjectData> read(@NotNull File file)
+	{
+		if(!file.isFile())
+		{
+			return Optional.empty();
+		}
+
+		try
+		{
+			return Optional.of(MSBuildProjectCache.getInstance().load(file, myStatistics));
+		}
+		catch(ProcessCanceledException e)
+		{
+			throw e;
+		}
+		catch(IOException | RuntimeException e)
+		{
+			LOGGER.warn("Failed to load import " + file.getPath(), e);
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * @return nearest file with given name in directory or its parents, like {@code GetDirectoryNameOfFileAbove()} of MSBuild
+	 */
+	@Nullable
+	public File findFileAbove(@NotNull File directory, @NotNull String fileName)
+	{
+		File absoluteDirectory = directory.getAbsoluteFile();
+		String key = fileName + File.pathSeparator + absoluteDirectory.getPath();
+
+		Optional<File> result = myFilesAbove.get(key);
+		if(result == null)
+		{
+			File file = new File(absoluteDirectory, fileName);
+			if(file.isFile())
+			{
+				result = Optional.of(file);
+			}
+			else
+			{
+				File parent = absoluteDirectory.getParentFile();
+				result = Optional.ofNullable(parent == null ? null : findFileAbove(parent, fileName));
+			}
+			myFilesAbove.putIfAbsent(key, result);
+		}
+		return result.orElse(null);
+	}
+
+	/**
+	 * @param path expanded value of {@code Project} attribute, can contain wildcards
+	 * @return existing files in order of MSBuild
+	 */
+	@NotNull
+	Set<Path> resolve(@NotNull File importingFile, @NotNull String path)
+	{
+		Path directory = importingFile.getAbsoluteFile().getParentFile().toPath();
+		Set<Path> files = myItemExpander.expand(directory, path, null);
+		// literal paths are returned even if file does not exist
+		files.removeIf(file -> !file.toFile().isFile());
+		return files;
+	}
+
+	/**
+	 * @return key which is equal for all paths of file, imports are checked for duplicates by it
+	 */
+	@NotNull
+	String getCanonicalPath(@NotNull File file)
+	{
+		return myCanonicalPaths.computeIfAbsent(file.getAbsolutePath(), path ->
+		{
+			String canonicalPath;
+			try
+			{
+				canonicalPath = new File(path).getCanonicalPath();
+			}
+			catch(IOException e)
+			{
+				canonicalPath = FileUtil.toCanonicalPath(path);
+			}
+			return SystemInfo.isFileSystemCaseSensitive ? canonicalPath : StringUtil.toLowerCase(canonicalPath);
+		});
+	}
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.msbuild;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * View of {@code <Import Project="..."/>} record of {@link MSBuildProjectData}. Position of import is stored as count of property and
+ * item groups before it
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildImportData
+{
+	private final MSBuildProjectData myData;
+	private final int myIndex;
+
+	MSBuildImportData(@NotNull MSBuildProjectData data, int index)
+	{
+		myData = data;
+		myIndex = index;
+	}
+
+	/**
+	 * @return path of imported file, not expanded. Can contain wildcards
+	 */
+	@NotNull
+	public String getProject()
+	{
+		return myData.getString(getField(0));
+	}
+
+	@Nullable
+	public String getCondition()
+	{
+		return myData.getString(getField(1));
+	}
+
+	/**
+	 * @return condition of enclosing {@code ImportGroup}
+	 */
+	@Nullable
+	public String getGroupCondition()
+	{
+		return myData.getString(getField(2));
+	}
+
+	/**
+	 * @return count of property groups before import
+	 */
+	public int getPropertyGroupIndex()
+	{
+		return getField(3);
+	}
+
+	/**
+	 * @return count of item groups before import
+	 */
+	public int getItemGroupIndex()
+	{
+		return getField(4);
+	}
+
+	private int getField(int field)
+	{
+		return myData.myImports[myIndex * MSBuildProjectData.IMPORT_SIZE + field];
+	}
+}
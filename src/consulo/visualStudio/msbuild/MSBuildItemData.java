@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.msbuild;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * View of item record of {@link MSBuildProjectData}, like {@code <Compile Include="Foo.cs"/>}
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildItemData
+{
+	private final MSBuildProjectData myData;
+	private final int myIndex;
+
+	MSBuildItemData(@NotNull MSBuildProjectData data, int index)
+	{
+		myData = data;
+		myIndex = index;
+	}
+
+	@NotNull
+	public String getType()
+	{
+		return getField(0);
+	}
+
+	/**
+	 * Cheaper than comparing {@link #getType()}, type is not decoded
+	 */
+	public boolean isType(@NotNull String type)
+	{
+		return myData.isString(myData.myItems[myIndex * MSBuildProjectData.ITEM_SIZE], type, false);
+	}
+
+	@Nullable
+	public String getInclude()
+	{
+		return getField(1);
+	}
+
+	@Nullable
+	public String getExclude()
+	{
+		return getField(2);
+	}
+
+	@Nullable
+	public String getRemove()
+	{
+		return getField(3);
+	}
+
+	@Nullable
+	public String getCondition()
+	{
+		return getField(4);
+	}
+
+	/**
+	 * @return value of metadata, names are case insensitive like in MSBuild
+	 */
+	@Nullable
+	public String getMetadata(@NotNull String name)
+	{
+		int[] metadata = myData.myMetadata;
+		for(int i = getMetadataStart(); i < getMetadataEnd(); i++)
+		{
+			if(myData.isString(metadata[i * MSBuildProjectData.METADATA_SIZE], name, true))
+			{
+				return myData.getString(metadata[i * MSBuildProjectData.METADATA_SIZE + 1]);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return metadata in order of project file. Map is created on each call, use {@link #getMetadata(String)} for single value
+	 */
+	@NotNull
+	public Map<String, String> getMetadata()
+	{
+		int start = getMetadataStart();
+		int end = getMetadataEnd();
+		if(start == end)
+		{
+			return Collections.emptyMap();
+		}
+
+		int[] metadata = myData.myMetadata;
+		Map<String, String> map = new LinkedHashMap<String, String>(end - start);
+		for(int i = start; i < end; i++)
+		{
+			int record = i * MSBuildProjectData.METADATA_SIZE;
+			map.put(myData.getString(metadata[record]), myData.getString(metadata[record + 1]));
+		}
+		return Collections.unmodifiableMap(map);
+	}
+
+	private int getMetadataStart()
+	{
+		return myData.myItems[myIndex * MSBuildProjectData.ITEM_SIZE + 5];
+	}
+
+	private int getMetadataEnd()
+	{
+		return MSBuildProjectData.getEnd(myData.myItems, MSBuildProjectData.ITEM_SIZE, myIndex, 5,
+				myData.myMetadata.length / MSBuildProjectData.METADATA_SIZE);
+	}
+
+	private String getField(int field)
+	{
+		return myData.getString(myData.myItems[myIndex * MSBuildProjectData.ITEM_SIZE + field]);
+	}
+}
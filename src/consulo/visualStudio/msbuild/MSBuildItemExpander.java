@@ -0,0 +1,246 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.msbuild;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.diagnostic.Logger;
+
+/**
+ * Expands {@code Include} of items to files, with {@code Exclude} of same item and {@code Remove} of later items. Compiled patterns are
+ * cached, directories are listed by shared {@link MSBuildDirectoryWalker}
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildItemExpander
+{
+	private static final Logger LOGGER = Logger.getInstance(MSBuildItemExpander.class);
+
+	/**
+	 * Excludes of default items in SDK-style projects, see {@code DefaultItemExcludes} of Microsoft.NET.Sdk
+	 */
+	public static final String DEFAULT_ITEM_EXCLUDES = "bin/**;obj/**;**/*.user;**/*.*proj;**/*.sln;**/*.vssscc;**/.*/**";
+
+	private static class BoundPattern
+	{
+		private final MSBuildGlobPattern myPattern;
+		private final Path myBaseDirectory;
+
+		private BoundPattern(MSBuildGlobPattern pattern, Path baseDirectory)
+		{
+			myPattern = pattern;
+			myBaseDirectory = baseDirectory;
+		}
+
+		private boolean matches(Path file)
+		{
+			return file.startsWith(myBaseDirectory) && myPattern.matches(myBaseDirectory.relativize(file));
+		}
+
+		private boolean matchesWholeDirectory(Path directory)
+		{
+			return directory.startsWith(myBaseDirectory) && myPattern.matchesWholeDirectory(myBaseDirectory.relativize(directory));
+		}
+	}
+
+	private final MSBuildDirectoryWalker myWalker;
+	private final ConcurrentMap<String, MSBuildGlobPattern> myPatterns = new ConcurrentHashMap<String, MSBuildGlobPattern>();
+
+	public MSBuildItemExpander(@NotNull MSBuildDirectoryWalker walker)
+	{
+		myWalker = walker;
+	}
+
+	/**
+	 * @param include list of paths or patterns separated by ';'. Literal paths are returned even if file does not exist, like MSBuild does
+	 * @param exclude list of paths or patterns separated by ';'
+	 * @return absolute normalized paths, in order of include
+	 */
+	@NotNull
+	public Set<Path> expand(@NotNull Path projectDirectory, @NotNull String include, @Nullable String exclude)
+	{
+		List<BoundPattern> excludes = bind(projectDirectory, exclude);
+
+		Set<Path> result = new LinkedHashSet<Path>();
+		for(String value : split(include))
+		{
+			if(!MSBuildGlobPattern.isWildcard(value))
+			{
+				Path file = resolve(projectDirectory, value);
+				if(file != null && !isExcluded(file, excludes))
+				{
+					result.add(file);
+				}
+				continue;
+			}
+
+			MSBuildGlobPattern pattern = getPattern(value);
+			final Path baseDirectory = resolve(projectDirectory, pattern.getBaseDirectory());
+			if(baseDirectory == null)
+			{
+				continue;
+			}
+
+			final Collection<Path> files = new ConcurrentLinkedQueue<Path>();
+			Predicate<Path> pruneDirectory = relativeDirectory -> isExcludedDirectory(baseDirectory.resolve(relativeDirectory), excludes);
+			myWalker.walk(baseDirectory, pruneDirectory, file ->
+			{
+				if(pattern.matches(baseDirectory.relativize(file)) && !isExcluded(file, excludes))
+				{
+					files.add(file);
+				}
+			});
+
+			// walk is parallel, keep result stable
+			List<Path> sorted = new ArrayList<Path>(files);
+			Collections.sort(sorted);
+			result.addAll(sorted);
+		}
+		return result;
+	}
+
+	/**
+	 * Applies {@code Remove} of item to files which were included before
+	 */
+	public void remove(@NotNull Collection<Path> files, @NotNull Path projectDirectory, @NotNull String remove)
+	{
+		List<BoundPattern> patterns = bind(projectDirectory, remove);
+		if(patterns.isEmpty())
+		{
+			return;
+		}
+
+		for(Iterator<Path> iterator = files.iterator(); iterator.hasNext(); )
+		{
+			if(isExcluded(iterator.next(), patterns))
+			{
+				iterator.remove();
+			}
+		}
+	}
+
+	@NotNull
+	private List<BoundPattern> bind(@NotNull Path projectDirectory, @Nullable String values)
+	{
+		if(values == null)
+		{
+			return Collections.emptyList();
+		}
+
+		List<BoundPattern> patterns = new ArrayList<BoundPattern>();
+		for(String value : split(values))
+		{
+			MSBuildGlobPattern pattern = getPattern(value);
+			Path baseDirectory = resolve(projectDirectory, pattern.getBaseDirectory());
+			if(baseDirectory != null)
+			{
+				patterns.add(new BoundPattern(pattern, baseDirectory));
+			}
+		}
+		return patterns;
+	}
+
+	@NotNull
+	private MSBuildGlobPattern getPattern(@NotNull String value)
+	{
+		MSBuildGlobPattern pattern = myPatterns.get(value);
+		if(pattern == null)
+		{
+			pattern = MSBuildGlobPattern.compile(value);
+			MSBuildGlobPattern old = myPatterns.putIfAbsent(value, pattern);
+			if(old != null)
+			{
+				pattern = old;
+			}
+		}
+		return pattern;
+	}
+
+	private static boolean isExcluded(@NotNull Path file, @NotNull List<BoundPattern> excludes)
+	{
+		for(BoundPattern exclude : excludes)
+		{
+			if(exclude.matches(file))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static boolean isExcludedDirectory(@NotNull Path directory, @NotNull List<BoundPattern> excludes)
+	{
+		for(BoundPattern exclude : excludes)
+		{
+			if(exclude.matchesWholeDirectory(directory))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Nullable
+	private static Path resolve(@NotNull Path projectDirectory, @NotNull String path)
+	{
+		if(path.isEmpty())
+		{
+			return projectDirectory;
+		}
+
+		try
+		{
+			return projectDirectory.resolve(path.replace('\\', '/')).normalize();
+		}
+		catch(InvalidPathException e)
+		{
+			LOGGER.warn("Invalid path '" + path + "' in " + projectDirectory);
+			return null;
+		}
+	}
+
+	@NotNull
+	private static List<String> split(@NotNull String values)
+	{
+		List<String> result = new ArrayList<String>();
+		for(String value : values.split(";"))
+		{
+			value = value.trim();
+			// not evaluated property or item references can not be matched with files
+			if(!value.isEmpty() && !value.contains("$(") && !value.contains("@(") && !value.contains("%("))
+			{
+				result.add(value);
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.msbuild;
+
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * View of item group record of {@link MSBuildProjectData}
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildItemGroupData
+{
+	private final MSBuildProjectData myData;
+	private final int myIndex;
+
+	MSBuildItemGroupData(@NotNull MSBuildProjectData data, int index)
+	{
+		myData = data;
+		myIndex = index;
+	}
+
+	@Nullable
+	public String getCondition()
+	{
+		return myData.getString(myData.myItemGroups[myIndex * MSBuildProjectData.ITEM_GROUP_SIZE]);
+	}
+
+	@NotNull
+	public List<MSBuildItemData> getItems()
+	{
+		final int start = myData.myItemGroups[myIndex * MSBuildProjectData.ITEM_GROUP_SIZE + 1];
+		int end = MSBuildProjectData.getEnd(myData.myItemGroups, MSBuildProjectData.ITEM_GROUP_SIZE, myIndex, 1,
+				myData.myItems.length / MSBuildProjectData.ITEM_SIZE);
+		return MSBuildProjectData.createList(end - start, index -> new MSBuildItemData(myData, start + index));
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if(this == o)
+		{
+			return true;
+		}
+		if(o == null || getClass() != o.getClass())
+		{
+			return false;
+		}
+
+		MSBuildItemGroupData that = (MSBuildItemGroupData) o;
+		return myData == that.myData && myIndex == that.myIndex;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return 31 * System.identityHashCode(myData) + myIndex;
+	}
+}
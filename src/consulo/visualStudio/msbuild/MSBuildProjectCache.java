@@ -0,0 +1,287 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.msbuild;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.io.FileUtil;
+import consulo.visualStudio.util.VisualStudioImportStatistics;
+
+/**
+ * Persistent cache of {@link MSBuildProjectData}. Entry is valid while canonical path, size and modification time of project file are the
+ * same, file is not read then. If only modification time differs, file is read and entry is still valid when content hash is the same.
+ * Least recently used entries are removed when cache is bigger than limit
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildProjectCache
+{
+	private static final Logger LOGGER = Logger.getInstance(MSBuildProjectCache.class);
+
+	private static final int VERSION = 5;
+	private static final long MAX_SIZE = 64L * 1024 * 1024;
+
+	private static class Holder
+	{
+		private static final MSBuildProjectCache INSTANCE = new MSBuildProjectCache(new File(PathManager.getSystemPath(), "visualStudio/msbuild"), MAX_SIZE);
+	}
+
+	@NotNull
+	public static MSBuildProjectCache getInstance()
+	{
+		return Holder.INSTANCE;
+	}
+
+	private final File myDirectory;
+	private final long myMaxSize;
+	private long mySize = -1;
+
+	public MSBuildProjectCache(@NotNull File directory, long maxSize)
+	{
+		myDirectory = directory;
+		myMaxSize = maxSize;
+	}
+
+	@NotNull
+	public MSBuildProjectData load(@NotNull File file) throws IOException
+	{
+		return load(file, null);
+	}
+
+	/**
+	 * @param statistics receives loading and parsing of file
+	 */
+	@NotNull
+	public MSBuildProjectData load(@NotNull File file, @Nullable VisualStudioImportStatistics statistics) throws IOException
+	{
+		long start = System.nanoTime();
+
+		File canonicalFile = file.getCanonicalFile();
+		String path = canonicalFile.getPath();
+		long size = canonicalFile.length();
+		long timestamp = canonicalFile.lastModified();
+		long readBytes = 0;
+
+		try
+		{
+			File entryFile = new File(myDirectory, Long.toHexString(hash(path)) + ".bin");
+
+			MSBuildProjectData data = readEntry(entryFile, path, size, timestamp, 0, false);
+			if(data != null)
+			{
+				// used as access time for eviction
+				entryFile.setLastModified(System.currentTimeMillis());
+				return data;
+			}
+
+			byte[] content = FileUtil.loadFileBytes(canonicalFile);
+			size = content.length;
+			readBytes = size;
+			long hash = hash(content);
+
+			// modification time is changed without change of content, for example by checkout
+			data = readEntry(entryFile, path, size, timestamp, hash, true);
+			if(data != null)
+			{
+				writeEntry(entryFile, path, size, timestamp, hash, data);
+				return data;
+			}
+
+			long parseStart = System.nanoTime();
+			data = MSBuildProjectReader.read(new ByteArrayInputStream(content));
+			if(statistics != null)
+			{
+				// bytes are reported by load
+				statistics.record(VisualStudioImportStatistics.Phase.PROJECT_PARSE, null, parseStart, 0);
+			}
+
+			writeEntry(entryFile, path, size, timestamp, hash, data);
+			return data;
+		}
+		finally
+		{
+			if(statistics != null)
+			{
+				statistics.record(VisualStudioImportStatistics.Phase.PROJECT_LOAD, file.getPath(), start, readBytes);
+			}
+		}
+	}
+
+	/**
+	 * @param byHash entry is matched by content hash instead of modification time
+	 */
+	@Nullable
+	private static MSBuildProjectData readEntry(File entryFile, String path, long size, long timestamp, long hash, boolean byHash)
+	{
+		if(!entryFile.exists())
+		{
+			return null;
+		}
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(entryFile))))
+		{
+			if(in.readInt() != VERSION || !path.equals(in.readUTF()) || in.readLong() != size)
+			{
+				return null;
+			}
+			long entryTimestamp = in.readLong();
+			long entryHash = in.readLong();
+			if(byHash ? entryHash != hash : entryTimestamp != timestamp)
+			{
+				return null;
+			}
+			return MSBuildProjectDataExternalizer.INSTANCE.read(in);
+		}
+		catch(IOException e)
+		{
+			LOGGER.debug("Broken cache entry " + entryFile.getPath() + ": " + e.getMessage());
+			FileUtil.delete(entryFile);
+			return null;
+		}
+	}
+
+	private void writeEntry(File entryFile, String path, long size, long timestamp, long hash, MSBuildProjectData data)
+	{
+		try
+		{
+			if(!myDirectory.isDirectory() && !myDirectory.mkdirs())
+			{
+				throw new IOException("Can't create " + myDirectory.getPath());
+			}
+
+			File tempFile = File.createTempFile(entryFile.getName(), ".tmp", myDirectory);
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile))))
+			{
+				out.writeInt(VERSION);
+				out.writeUTF(path);
+				out.writeLong(size);
+				out.writeLong(timestamp);
+				out.writeLong(hash);
+				MSBuildProjectDataExternalizer.INSTANCE.save(out, data);
+			}
+
+			long oldLength = entryFile.length();
+			try
+			{
+				Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch(AtomicMoveNotSupportedException e)
+			{
+				Files.move(tempFile.toPath(), entryFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+
+			sizeChanged(entryFile.length() - oldLength);
+		}
+		catch(IOException e)
+		{
+			LOGGER.warn("Failed to write cache entry for " + path, e);
+		}
+	}
+
+	private synchronized void sizeChanged(long delta)
+	{
+		if(mySize < 0)
+		{
+			mySize = 0;
+			for(File file : listEntries())
+			{
+				mySize += file.length();
+			}
+		}
+		else
+		{
+			mySize += delta;
+		}
+
+		if(mySize <= myMaxSize)
+		{
+			return;
+		}
+
+		File[] entries = listEntries();
+		final long[] lastModified = new long[entries.length];
+		Integer[] order = new Integer[entries.length];
+		for(int i = 0; i < entries.length; i++)
+		{
+			lastModified[i] = entries[i].lastModified();
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingLong(i -> lastModified[i]));
+
+		long limit = myMaxSize * 3 / 4;
+		for(Integer index : order)
+		{
+			if(mySize <= limit)
+			{
+				break;
+			}
+			File entry = entries[index];
+			long length = entry.length();
+			if(FileUtil.delete(entry))
+			{
+				mySize -= length;
+			}
+		}
+	}
+
+	@NotNull
+	private File[] listEntries()
+	{
+		File[] files = myDirectory.listFiles((dir, name) -> name.endsWith(".bin"));
+		return files == null ? new File[0] : files;
+	}
+
+	private static long hash(byte[] content)
+	{
+		long hash = 0xcbf29ce484222325L;
+		for(byte b : content)
+		{
+			hash ^= b & 0xff;
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	private static long hash(String value)
+	{
+		long hash = 0xcbf29ce484222325L;
+		for(int i = 0; i < value.length(); i++)
+		{
+			hash ^= value.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.msbuild;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Data extracted from MSBuild project file, which is used by importer.
+ * <p/>
+ * Data is stored in compact form: strings are deduplicated into one UTF-8 string table, and elements are records of string table indexes
+ * in int arrays. Element classes, like {@link MSBuildItemData}, are views which are created on access.
+ * See {@link MSBuildProjectDataBuilder}
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildProjectData
+{
+	// index of null in string table
+	static final int NULL_STRING = 0;
+
+	// sizes of records, fields which are not marked are string indexes
+
+	// condition, index of first property
+	static final int PROPERTY_GROUP_SIZE = 2;
+	// name, value, condition
+	static final int PROPERTY_SIZE = 3;
+	// condition, index of first item
+	static final int ITEM_GROUP_SIZE = 2;
+	// type, include, exclude, remove, condition, index of first metadata
+	static final int ITEM_SIZE = 6;
+	// name, value
+	static final int METADATA_SIZE = 2;
+	// project, condition, group condition, property group index, item group index
+	static final int IMPORT_SIZE = 5;
+
+	// UTF-8 bytes of all strings, string i is in [myStringOffsets[i - 1], myStringOffsets[i]). String 0 is null
+	private final byte[] myStringBytes;
+	private final int[] myStringOffsets;
+
+	private final int mySdk;
+	final int[] myPropertyGroups;
+	final int[] myProperties;
+	final int[] myItemGroups;
+	final int[] myItems;
+	final int[] myMetadata;
+	final int[] myImports;
+
+	MSBuildProjectData(@NotNull byte[] stringBytes,
+			@NotNull int[] stringOffsets,
+			int sdk,
+			@NotNull int[] propertyGroups,
+			@NotNull int[] properties,
+			@NotNull int[] itemGroups,
+			@NotNull int[] items,
+			@NotNull int[] metadata,
+			@NotNull int[] imports)
+	{
+		myStringBytes = stringBytes;
+		myStringOffsets = stringOffsets;
+		mySdk = sdk;
+		myPropertyGroups = propertyGroups;
+		myProperties = properties;
+		myItemGroups = itemGroups;
+		myItems = items;
+		myMetadata = metadata;
+		myImports = imports;
+	}
+
+	/**
+	 * @return SDK of SDK-style project, like {@code Microsoft.NET.Sdk}, or null for classic project
+	 */
+	@Nullable
+	public String getSdk()
+	{
+		return getString(mySdk);
+	}
+
+	public boolean isSdkStyle()
+	{
+		return mySdk != NULL_STRING;
+	}
+
+	@NotNull
+	public List<MSBuildPropertyGroupData> getPropertyGroups()
+	{
+		return createList(myPropertyGroups.length / PROPERTY_GROUP_SIZE, index -> new MSBuildPropertyGroupData(this, index));
+	}
+
+	@NotNull
+	public List<MSBuildItemGroupData> getItemGroups()
+	{
+		return createList(myItemGroups.length / ITEM_GROUP_SIZE, index -> new MSBuildItemGroupData(this, index));
+	}
+
+	/**
+	 * @return imports in order of project file, see {@link MSBuildImportCache}
+	 */
+	@NotNull
+	public List<MSBuildImportData> getImports()
+	{
+		return createList(myImports.length / IMPORT_SIZE, index -> new MSBuildImportData(this, index));
+	}
+
+	/**
+	 * @return items of all item groups with given type, like {@code Reference} or {@code Compile}. Conditions are not checked
+	 */
+	@NotNull
+	public List<MSBuildItemData> getItems(@NotNull String type)
+	{
+		// strings are deduplicated, type is resolved to its index once
+		int typeIndex = findString(type);
+		if(typeIndex == NULL_STRING)
+		{
+			return Collections.emptyList();
+		}
+
+		List<MSBuildItemData> list = new ArrayList<MSBuildItemData>();
+		for(int i = 0; i < myItems.length / ITEM_SIZE; i++)
+		{
+			if(myItems[i * ITEM_SIZE] == typeIndex)
+			{
+				list.add(new MSBuildItemData(this, i));
+			}
+		}
+		return list;
+	}
+
+	@Nullable
+	String getString(int index)
+	{
+		if(index == NULL_STRING)
+		{
+			return null;
+		}
+		int start = myStringOffsets[index - 1];
+		return new String(myStringBytes, start, myStringOffsets[index] - start, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Compares string of string table with value without decoding it, if value is ASCII
+	 */
+	boolean isString(int index, @NotNull String value, boolean ignoreCase)
+	{
+		if(index == NULL_STRING)
+		{
+			return false;
+		}
+
+		int start = myStringOffsets[index - 1];
+		int length = myStringOffsets[index] - start;
+		if(length != value.length())
+		{
+			// length of UTF-8 form differs from length of non-ASCII value, it is compared decoded
+			return !isAscii(value) && (ignoreCase ? value.equalsIgnoreCase(getString(index)) : value.equals(getString(index)));
+		}
+
+		for(int i = 0; i < length; i++)
+		{
+			char c = value.charAt(i);
+			if(c >= 0x80)
+			{
+				return ignoreCase ? value.equalsIgnoreCase(getString(index)) : value.equals(getString(index));
+			}
+
+			byte b = myStringBytes[start + i];
+			if(b != c && (!ignoreCase || toLowerCase((char) b) != toLowerCase(c)))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return index of string in string table, {@link #NULL_STRING} if there is no such string
+	 */
+	int findString(@NotNull String value)
+	{
+		for(int i = 1; i < myStringOffsets.length; i++)
+		{
+			if(isString(i, value, false))
+			{
+				return i;
+			}
+		}
+		return NULL_STRING;
+	}
+
+	private static boolean isAscii(@NotNull String value)
+	{
+		for(int i = 0; i < value.length(); i++)
+		{
+			if(value.charAt(i) >= 0x80)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static char toLowerCase(char c)
+	{
+		return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+	}
+
+	int getStringCount()
+	{
+		return myStringOffsets.length;
+	}
+
+	@NotNull
+	byte[] getStringBytes()
+	{
+		return myStringBytes;
+	}
+
+	@NotNull
+	int[] getStringOffsets()
+	{
+		return myStringOffsets;
+	}
+
+	int getSdkIndex()
+	{
+		return mySdk;
+	}
+
+	/**
+	 * @return end of child range of record, which is start of range of next record
+	 */
+	static int getEnd(@NotNull int[] records, int recordSize, int index, int firstChildField, int childCount)
+	{
+		int next = (index + 1) * recordSize;
+		return next < records.length ? records[next + firstChildField] : childCount;
+	}
+
+	/**
+	 * Checks that all indexes of records are valid, data can come from damaged cache
+	 */
+	void verify()
+	{
+		int stringCount = getStringCount();
+		if(stringCount < 1 || myStringOffsets[0] != 0 || myStringOffsets[stringCount - 1] != myStringBytes.length)
+		{
+			throw new IllegalArgumentException("Bad string table");
+		}
+		for(int i = 1; i < stringCount; i++)
+		{
+			if(myStringOffsets[i] < myStringOffsets[i - 1])
+			{
+				throw new IllegalArgumentException("Bad string offset " + i);
+			}
+		}
+
+		checkString(mySdk, true);
+		checkRecords(myPropertyGroups, PROPERTY_GROUP_SIZE, 1, myProperties.length / PROPERTY_SIZE);
+		checkRecords(myProperties, PROPERTY_SIZE, PROPERTY_SIZE, -1);
+		checkRecords(myItemGroups, ITEM_GROUP_SIZE, 1, myItems.length / ITEM_SIZE);
+		checkRecords(myItems, ITEM_SIZE, ITEM_SIZE - 1, myMetadata.length / METADATA_SIZE);
+		checkRecords(myMetadata, METADATA_SIZE, METADATA_SIZE, -1);
+		checkRecords(myImports, IMPORT_SIZE, 3, -1);
+
+		for(int i = 0; i < myProperties.length; i += PROPERTY_SIZE)
+		{
+			checkString(myProperties[i], false);
+			checkString(myProperties[i + 1], false);
+		}
+		for(int i = 0; i < myItems.length; i += ITEM_SIZE)
+		{
+			checkString(myItems[i], false);
+		}
+		for(int i = 0; i < myMetadata.length; i += METADATA_SIZE)
+		{
+			checkString(myMetadata[i], false);
+		}
+		for(int i = 0; i < myImports.length; i += IMPORT_SIZE)
+		{
+			checkString(myImports[i], false);
+			checkIndex(myImports[i + 3], myPropertyGroups.length / PROPERTY_GROUP_SIZE);
+			checkIndex(myImports[i + 4], myItemGroups.length / ITEM_GROUP_SIZE);
+		}
+	}
+
+	/**
+	 * @param stringFields count of first fields of record, which are string indexes
+	 * @param childCount   count of children, if last field of record is start of children range, or -1
+	 */
+	private void checkRecords(@NotNull int[] records, int recordSize, int stringFields, int childCount)
+	{
+		if(records.length % recordSize != 0)
+		{
+			throw new IllegalArgumentException("Bad record array length " + records.length);
+		}
+
+		int previousStart = 0;
+		for(int i = 0; i < records.length; i += recordSize)
+		{
+			for(int j = 0; j < stringFields; j++)
+			{
+				checkString(records[i + j], true);
+			}
+
+			if(childCount >= 0)
+			{
+				int start = records[i + recordSize - 1];
+				if(start < previousStart || start > childCount || i == 0 && start != 0)
+				{
+					throw new IllegalArgumentException("Bad child index " + start);
+				}
+				previousStart = start;
+			}
+		}
+	}
+
+	private void checkString(int index, boolean nullable)
+	{
+		if(index < 0 || index >= getStringCount() || !nullable && index == NULL_STRING)
+		{
+			throw new IllegalArgumentException("Bad string index " + index);
+		}
+	}
+
+	private static void checkIndex(int index, int count)
+	{
+		if(index < 0 || index > count)
+		{
+			throw new IllegalArgumentException("Bad index " + index);
+		}
+	}
+
+	@NotNull
+	static <T> List<T> createList(final int size, @NotNull final IntFunction<T> factory)
+	{
+		if(size == 0)
+		{
+			return Collections.emptyList();
+		}
+		return new AbstractList<T>()
+		{
+			@Override
+			public T get(int index)
+			{
+				if(index < 0 || index >= size)
+				{
+					throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+				}
+				return factory.apply(index);
+			}
+
+			@Override
+			public int size()
+			{
+				return size;
+			}
+		};
+	}
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.msbuild;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Collects elements of project in document order, and builds compact {@link MSBuildProjectData}. Equal strings are stored once
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+class MSBuildProjectDataBuilder
+{
+	private static class IntArray
+	{
+		private int[] myValues = new int[16];
+		private int mySize;
+
+		private void add(int value)
+		{
+			if(mySize == myValues.length)
+			{
+				myValues = Arrays.copyOf(myValues, mySize * 2);
+			}
+			myValues[mySize++] = value;
+		}
+
+		private void add(int... values)
+		{
+			for(int value : values)
+			{
+				add(value);
+			}
+		}
+
+		private int[] toArray()
+		{
+			return Arrays.copyOf(myValues, mySize);
+		}
+	}
+
+	private final Map<String, Integer> myStringIndexes = new HashMap<String, Integer>();
+	private final ByteArrayOutputStream myStringBytes = new ByteArrayOutputStream();
+	private final IntArray myStringOffsets = new IntArray();
+
+	private int mySdk = MSBuildProjectData.NULL_STRING;
+	private final IntArray myPropertyGroups = new IntArray();
+	private final IntArray myProperties = new IntArray();
+	private final IntArray myItemGroups = new IntArray();
+	private final IntArray myItems = new IntArray();
+	private final IntArray myMetadata = new IntArray();
+	private final IntArray myImports = new IntArray();
+
+	MSBuildProjectDataBuilder()
+	{
+		// end of null string
+		myStringOffsets.add(0);
+	}
+
+	void setSdk(@Nullable String sdk)
+	{
+		mySdk = index(sdk);
+	}
+
+	boolean hasSdk()
+	{
+		return mySdk != MSBuildProjectData.NULL_STRING;
+	}
+
+	void addPropertyGroup(@Nullable String condition)
+	{
+		myPropertyGroups.add(index(condition), myProperties.mySize / MSBuildProjectData.PROPERTY_SIZE);
+	}
+
+	/**
+	 * Adds property to last property group
+	 */
+	void addProperty(@NotNull String name, @NotNull String value, @Nullable String condition)
+	{
+		myProperties.add(index(name), index(value), index(condition));
+	}
+
+	void addItemGroup(@Nullable String condition)
+	{
+		myItemGroups.add(index(condition), myItems.mySize / MSBuildProjectData.ITEM_SIZE);
+	}
+
+	/**
+	 * Adds item to last item group
+	 */
+	void addItem(@NotNull String type,
+			@Nullable String include,
+			@Nullable String exclude,
+			@Nullable String remove,
+			@Nullable String condition)
+	{
+		int firstMetadata = myMetadata.mySize / MSBuildProjectData.METADATA_SIZE;
+		myItems.add(index(type), index(include), index(exclude), index(remove), index(condition), firstMetadata);
+	}
+
+	/**
+	 * Adds metadata to last item
+	 */
+	void addMetadata(@NotNull String name, @NotNull String value)
+	{
+		myMetadata.add(index(name), index(value));
+	}
+
+	/**
+	 * Adds import after last property and item groups
+	 */
+	void addImport(@NotNull String project, @Nullable String condition, @Nullable String groupCondition)
+	{
+		int propertyGroupIndex = myPropertyGroups.mySize / MSBuildProjectData.PROPERTY_GROUP_SIZE;
+		int itemGroupIndex = myItemGroups.mySize / MSBuildProjectData.ITEM_GROUP_SIZE;
+		myImports.add(index(project), index(condition), index(groupCondition), propertyGroupIndex, itemGroupIndex);
+	}
+
+	@NotNull
+	MSBuildProjectData build()
+	{
+		return new MSBuildProjectData(myStringBytes.toByteArray(), myStringOffsets.toArray(), mySdk, myPropertyGroups.toArray(),
+				myProperties.toArray(), myItemGroups.toArray(), myItems.toArray(), myMetadata.toArray(), myImports.toArray());
+	}
+
+	private int index(@Nullable String value)
+	{
+		if(value == null)
+		{
+			return MSBuildProjectData.NULL_STRING;
+		}
+
+		Integer index = myStringIndexes.get(value);
+		if(index == null)
+		{
+			byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+			myStringBytes.write(bytes, 0, bytes.length);
+
+			index = myStringOffsets.mySize;
+			myStringOffsets.add(myStringBytes.size());
+			myStringIndexes.put(value, index);
+		}
+		return index;
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.msbuild;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.intellij.util.io.DataExternalizer;
+import com.intellij.util.io.DataInputOutputUtil;
+
+/**
+ * Binary form of {@link MSBuildProjectData}. String table and records are written as they are stored in memory, records refer strings
+ * by var-int index
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildProjectDataExternalizer implements DataExternalizer<MSBuildProjectData>
+{
+	public static final MSBuildProjectDataExternalizer INSTANCE = new MSBuildProjectDataExternalizer();
+
+	@Override
+	public void save(DataOutput out, MSBuildProjectData value) throws IOException
+	{
+		byte[] stringBytes = value.getStringBytes();
+		DataInputOutputUtil.writeINT(out, stringBytes.length);
+		out.write(stringBytes);
+		writeArray(out, value.getStringOffsets());
+
+		DataInputOutputUtil.writeINT(out, value.getSdkIndex());
+		writeArray(out, value.myPropertyGroups);
+		writeArray(out, value.myProperties);
+		writeArray(out, value.myItemGroups);
+		writeArray(out, value.myItems);
+		writeArray(out, value.myMetadata);
+		writeArray(out, value.myImports);
+	}
+
+	@Override
+	public MSBuildProjectData read(DataInput in) throws IOException
+	{
+		byte[] stringBytes = new byte[readLength(in)];
+		in.readFully(stringBytes);
+		int[] stringOffsets = readArray(in);
+
+		int sdk = DataInputOutputUtil.readINT(in);
+		MSBuildProjectData data = new MSBuildProjectData(stringBytes, stringOffsets, sdk, readArray(in), readArray(in), readArray(in),
+				readArray(in), readArray(in), readArray(in));
+		try
+		{
+			data.verify();
+		}
+		catch(IllegalArgumentException e)
+		{
+			throw new IOException(e);
+		}
+		return data;
+	}
+
+	private static void writeArray(DataOutput out, int[] values) throws IOException
+	{
+		DataInputOutputUtil.writeINT(out, values.length);
+		for(int value : values)
+		{
+			DataInputOutputUtil.writeINT(out, value);
+		}
+	}
+
+	private static int[] readArray(DataInput in) throws IOException
+	{
+		int[] values = new int[readLength(in)];
+		for(int i = 0; i < values.length; i++)
+		{
+			values[i] = DataInputOutputUtil.readINT(in);
+		}
+		return values;
+	}
+
+	private static int readLength(DataInput in) throws IOException
+	{
+		int length = DataInputOutputUtil.readINT(in);
+		// cache entries are small, bad length means damaged entry
+		if(length < 0 || length > 64 * 1024 * 1024)
+		{
+			throw new IOException("Bad length " + length);
+		}
+		return length;
+	}
+}
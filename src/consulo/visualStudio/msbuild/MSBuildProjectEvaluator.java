@@ -0,0 +1,274 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.msbuild;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.text.StringUtil;
+
+/**
+ * Property pass of MSBuild evaluation. Property groups of project and imported files are evaluated in order of project file, item groups
+ * are collected in the same order and evaluated later with final properties
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+class MSBuildProjectEvaluator
+{
+	private static final Logger LOGGER = Logger.getInstance(MSBuildProjectEvaluator.class);
+
+	private static final String DIRECTORY_BUILD_PROPS = "Directory.Build.props";
+	private static final String DIRECTORY_BUILD_TARGETS = "Directory.Build.targets";
+
+	private final MSBuildPropertyScope myParent;
+	private final File myProjectFile;
+	private final MSBuildImportCache myImportCache;
+	private final MSBuildConditionCache myConditionCache = MSBuildConditionCache.getInstance();
+
+	private final Map<String, String> myProperties;
+	private final Function<String, String> myLookup;
+
+	private final List<MSBuildItemGroupData> myItemGroups = new ArrayList<MSBuildItemGroupData>();
+	// item groups are views with value equality, see MSBuildProjectData
+	private final Map<MSBuildItemGroupData, File> myImportedItemGroups = new HashMap<MSBuildItemGroupData, File>();
+	private final Set<String> myImportedFiles = new HashSet<String>();
+	// files which were read, in order of import
+	private final List<File> myLoadedFiles = new ArrayList<File>();
+
+	MSBuildProjectEvaluator(@NotNull MSBuildPropertyScope parent, @NotNull File projectFile, @Nullable MSBuildImportCache importCache)
+	{
+		myParent = parent;
+		myProjectFile = projectFile;
+		myImportCache = importCache;
+
+		myProperties = MSBuildPropertyScope.newMap();
+		myLookup = name ->
+		{
+			String value = myParent.getGlobal(name);
+			if(value == null)
+			{
+				value = myProperties.get(name);
+			}
+			return value == null ? myParent.get(name) : value;
+		};
+	}
+
+	@NotNull
+	MSBuildEvaluatedProject evaluate(@NotNull MSBuildProjectData projectData)
+	{
+		String fileName = myProjectFile.getName();
+		myProperties.put("MSBuildProjectFullPath", myProjectFile.getPath());
+		myProperties.put("MSBuildProjectDirectory", MSBuildPropertyScope.getDirectory(myProjectFile));
+		myProperties.put("MSBuildProjectFile", fileName);
+		myProperties.put("MSBuildProjectName", MSBuildPropertyScope.getNameWithoutExtension(fileName));
+		myProperties.put("MSBuildProjectExtension", MSBuildPropertyScope.getExtension(fileName));
+
+		if(myImportCache != null)
+		{
+			myImportedFiles.add(myImportCache.getCanonicalPath(myProjectFile));
+		}
+
+		// SDK imports Directory.Build.props before and Directory.Build.targets after project content
+		if(projectData.isSdkStyle())
+		{
+			importDirectoryBuildFile(DIRECTORY_BUILD_PROPS);
+		}
+		evaluateFile(myProjectFile, projectData);
+		if(projectData.isSdkStyle())
+		{
+			importDirectoryBuildFile(DIRECTORY_BUILD_TARGETS);
+			setThisFile(myProjectFile);
+		}
+
+		MSBuildPropertyScope scope = MSBuildPropertyScope.createProject(myParent, myProperties);
+
+		Map<MSBuildItemGroupData, MSBuildPropertyScope> importedItemGroupScopes = new HashMap<MSBuildItemGroupData, MSBuildPropertyScope>();
+		Map<File, MSBuildPropertyScope> fileScopes = new HashMap<File, MSBuildPropertyScope>();
+		for(Map.Entry<MSBuildItemGroupData, File> entry : myImportedItemGroups.entrySet())
+		{
+			MSBuildPropertyScope fileScope = fileScopes.computeIfAbsent(entry.getValue(), scope::createFile);
+			importedItemGroupScopes.put(entry.getKey(), fileScope);
+		}
+		return new MSBuildEvaluatedProject(scope, myItemGroups, importedItemGroupScopes, myLoadedFiles);
+	}
+
+	private void evaluateFile(@NotNull File file, @NotNull MSBuildProjectData data)
+	{
+		setThisFile(file);
+
+		List<MSBuildPropertyGroupData> propertyGroups = data.getPropertyGroups();
+		List<MSBuildItemGroupData> itemGroups = data.getItemGroups();
+		int propertyGroupIndex = 0;
+		int itemGroupIndex = 0;
+		for(MSBuildImportData importData : data.getImports())
+		{
+			for(; propertyGroupIndex < importData.getPropertyGroupIndex(); propertyGroupIndex++)
+			{
+				evaluatePropertyGroup(propertyGroups.get(propertyGroupIndex));
+			}
+			for(; itemGroupIndex < importData.getItemGroupIndex(); itemGroupIndex++)
+			{
+				addItemGroup(file, itemGroups.get(itemGroupIndex));
+			}
+
+			evaluateImport(file, importData);
+			// imported file changed them
+			setThisFile(file);
+		}
+
+		for(; propertyGroupIndex < propertyGroups.size(); propertyGroupIndex++)
+		{
+			evaluatePropertyGroup(propertyGroups.get(propertyGroupIndex));
+		}
+		for(; itemGroupIndex < itemGroups.size(); itemGroupIndex++)
+		{
+			addItemGroup(file, itemGroups.get(itemGroupIndex));
+		}
+	}
+
+	private void evaluatePropertyGroup(@NotNull MSBuildPropertyGroupData propertyGroup)
+	{
+		if(!myConditionCache.compile(propertyGroup.getCondition()).evaluate(myLookup))
+		{
+			return;
+		}
+
+		for(MSBuildPropertyData property : propertyGroup.getProperties())
+		{
+			if(myConditionCache.compile(property.getCondition()).evaluate(myLookup))
+			{
+				// values are not memoized, properties change while project is evaluated
+				myProperties.put(property.getName(), myParent.expand(property.getValue(), myLookup));
+			}
+		}
+	}
+
+	private void addItemGroup(@NotNull File file, @NotNull MSBuildItemGroupData itemGroup)
+	{
+		myItemGroups.add(itemGroup);
+		if(file != myProjectFile)
+		{
+			myImportedItemGroups.put(itemGroup, file);
+		}
+	}
+
+	private void evaluateImport(@NotNull File importingFile, @NotNull MSBuildImportData importData)
+	{
+		if(myImportCache == null)
+		{
+			return;
+		}
+
+		if(!myConditionCache.compile(importData.getGroupCondition()).evaluate(myLookup) || !myConditionCache.compile(importData
+				.getCondition()).evaluate(myLookup))
+		{
+			return;
+		}
+
+		String project = myParent.expand(importData.getProject(), myLookup).trim();
+		if(project.isEmpty())
+		{
+			return;
+		}
+
+		// toolset files are not available, but they import Directory.Build files
+		String fileName = project.substring(Math.max(project.lastIndexOf('\\'), project.lastIndexOf('/')) + 1);
+		if(fileName.equalsIgnoreCase("Microsoft.Common.props"))
+		{
+			importDirectoryBuildFile(DIRECTORY_BUILD_PROPS);
+			return;
+		}
+		if(fileName.equalsIgnoreCase("Microsoft.Common.targets") || fileName.equalsIgnoreCase("Microsoft.CSharp.targets") || fileName
+				.equalsIgnoreCase("Microsoft.VisualBasic.targets"))
+		{
+			importDirectoryBuildFile(DIRECTORY_BUILD_TARGETS);
+			return;
+		}
+
+		for(Path path : myImportCache.resolve(importingFile, project))
+		{
+			importFile(path.toFile());
+		}
+	}
+
+	private void importDirectoryBuildFile(@NotNull String fileName)
+	{
+		if(myImportCache == null)
+		{
+			return;
+		}
+
+		boolean props = fileName.equals(DIRECTORY_BUILD_PROPS);
+		if("false".equalsIgnoreCase(myLookup.apply(props ? "ImportDirectoryBuildProps" : "ImportDirectoryBuildTargets")))
+		{
+			return;
+		}
+
+		String pathProperty = props ? "DirectoryBuildPropsPath" : "DirectoryBuildTargetsPath";
+		String path = myLookup.apply(pathProperty);
+
+		File file;
+		if(StringUtil.isEmpty(path))
+		{
+			file = myImportCache.findFileAbove(myProjectFile.getAbsoluteFile().getParentFile(), fileName);
+		}
+		else
+		{
+			file = new File(myProjectFile.getAbsoluteFile().getParentFile(), path.replace('\\', File.separatorChar));
+		}
+
+		if(file != null)
+		{
+			myProperties.put(pathProperty, file.getPath());
+			importFile(file);
+		}
+	}
+
+	private void importFile(@NotNull File file)
+	{
+		if(!myImportedFiles.add(myImportCache.getCanonicalPath(file)))
+		{
+			// MSBuild also ignores repeated imports, and this breaks cycles
+			LOGGER.debug("File " + file.getPath() + " is already imported by " + myProjectFile.getPath());
+			return;
+		}
+
+		MSBuildProjectData data = myImportCache.load(file);
+		if(data != null)
+		{
+			myLoadedFiles.add(file);
+			evaluateFile(file, data);
+		}
+	}
+
+	private void setThisFile(@NotNull File file)
+	{
+		MSBuildPropertyScope.putThisFileProperties(myProperties, file);
+	}
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.msbuild;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Pull reader of MSBuild project files. Property groups and item groups are extracted in one pass, without building DOM
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildProjectReader
+{
+	private static final XMLInputFactory ourFactory;
+
+	static
+	{
+		ourFactory = XMLInputFactory.newFactory();
+		ourFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+		ourFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		ourFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+	}
+
+	private static final String PROPERTY_GROUP = "PropertyGroup";
+	private static final String ITEM_GROUP = "ItemGroup";
+	private static final String CONDITION = "Condition";
+	private static final String INCLUDE = "Include";
+	private static final String EXCLUDE = "Exclude";
+	private static final String REMOVE = "Remove";
+	private static final String SDK = "Sdk";
+	private static final String IMPORT = "Import";
+	private static final String IMPORT_GROUP = "ImportGroup";
+	private static final String PROJECT = "Project";
+
+	@NotNull
+	public static MSBuildProjectData read(@NotNull InputStream stream) throws IOException
+	{
+		try
+		{
+			XMLStreamReader reader = ourFactory.createXMLStreamReader(stream);
+			try
+			{
+				return read(reader);
+			}
+			finally
+			{
+				reader.close();
+			}
+		}
+		catch(XMLStreamException e)
+		{
+			throw new IOException(e);
+		}
+	}
+
+	@NotNull
+	private static MSBuildProjectData read(XMLStreamReader reader) throws XMLStreamException
+	{
+		MSBuildProjectDataBuilder builder = new MSBuildProjectDataBuilder();
+
+		reader.nextTag();
+		if(!"Project".equals(reader.getLocalName()))
+		{
+			throw new XMLStreamException("Expected 'Project' root element, but found '" + reader.getLocalName() + "'", reader.getLocation());
+		}
+
+		builder.setSdk(getAttribute(reader, SDK));
+
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT)
+		{
+			String name = reader.getLocalName();
+			if(PROPERTY_GROUP.equals(name))
+			{
+				readPropertyGroup(reader, builder);
+			}
+			else if(ITEM_GROUP.equals(name))
+			{
+				readItemGroup(reader, builder);
+			}
+			else if(IMPORT.equals(name))
+			{
+				addImport(reader, null, builder);
+			}
+			else if(IMPORT_GROUP.equals(name))
+			{
+				String groupCondition = getAttribute(reader, CONDITION);
+				while(reader.nextTag() == XMLStreamConstants.START_ELEMENT)
+				{
+					if(IMPORT.equals(reader.getLocalName()))
+					{
+						addImport(reader, groupCondition, builder);
+					}
+					else
+					{
+						skipElement(reader);
+					}
+				}
+			}
+			else if(SDK.equals(name))
+			{
+				// <Sdk Name="Microsoft.NET.Sdk" /> instead of attribute
+				String sdkName = getAttribute(reader, "Name");
+				if(!builder.hasSdk())
+				{
+					builder.setSdk(sdkName);
+				}
+				skipElement(reader);
+			}
+			else
+			{
+				skipElement(reader);
+			}
+		}
+		return builder.build();
+	}
+
+	private static void addImport(XMLStreamReader reader,
+			@Nullable String groupCondition,
+			MSBuildProjectDataBuilder builder) throws XMLStreamException
+	{
+		String project = getAttribute(reader, PROJECT);
+		// imports of SDK, like <Import Project="Sdk.props" Sdk="Microsoft.NET.Sdk"/>, are not resolved
+		if(project != null && getAttribute(reader, SDK) == null)
+		{
+			builder.addImport(project, getAttribute(reader, CONDITION), groupCondition);
+		}
+		skipElement(reader);
+	}
+
+	private static void readPropertyGroup(XMLStreamReader reader, MSBuildProjectDataBuilder builder) throws XMLStreamException
+	{
+		builder.addPropertyGroup(getAttribute(reader, CONDITION));
+
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT)
+		{
+			String name = reader.getLocalName();
+			String propertyCondition = getAttribute(reader, CONDITION);
+			builder.addProperty(name, readText(reader), propertyCondition);
+		}
+	}
+
+	private static void readItemGroup(XMLStreamReader reader, MSBuildProjectDataBuilder builder) throws XMLStreamException
+	{
+		builder.addItemGroup(getAttribute(reader, CONDITION));
+
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT)
+		{
+			readItem(reader, builder);
+		}
+	}
+
+	private static void readItem(XMLStreamReader reader, MSBuildProjectDataBuilder builder) throws XMLStreamException
+	{
+		String type = reader.getLocalName();
+		String include = null;
+		String exclude = null;
+		String remove = null;
+		String condition = null;
+		Map<String, String> metadata = null;
+
+		for(int i = 0; i < reader.getAttributeCount(); i++)
+		{
+			String name = reader.getAttributeLocalName(i);
+			String value = reader.getAttributeValue(i).trim();
+			switch(name)
+			{
+				case INCLUDE:
+					include = value;
+					break;
+				case EXCLUDE:
+					exclude = value;
+					break;
+				case REMOVE:
+					remove = value;
+					break;
+				case CONDITION:
+					condition = value.isEmpty() ? null : value;
+					break;
+				default:
+					// metadata as attribute, like <PackageReference Include="Foo" Version="1.0"/>
+					if(metadata == null)
+					{
+						metadata = new LinkedHashMap<String, String>();
+					}
+					metadata.put(name, value);
+					break;
+			}
+		}
+
+		while(reader.nextTag() == XMLStreamConstants.START_ELEMENT)
+		{
+			if(metadata == null)
+			{
+				metadata = new LinkedHashMap<String, String>();
+			}
+			String name = reader.getLocalName();
+			metadata.put(name, readText(reader));
+		}
+
+		builder.addItem(type, include, exclude, remove, condition);
+		if(metadata != null)
+		{
+			for(Map.Entry<String, String> entry : metadata.entrySet())
+			{
+				builder.addMetadata(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Reads text of current element, and moves to its end. Text of nested elements is ignored
+	 */
+	@NotNull
+	private static String readText(XMLStreamReader reader) throws XMLStreamException
+	{
+		String text = null;
+		StringBuilder builder = null;
+		int depth = 1;
+		while(depth > 0)
+		{
+			switch(reader.next())
+			{
+				case XMLStreamConstants.START_ELEMENT:
+					depth++;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					depth--;
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					if(depth == 1)
+					{
+						if(text == null)
+						{
+							text = reader.getText();
+						}
+						else
+						{
+							if(builder == null)
+							{
+								builder = new StringBuilder(text);
+							}
+							builder.append(reader.getText());
+						}
+					}
+					break;
+				case XMLStreamConstants.END_DOCUMENT:
+					throw new XMLStreamException("Unexpected end of document", reader.getLocation());
+			}
+		}
+
+		if(builder != null)
+		{
+			return builder.toString().trim();
+		}
+		return text == null ? "" : text.trim();
+	}
+
+	private static void skipElement(XMLStreamReader reader) throws XMLStreamException
+	{
+		int depth = 1;
+		while(depth > 0)
+		{
+			int event = reader.next();
+			if(event == XMLStreamConstants.START_ELEMENT)
+			{
+				depth++;
+			}
+			else if(event == XMLStreamConstants.END_ELEMENT)
+			{
+				depth--;
+			}
+			else if(event == XMLStreamConstants.END_DOCUMENT)
+			{
+				throw new XMLStreamException("Unexpected end of document", reader.getLocation());
+			}
+		}
+	}
+
+	@Nullable
+	private static String getAttribute(XMLStreamReader reader, String name)
+	{
+		String value = reader.getAttributeValue(null, name);
+		if(value == null)
+		{
+			return null;
+		}
+		value = value.trim();
+		return value.isEmpty() ? null : value;
+	}
+}
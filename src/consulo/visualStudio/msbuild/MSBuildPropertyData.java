@@ -0,0 +1,61 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.msbuild;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * View of property record of {@link MSBuildProjectData}
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildPropertyData
+{
+	private final MSBuildProjectData myData;
+	private final int myIndex;
+
+	MSBuildPropertyData(@NotNull MSBuildProjectData data, int index)
+	{
+		myData = data;
+		myIndex = index;
+	}
+
+	@NotNull
+	public String getName()
+	{
+		return getField(0);
+	}
+
+	@NotNull
+	public String getValue()
+	{
+		return getField(1);
+	}
+
+	@Nullable
+	public String getCondition()
+	{
+		return getField(2);
+	}
+
+	private String getField(int field)
+	{
+		return myData.getString(myData.myProperties[myIndex * MSBuildProjectData.PROPERTY_SIZE + field]);
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.msbuild;
+
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * View of property group record of {@link MSBuildProjectData}
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildPropertyGroupData
+{
+	private final MSBuildProjectData myData;
+	private final int myIndex;
+
+	MSBuildPropertyGroupData(@NotNull MSBuildProjectData data, int index)
+	{
+		myData = data;
+		myIndex = index;
+	}
+
+	@Nullable
+	public String getCondition()
+	{
+		return myData.getString(myData.myPropertyGroups[myIndex * MSBuildProjectData.PROPERTY_GROUP_SIZE]);
+	}
+
+	@NotNull
+	public List<MSBuildPropertyData> getProperties()
+	{
+		final int start = getStart();
+		return MSBuildProjectData.createList(getEnd() - start, index -> new MSBuildPropertyData(myData, start + index));
+	}
+
+	/**
+	 * @return value of last property with given name, property conditions are not checked
+	 */
+	@Nullable
+	public String getValue(@NotNull String name)
+	{
+		int[] properties = myData.myProperties;
+		for(int i = getEnd() - 1; i >= getStart(); i--)
+		{
+			if(myData.isString(properties[i * MSBuildProjectData.PROPERTY_SIZE], name, false))
+			{
+				return myData.getString(properties[i * MSBuildProjectData.PROPERTY_SIZE + 1]);
+			}
+		}
+		return null;
+	}
+
+	private int getStart()
+	{
+		return myData.myPropertyGroups[myIndex * MSBuildProjectData.PROPERTY_GROUP_SIZE + 1];
+	}
+
+	private int getEnd()
+	{
+		return MSBuildProjectData.getEnd(myData.myPropertyGroups, MSBuildProjectData.PROPERTY_GROUP_SIZE, myIndex, 1,
+				myData.myProperties.length / MSBuildProjectData.PROPERTY_SIZE);
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if(this == o)
+		{
+			return true;
+		}
+		if(o == null || getClass() != o.getClass())
+		{
+			return false;
+		}
+
+		MSBuildPropertyGroupData that = (MSBuildPropertyGroupData) o;
+		return myData == that.myData && myIndex == that.myIndex;
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return 31 * System.identityHashCode(myData) + myIndex;
+	}
+}
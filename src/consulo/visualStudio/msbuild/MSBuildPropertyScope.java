@@ -0,0 +1,372 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.msbuild;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.util.SystemInfo;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.util.containers.CaseInsensitiveStringHashingStrategy;
+import gnu.trove.THashMap;
+
+/**
+ * Table of evaluated properties. Scopes are chained: environment, global, solution, configuration and project. Property is taken from
+ * nearest scope which defines it, except global and configuration properties, which override properties of all scopes below them, like
+ * global properties of MSBuild. Names are case insensitive
+ * <p/>
+ * Scopes are immutable. Expansions are memoized in the nearest scope which defines one of referenced properties, so text which references
+ * only solution properties is expanded once for all projects
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildPropertyScope
+{
+	public enum Kind
+	{
+		ENVIRONMENT,
+		GLOBAL,
+		SOLUTION,
+		CONFIGURATION,
+		PROJECT
+	}
+
+	private final MSBuildPropertyScope myParent;
+	private final Kind myKind;
+	private final Map<String, String> myProperties;
+	// global properties of this scope and of all parents
+	private final Map<String, String> myGlobalProperties;
+	private final ConcurrentMap<String, String> myExpansions = new ConcurrentHashMap<String, String>();
+	// parsed templates, shared by all scopes of chain
+	private final ConcurrentMap<String, String[]> myTemplates;
+
+	private MSBuildPropertyScope(@Nullable MSBuildPropertyScope parent, @NotNull Kind kind, @NotNull Map<String, String> properties)
+	{
+		myParent = parent;
+		myKind = kind;
+		myProperties = properties;
+		myTemplates = parent == null ? new ConcurrentHashMap<String, String[]>() : parent.myTemplates;
+
+		if(kind == Kind.GLOBAL || kind == Kind.CONFIGURATION)
+		{
+			myGlobalProperties = newMap();
+			if(parent != null)
+			{
+				myGlobalProperties.putAll(parent.myGlobalProperties);
+			}
+			myGlobalProperties.putAll(properties);
+		}
+		else
+		{
+			myGlobalProperties = parent == null ? newMap() : parent.myGlobalProperties;
+		}
+	}
+
+	@NotNull
+	public static MSBuildPropertyScope createEnvironment()
+	{
+		return createEnvironment(System.getenv());
+	}
+
+	@NotNull
+	public static MSBuildPropertyScope createEnvironment(@NotNull Map<String, String> environment)
+	{
+		Map<String, String> properties = newMap();
+		properties.putAll(environment);
+		properties.put("OS", SystemInfo.isWindows ? "Windows_NT" : "Unix");
+		return new MSBuildPropertyScope(null, Kind.ENVIRONMENT, properties);
+	}
+
+	/**
+	 * @param properties properties which cannot be changed by projects, like {@code /p:} options of MSBuild
+	 */
+	@NotNull
+	public MSBuildPropertyScope createGlobal(@NotNull Map<String, String> properties)
+	{
+		Map<String, String> map = newMap();
+		map.putAll(properties);
+		return new MSBuildPropertyScope(this, Kind.GLOBAL, map);
+	}
+
+	@NotNull
+	public MSBuildPropertyScope createSolution(@NotNull File solutionFile)
+	{
+		String name = solutionFile.getName();
+		Map<String, String> properties = newMap();
+		properties.put("SolutionPath", solutionFile.getPath());
+		properties.put("SolutionDir", getDirectory(solutionFile) + File.separator);
+		properties.put("SolutionFileName", name);
+		properties.put("SolutionName", getNameWithoutExtension(name));
+		properties.put("SolutionExt", getExtension(name));
+		return new MSBuildPropertyScope(this, Kind.SOLUTION, properties);
+	}
+
+	/**
+	 * @param platform null if project has no platforms
+	 */
+	@NotNull
+	public MSBuildPropertyScope createConfiguration(@NotNull String configuration, @Nullable String platform)
+	{
+		Map<String, String> properties = newMap();
+		properties.put("Configuration", configuration);
+		if(platform != null)
+		{
+			properties.put("Platform", platform);
+		}
+		return new MSBuildPropertyScope(this, Kind.CONFIGURATION, properties);
+	}
+
+	/**
+	 * Evaluates property groups of project in order of project file. Conditions of groups and properties are checked, values are expanded
+	 * with properties which are defined before. Imports are not resolved
+	 */
+	@NotNull
+	public MSBuildPropertyScope evaluateProject(@NotNull File projectFile, @NotNull MSBuildProjectData projectData)
+	{
+		return evaluate(projectFile, projectData, null).getScope();
+	}
+
+	/**
+	 * Evaluates project with imported files, like {@link #evaluateProject}
+	 *
+	 * @param importCache null if imports must not be resolved
+	 */
+	@NotNull
+	public MSBuildEvaluatedProject evaluate(@NotNull File projectFile, @NotNull MSBuildProjectData projectData, @Nullable MSBuildImportCache
+			importCache)
+	{
+		return new MSBuildProjectEvaluator(this, projectFile, importCache).evaluate(projectData);
+	}
+
+	@NotNull
+	static MSBuildPropertyScope createProject(@NotNull MSBuildPropertyScope parent, @NotNull Map<String, String> properties)
+	{
+		return new MSBuildPropertyScope(parent, Kind.PROJECT, properties);
+	}
+
+	/**
+	 * @return scope of imported file inside project, it differs only by {@code MSBuildThisFile} properties
+	 */
+	@NotNull
+	MSBuildPropertyScope createFile(@NotNull File file)
+	{
+		Map<String, String> properties = newMap();
+		putThisFileProperties(properties, file);
+		return new MSBuildPropertyScope(this, Kind.PROJECT, properties);
+	}
+
+	static void putThisFileProperties(@NotNull Map<String, String> properties, @NotNull File file)
+	{
+		String fileName = file.getName();
+		properties.put("MSBuildThisFileFullPath", file.getPath());
+		properties.put("MSBuildThisFileDirectory", getDirectory(file) + File.separator);
+		properties.put("MSBuildThisFile", fileName);
+		properties.put("MSBuildThisFileName", getNameWithoutExtension(fileName));
+		properties.put("MSBuildThisFileExtension", getExtension(fileName));
+	}
+
+	@NotNull
+	public Kind getKind()
+	{
+		return myKind;
+	}
+
+	@Nullable
+	public MSBuildPropertyScope getParent()
+	{
+		return myParent;
+	}
+
+	@Nullable
+	String getGlobal(@NotNull String name)
+	{
+		return myGlobalProperties.get(name);
+	}
+
+	/**
+	 * @return null if property is not defined
+	 */
+	@Nullable
+	public String get(@NotNull String name)
+	{
+		String value = myGlobalProperties.get(name);
+		if(value != null)
+		{
+			return value;
+		}
+
+		for(MSBuildPropertyScope scope = this; scope != null; scope = scope.myParent)
+		{
+			value = scope.myProperties.get(name);
+			if(value != null)
+			{
+				return value;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Replaces {@code $(Property)} references with values, not defined properties are replaced with empty string
+	 */
+	@NotNull
+	public String expand(@NotNull String text)
+	{
+		if(text.indexOf("$(") < 0)
+		{
+			return text;
+		}
+
+		String[] parts = parse(text);
+		if(parts == null)
+		{
+			return text;
+		}
+
+		// scopes below owner do not define referenced properties, and expand text to the same value
+		MSBuildPropertyScope owner = this;
+		while(owner.myParent != null && !owner.definesAny(parts))
+		{
+			owner = owner.myParent;
+		}
+
+		String value = owner.myExpansions.get(text);
+		if(value == null)
+		{
+			value = substitute(parts, owner::get, text);
+			String old = owner.myExpansions.putIfAbsent(text, value);
+			if(old != null)
+			{
+				value = old;
+			}
+		}
+		return value;
+	}
+
+	/**
+	 * Expands text without memoization, for properties which are not evaluated yet
+	 */
+	@NotNull
+	String expand(@NotNull String text, @NotNull Function<String, String> lookup)
+	{
+		return substitute(parse(text), lookup, text);
+	}
+
+	/**
+	 * @return true if condition is missing or evaluates to true with properties of this scope
+	 */
+	public boolean evaluateCondition(@Nullable String condition)
+	{
+		return condition == null || MSBuildConditionCache.getInstance().compile(condition).evaluate(this::get);
+	}
+
+	private boolean definesAny(@NotNull String[] parts)
+	{
+		for(int i = 1; i < parts.length; i += 2)
+		{
+			if(myProperties.containsKey(parts[i]))
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Nullable
+	private String[] parse(@NotNull String text)
+	{
+		if(text.indexOf("$(") < 0)
+		{
+			return null;
+		}
+
+		String[] parts = myTemplates.get(text);
+		if(parts == null)
+		{
+			parts = MSBuildPropertyTemplate.parse(text);
+			if(parts == null)
+			{
+				return null;
+			}
+			myTemplates.putIfAbsent(text, parts);
+		}
+		return parts;
+	}
+
+	@NotNull
+	private static String substitute(@Nullable String[] parts, @NotNull Function<String, String> lookup, @NotNull String text)
+	{
+		if(parts == null)
+		{
+			return text;
+		}
+
+		StringBuilder builder = new StringBuilder(text.length());
+		for(int i = 0; i < parts.length; i++)
+		{
+			if(i % 2 == 0)
+			{
+				builder.append(parts[i]);
+			}
+			else
+			{
+				String value = lookup.apply(parts[i]);
+				if(value != null)
+				{
+					builder.append(value);
+				}
+			}
+		}
+		return builder.toString();
+	}
+
+	@NotNull
+	static String getDirectory(@NotNull File file)
+	{
+		File parent = file.getAbsoluteFile().getParentFile();
+		return parent == null ? "" : parent.getPath();
+	}
+
+	@NotNull
+	static String getNameWithoutExtension(@NotNull String fileName)
+	{
+		return FileUtilRt.getNameWithoutExtension(fileName);
+	}
+
+	/**
+	 * @return extension with dot, like MSBuild
+	 */
+	@NotNull
+	static String getExtension(@NotNull String fileName)
+	{
+		String extension = FileUtilRt.getExtension(fileName);
+		return extension.isEmpty() ? extension : "." + extension;
+	}
+
+	@NotNull
+	static Map<String, String> newMap()
+	{
+		return new THashMap<String, String>(CaseInsensitiveStringHashingStrategy.INSTANCE);
+	}
+}
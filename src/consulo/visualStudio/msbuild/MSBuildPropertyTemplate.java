@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.msbuild;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Splits text with {@code $(Property)} references to parts. Parts with even index are literals, parts with odd index are property names.
+ * Property functions like {@code $([System.IO.Path]::Combine(...))} are kept as names, and are expanded as not defined properties
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+class MSBuildPropertyTemplate
+{
+	/**
+	 * @return null if property reference is not closed
+	 */
+	@Nullable
+	static String[] parse(@NotNull String text)
+	{
+		int index = text.indexOf("$(");
+		if(index < 0)
+		{
+			return new String[]{text};
+		}
+
+		List<String> parts = new ArrayList<String>(3);
+		int literalStart = 0;
+		while(index >= 0)
+		{
+			int end = findPropertyEnd(text, index + 2);
+			if(end < 0)
+			{
+				return null;
+			}
+
+			parts.add(text.substring(literalStart, index));
+			parts.add(text.substring(index + 2, end).trim());
+			literalStart = end + 1;
+			index = text.indexOf("$(", literalStart);
+		}
+		parts.add(text.substring(literalStart));
+		return parts.toArray(new String[parts.size()]);
+	}
+
+	/**
+	 * @param start index after {@code $(}
+	 * @return index of ')' which closes property reference, or -1
+	 */
+	static int findPropertyEnd(@NotNull String text, int start)
+	{
+		int depth = 0;
+		for(int i = start; i < text.length(); i++)
+		{
+			char c = text.charAt(i);
+			if(c == '(')
+			{
+				depth++;
+			}
+			else if(c == ')')
+			{
+				if(depth == 0)
+				{
+					return i;
+				}
+				depth--;
+			}
+		}
+		return -1;
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.util;
+
+import java.util.Locale;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.util.Comparing;
+
+/**
+ * Assembly reference from {@code Include} of {@code Reference} item, for example
+ * {@code System.Data, Version=4.0.0.0, Culture=neutral, PublicKeyToken=b77a5c561934e089}.
+ * <p/>
+ * Culture and public key token are stored in lower case, other attributes like processorArchitecture are ignored. Instances are shared via
+ * {@link VisualStudioReferenceInterner}
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public final class VisualStudioAssemblyReference
+{
+	private final String myName;
+	private final String myVersion;
+	private final String myCulture;
+	private final String myPublicKeyToken;
+	private final int myHashCode;
+
+	VisualStudioAssemblyReference(@NotNull String name, @Nullable String version, @Nullable String culture, @Nullable String publicKeyToken)
+	{
+		myName = name;
+		myVersion = version;
+		myCulture = culture;
+		myPublicKeyToken = publicKeyToken;
+
+		int hashCode = myName.toLowerCase(Locale.US).hashCode();
+		hashCode = 31 * hashCode + Comparing.hashcode(myVersion);
+		hashCode = 31 * hashCode + Comparing.hashcode(myCulture);
+		hashCode = 31 * hashCode + Comparing.hashcode(myPublicKeyToken);
+		myHashCode = hashCode;
+	}
+
+	/**
+	 * @return null if include has no assembly name
+	 */
+	@Nullable
+	static VisualStudioAssemblyReference parse(@NotNull String include)
+	{
+		String[] parts = include.split(",");
+
+		String name = parts[0].trim();
+		if(name.isEmpty())
+		{
+			return null;
+		}
+
+		String version = null;
+		String culture = null;
+		String publicKeyToken = null;
+		for(int i = 1; i < parts.length; i++)
+		{
+			String part = parts[i];
+			int eq = part.indexOf('=');
+			if(eq < 0)
+			{
+				continue;
+			}
+
+			String key = part.substring(0, eq).trim();
+			String value = part.substring(eq + 1).trim();
+			if(value.isEmpty())
+			{
+				continue;
+			}
+
+			if("Version".equalsIgnoreCase(key))
+			{
+				version = value;
+			}
+			else if("Culture".equalsIgnoreCase(key))
+			{
+				culture = value.toLowerCase(Locale.US);
+			}
+			else if("PublicKeyToken".equalsIgnoreCase(key))
+			{
+				publicKeyToken = "null".equalsIgnoreCase(value) ? null : value.toLowerCase(Locale.US);
+			}
+		}
+		return new VisualStudioAssemblyReference(name, version, culture, publicKeyToken);
+	}
+
+	/**
+	 * @return simple assembly name, same instance for all references with this name (ignoring case) in interner
+	 */
+	@NotNull
+	public String getName()
+	{
+		return myName;
+	}
+
+	@Nullable
+	public String getVersion()
+	{
+		return myVersion;
+	}
+
+	@Nullable
+	public String getCulture()
+	{
+		return myCulture;
+	}
+
+	@Nullable
+	public String getPublicKeyToken()
+	{
+		return myPublicKeyToken;
+	}
+
+	@Override
+	public boolean equals(Object o)
+	{
+		if(this == o)
+		{
+			return true;
+		}
+		if(o == null || getClass() != o.getClass())
+		{
+			return false;
+		}
+
+		VisualStudioAssemblyReference that = (VisualStudioAssemblyReference) o;
+		return myHashCode == that.myHashCode &&
+				myName.equalsIgnoreCase(that.myName) &&
+				Comparing.equal(myVersion, that.myVersion) &&
+				Comparing.equal(myCulture, that.myCulture) &&
+				Comparing.equal(myPublicKeyToken, that.myPublicKeyToken);
+	}
+
+	@Override
+	public int hashCode()
+	{
+		return myHashCode;
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder(myName);
+		if(myVersion != null)
+		{
+			builder.append(", Version=").append(myVersion);
+		}
+		if(myCulture != null)
+		{
+			builder.append(", Culture=").append(myCulture);
+		}
+		if(myPublicKeyToken != null)
+		{
+			builder.append(", PublicKeyToken=").append(myPublicKeyToken);
+		}
+		return builder.toString();
+	}
+}
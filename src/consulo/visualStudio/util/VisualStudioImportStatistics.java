@@ -0,0 +1,263 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.util.io.FileUtil;
+
+/**
+ * Per-phase and per-project timings of one solution import. Instance is created when solution is read, and is passed to instrumented
+ * code with import session, so concurrent imports do not share counters. Thread safe, projects are loaded and planned in parallel.
+ * <p/>
+ * Summary is written to log by {@link #finish()}
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioImportStatistics
+{
+	public enum Phase
+	{
+		SOLUTION_READ("solution read", null),
+		PROJECT_LOAD("project load", null),
+		PROJECT_PARSE("project parse", PROJECT_LOAD),
+		PLANNING("planning", null),
+		VFS_REFRESH("vfs refresh", null),
+		MODULE_SETUP("module setup", null),
+		SDK_RESOLVE("sdk resolve", MODULE_SETUP),
+		COMMIT("commit", null),
+		CSPROJ_PROCESS("csproj process", null);
+
+		private final String myPresentableName;
+		private final Phase myParent;
+
+		Phase(String presentableName, @Nullable Phase parent)
+		{
+			myPresentableName = presentableName;
+			myParent = parent;
+		}
+
+		@NotNull
+		public String getPresentableName()
+		{
+			return myPresentableName;
+		}
+
+		/**
+		 * @return phase which runs this phase inside, time of this phase is part of time of parent. Null for top level phase
+		 */
+		@Nullable
+		public Phase getParent()
+		{
+			return myParent;
+		}
+	}
+
+	private static final Logger LOGGER = Logger.getInstance(VisualStudioImportStatistics.class);
+
+	private static final int SLOWEST_PROJECTS_TO_LOG = 10;
+
+	private static final Phase[] ourPhases = Phase.values();
+
+	private final String mySolutionPath;
+	private final long myStartNanos = System.nanoTime();
+	private volatile long myTotalNanos = -1;
+
+	// count, nanos and bytes for each phase
+	private final AtomicLongArray myPhaseValues = new AtomicLongArray(ourPhases.length * 3);
+	// nanos for each phase, and bytes in last slot
+	private final Map<String, AtomicLongArray> myProjectValues = new ConcurrentHashMap<String, AtomicLongArray>();
+
+	/**
+	 * @param solutionPath null if projects are not imported from solution
+	 */
+	public VisualStudioImportStatistics(@Nullable String solutionPath)
+	{
+		mySolutionPath = solutionPath;
+	}
+
+	/**
+	 * Reports finished work
+	 *
+	 * @param projectPath project file path, or null if work is not related to one project
+	 * @param startNanos  {@link System#nanoTime()} at start of work
+	 * @param bytes       bytes read by work, nested phase reports 0 when its parent reports them
+	 */
+	public void record(@NotNull Phase phase, @Nullable String projectPath, long startNanos, long bytes)
+	{
+		long nanos = System.nanoTime() - startNanos;
+		int index = phase.ordinal() * 3;
+		myPhaseValues.incrementAndGet(index);
+		myPhaseValues.addAndGet(index + 1, nanos);
+		myPhaseValues.addAndGet(index + 2, bytes);
+
+		if(projectPath != null)
+		{
+			String key = FileUtil.toSystemIndependentName(projectPath);
+			AtomicLongArray values = myProjectValues.computeIfAbsent(key, k -> new AtomicLongArray(ourPhases.length + 1));
+			values.addAndGet(phase.ordinal(), nanos);
+			values.addAndGet(ourPhases.length, bytes);
+		}
+	}
+
+	/**
+	 * Marks import as finished, and writes summary to log
+	 */
+	public void finish()
+	{
+		myTotalNanos = System.nanoTime() - myStartNanos;
+
+		LOGGER.info(toString());
+	}
+
+	@Nullable
+	public String getSolutionPath()
+	{
+		return mySolutionPath;
+	}
+
+	public boolean isFinished()
+	{
+		return myTotalNanos >= 0;
+	}
+
+	/**
+	 * @return wall time since solution was read, or time till now if import is not finished. In wizard it includes time of target
+	 * selection, see per-phase times for work of import
+	 */
+	public long getTotalNanos()
+	{
+		long totalNanos = myTotalNanos;
+		return totalNanos >= 0 ? totalNanos : System.nanoTime() - myStartNanos;
+	}
+
+	public long getCount(@NotNull Phase phase)
+	{
+		return myPhaseValues.get(phase.ordinal() * 3);
+	}
+
+	/**
+	 * @return sum of durations, for parallel phases it can be greater than wall time
+	 */
+	public long getNanos(@NotNull Phase phase)
+	{
+		return myPhaseValues.get(phase.ordinal() * 3 + 1);
+	}
+
+	public long getBytes(@NotNull Phase phase)
+	{
+		return myPhaseValues.get(phase.ordinal() * 3 + 2);
+	}
+
+	@NotNull
+	public List<String> getProjectPaths()
+	{
+		List<String> paths = new ArrayList<String>(myProjectValues.keySet());
+		Collections.sort(paths);
+		return paths;
+	}
+
+	public long getProjectNanos(@NotNull String projectPath, @NotNull Phase phase)
+	{
+		AtomicLongArray values = myProjectValues.get(FileUtil.toSystemIndependentName(projectPath));
+		return values == null ? 0 : values.get(phase.ordinal());
+	}
+
+	/**
+	 * @return sum of durations of top level phases, nested phases are part of them
+	 */
+	public long getProjectNanos(@NotNull String projectPath)
+	{
+		AtomicLongArray values = myProjectValues.get(FileUtil.toSystemIndependentName(projectPath));
+		if(values == null)
+		{
+			return 0;
+		}
+
+		long nanos = 0;
+		for(Phase phase : ourPhases)
+		{
+			if(phase.getParent() == null)
+			{
+				nanos += values.get(phase.ordinal());
+			}
+		}
+		return nanos;
+	}
+
+	public long getProjectBytes(@NotNull String projectPath)
+	{
+		AtomicLongArray values = myProjectValues.get(FileUtil.toSystemIndependentName(projectPath));
+		return values == null ? 0 : values.get(ourPhases.length);
+	}
+
+	@Override
+	public String toString()
+	{
+		StringBuilder builder = new StringBuilder();
+		builder.append("Visual Studio import");
+		if(mySolutionPath != null)
+		{
+			builder.append(" of ").append(mySolutionPath);
+		}
+		builder.append(isFinished() ? " finished in " : " running for ").append(toMillis(getTotalNanos())).append(" ms, ");
+		builder.append(myProjectValues.size()).append(" projects");
+
+		for(Phase phase : ourPhases)
+		{
+			long count = getCount(phase);
+			if(count == 0)
+			{
+				continue;
+			}
+
+			builder.append(phase.getParent() == null ? "\n  " : "\n    ").append(phase.getPresentableName()).append(": ");
+			builder.append(count).append(" x, ").append(toMillis(getNanos(phase))).append(" ms");
+
+			long bytes = getBytes(phase);
+			if(bytes > 0)
+			{
+				builder.append(", ").append(bytes / 1024).append(" KB");
+			}
+		}
+
+		List<String> projectPaths = getProjectPaths();
+		projectPaths.sort((o1, o2) -> Long.compare(getProjectNanos(o2), getProjectNanos(o1)));
+		for(int i = 0; i < Math.min(SLOWEST_PROJECTS_TO_LOG, projectPaths.size()); i++)
+		{
+			String projectPath = projectPaths.get(i);
+			builder.append("\n  ").append(projectPath).append(": ");
+			builder.append(toMillis(getProjectNanos(projectPath))).append(" ms, ").append(getProjectBytes(projectPath) / 1024).append(" KB");
+		}
+		return builder.toString();
+	}
+
+	private static long toMillis(long nanos)
+	{
+		return TimeUnit.NANOSECONDS.toMillis(nanos);
+	}
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.util;
+
+import java.io.File;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.util.SystemInfo;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.text.StringUtil;
+
+/**
+ * Keys which projects of solution, solution filter and project references are matched by
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioKeyUtil
+{
+	/**
+	 * @return key of file path, case insensitive if file system is
+	 */
+	@NotNull
+	public static String getPathKey(@NotNull File file)
+	{
+		String path = FileUtil.toSystemIndependentName(file.getAbsoluteFile().toPath().normalize().toString());
+		return SystemInfo.isFileSystemCaseSensitive ? path : StringUtil.toLowerCase(path);
+	}
+
+	/**
+	 * @return key of project guid without braces, null if guid is empty
+	 */
+	@Nullable
+	public static String getGuidKey(@Nullable String guid)
+	{
+		if(StringUtil.isEmpty(guid))
+		{
+			return null;
+		}
+		return StringUtil.toUpperCase(StringUtil.trimEnd(StringUtil.trimStart(guid.trim(), "{"), "}"));
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.jetbrains.annotations.NotNull;
+import com.google.common.base.Throwables;
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioParallelUtil
+{
+	public static int getDefaultParallelism()
+	{
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Applies function to all items using up to {@code parallelism} threads
+	 *
+	 * @return results in order of items
+	 */
+	@NotNull
+	public static <T, R> List<R> map(@NotNull List<T> items, int parallelism, @NotNull Function<? super T, ? extends R> function)
+	{
+		List<R> result = new ArrayList<R>(items.size());
+
+		int threads = Math.min(parallelism, items.size());
+		if(threads <= 1)
+		{
+			for(T item : items)
+			{
+				result.add(function.apply(item));
+			}
+			return result;
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try
+		{
+			List<Future<? extends R>> futures = new ArrayList<Future<? extends R>>(items.size());
+			for(final T item : items)
+			{
+				futures.add(pool.submit(() -> function.apply(item)));
+			}
+
+			for(Future<? extends R> future : futures)
+			{
+				result.add(future.get());
+			}
+		}
+		catch(InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw Throwables.propagate(e);
+		}
+		catch(ExecutionException e)
+		{
+			throw Throwables.propagate(e.getCause());
+		}
+		finally
+		{
+			pool.shutdownNow();
+		}
+		return result;
+	}
+}
@@ -17,8 +17,14 @@
 package consulo.visualStudio.util;
 
 import java.io.File;
+import java.io.IOException;
 
-import org.bromix.msbuild.Project;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import consulo.visualStudio.msbuild.MSBuildProjectCache;
+import consulo.visualStudio.msbuild.MSBuildProjectData;
 
 /**
  * @author VISTALL
@@ -26,29 +32,144 @@ import org.bromix.msbuild.Project;
  */
 public class VisualStudioProjectInfo
 {
-	private String myName;
-	private File myFile;
-	private Project myProject;
+	private static final Logger LOGGER = Logger.getInstance(VisualStudioProjectInfo.class);
 
-	public VisualStudioProjectInfo(String name, File file, Project project)
+	private final String myName;
+	private final File myFile;
+	private final String myTypeGuid;
+	private final String myGuid;
+	private final String myConfiguration;
+	private final VisualStudioImportStatistics myStatistics;
+
+	private volatile MSBuildProjectData myProjectData;
+	private boolean myBroken;
+
+	public VisualStudioProjectInfo(@NotNull String name, @NotNull File file, @NotNull String typeGuid)
+	{
+		this(name, file, typeGuid, null);
+	}
+
+	public VisualStudioProjectInfo(@NotNull String name, @NotNull File file, @NotNull String typeGuid, @Nullable String guid)
+	{
+		this(name, file, typeGuid, guid, null);
+	}
+
+	/**
+	 * @param statistics receives loading of project file
+	 */
+	public VisualStudioProjectInfo(@NotNull String name,
+			@NotNull File file,
+			@NotNull String typeGuid,
+			@Nullable String guid,
+			@Nullable VisualStudioImportStatistics statistics)
+	{
+		this(name, file, typeGuid, guid, null, statistics);
+	}
+
+	/**
+	 * @param configuration see {@link #getConfiguration()}
+	 * @param statistics    receives loading of project file
+	 */
+	public VisualStudioProjectInfo(@NotNull String name,
+			@NotNull File file,
+			@NotNull String typeGuid,
+			@Nullable String guid,
+			@Nullable String configuration,
+			@Nullable VisualStudioImportStatistics statistics)
 	{
 		myName = name;
 		myFile = file;
-		myProject = project;
+		myTypeGuid = typeGuid;
+		myGuid = guid;
+		myConfiguration = configuration;
+		myStatistics = statistics;
 	}
 
+	@NotNull
 	public String getName()
 	{
 		return myName;
 	}
 
+	@NotNull
 	public File getFile()
 	{
 		return myFile;
 	}
 
-	public Project getProject()
+	@NotNull
+	public String getTypeGuid()
+	{
+		return myTypeGuid;
+	}
+
+	/**
+	 * @return guid of project from solution file
+	 */
+	@Nullable
+	public String getGuid()
+	{
+		return myGuid;
+	}
+
+	/**
+	 * @return configuration and platform of project, like {@code Debug|AnyCPU}, which solution selects for import. Null if it is not known,
+	 * defaults of project are used then
+	 */
+	@Nullable
+	public String getConfiguration()
+	{
+		return myConfiguration;
+	}
+
+	/**
+	 * Reads project file at first call, see {@link MSBuildProjectCache}
+	 *
+	 * @return null if project file cannot be read
+	 */
+	@Nullable
+	public MSBuildProjectData getProjectData()
+	{
+		MSBuildProjectData data = myProjectData;
+		if(data != null)
+		{
+			return data;
+		}
+
+		synchronized(this)
+		{
+			data = myProjectData;
+			if(data != null || myBroken)
+			{
+				return data;
+			}
+
+			try
+			{
+				data = MSBuildProjectCache.getInstance().load(myFile, myStatistics);
+			}
+			catch(ProcessCanceledException e)
+			{
+				// project is not broken, it is loaded again by next call
+				throw e;
+			}
+			catch(IOException | RuntimeException e)
+			{
+				LOGGER.warn("Failed to load project " + myFile.getPath(), e);
+				myBroken = true;
+				return null;
+			}
+			myProjectData = data;
+			return data;
+		}
+	}
+
+	/**
+	 * Drops loaded project data, next {@link #getProjectData()} will read it again
+	 */
+	public synchronized void releaseProjectData()
 	{
-		return myProject;
+		myProjectData = null;
+		myBroken = false;
 	}
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.util;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Shares {@link VisualStudioAssemblyReference}s, and their names, between projects of one solution. Thread safe, planning of projects runs
+ * in parallel
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioReferenceInterner
+{
+	// raw include -> reference, same include is repeated in most of projects
+	private final ConcurrentMap<String, VisualStudioAssemblyReference> myByInclude = new ConcurrentHashMap<String,
+			VisualStudioAssemblyReference>();
+	private final ConcurrentMap<VisualStudioAssemblyReference, VisualStudioAssemblyReference> myReferences = new
+			ConcurrentHashMap<VisualStudioAssemblyReference, VisualStudioAssemblyReference>();
+	// lower case name -> name as it was seen first time
+	private final ConcurrentMap<String, String> myNames = new ConcurrentHashMap<String, String>();
+
+	/**
+	 * @return null if include has no assembly name
+	 */
+	@Nullable
+	public VisualStudioAssemblyReference intern(@NotNull String include)
+	{
+		VisualStudioAssemblyReference reference = myByInclude.get(include);
+		if(reference != null)
+		{
+			return reference;
+		}
+
+		reference = VisualStudioAssemblyReference.parse(include);
+		if(reference == null)
+		{
+			return null;
+		}
+
+		String name = internName(reference.getName());
+		if(name != reference.getName())
+		{
+			reference = new VisualStudioAssemblyReference(name, reference.getVersion(), reference.getCulture(), reference.getPublicKeyToken());
+		}
+
+		VisualStudioAssemblyReference old = myReferences.putIfAbsent(reference, reference);
+		if(old != null)
+		{
+			reference = old;
+		}
+
+		myByInclude.putIfAbsent(include, reference);
+		return reference;
+	}
+
+	@NotNull
+	private String internName(@NotNull String name)
+	{
+		String old = myNames.putIfAbsent(name.toLowerCase(Locale.US), name);
+		return old == null ? name : old;
+	}
+
+	/**
+	 * @return count of distinct references
+	 */
+	public int size()
+	{
+		return myReferences.size();
+	}
+}
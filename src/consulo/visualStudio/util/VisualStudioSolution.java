@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Structured model of .sln file
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioSolution
+{
+	private String myFormatVersion;
+	private final Map<String, String> myProperties = new LinkedHashMap<String, String>();
+	private final List<VisualStudioSolutionProject> myProjects = new ArrayList<VisualStudioSolutionProject>();
+	private String myConfiguration;
+	// guid key -> project configuration in solution configuration which is imported
+	private final Map<String, String> myProjectConfigurations = new HashMap<String, String>();
+
+	@Nullable
+	public String getFormatVersion()
+	{
+		return myFormatVersion;
+	}
+
+	void setFormatVersion(String formatVersion)
+	{
+		myFormatVersion = formatVersion;
+	}
+
+	/**
+	 * @return header properties, like {@code VisualStudioVersion}
+	 */
+	@NotNull
+	public Map<String, String> getProperties()
+	{
+		return Collections.unmodifiableMap(myProperties);
+	}
+
+	void putProperty(String key, String value)
+	{
+		myProperties.put(key, value);
+	}
+
+	@NotNull
+	public List<VisualStudioSolutionProject> getProjects()
+	{
+		return Collections.unmodifiableList(myProjects);
+	}
+
+	void addProject(VisualStudioSolutionProject project)
+	{
+		myProjects.add(project);
+	}
+
+	/**
+	 * @return first configuration of solution, like {@code Debug|Any CPU}, which is imported. Null if solution has no configurations
+	 */
+	@Nullable
+	public String getConfiguration()
+	{
+		return myConfiguration;
+	}
+
+	void setConfiguration(String configuration)
+	{
+		myConfiguration = configuration;
+	}
+
+	/**
+	 * @return configuration of project, like {@code Debug|AnyCPU}, which is active in {@link #getConfiguration()}. Null if solution
+	 * does not map configurations of project
+	 */
+	@Nullable
+	public String getProjectConfiguration(@NotNull VisualStudioSolutionProject project)
+	{
+		String guidKey = VisualStudioKeyUtil.getGuidKey(project.getGuid());
+		return guidKey == null ? null : myProjectConfigurations.get(guidKey);
+	}
+
+	void putProjectConfiguration(String guid, String configuration)
+	{
+		String guidKey = VisualStudioKeyUtil.getGuidKey(guid);
+		if(guidKey != null)
+		{
+			myProjectConfigurations.put(guidKey, configuration);
+		}
+	}
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import com.google.gson.Gson;
+import com.google.gson.JsonSyntaxException;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.openapi.util.text.StringUtil;
+
+/**
+ * Solution filter file ({@code *.slnf}), which selects subset of projects of solution:
+ * <pre>
+ * {
+ *   "solution": {
+ *     "path": "..\\Big.sln",
+ *     "projects": ["src\\App\\App.csproj"]
+ *   }
+ * }
+ * </pre>
+ * Solution path is relative to filter file, project paths are relative to solution directory
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioSolutionFilter
+{
+	public static final String EXTENSION = "slnf";
+
+	// json model, fields are set by gson
+	private static class FilterBean
+	{
+		private SolutionBean solution;
+	}
+
+	private static class SolutionBean
+	{
+		private String path;
+		private List<String> projects;
+	}
+
+	public static boolean isFilterFile(@NotNull File file)
+	{
+		return EXTENSION.equalsIgnoreCase(FileUtilRt.getExtension(file.getName()));
+	}
+
+	@NotNull
+	public static VisualStudioSolutionFilter read(@NotNull File file) throws IOException
+	{
+		String text = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+		// files saved by Visual Studio start with BOM
+		text = StringUtil.trimStart(text, "\uFEFF");
+
+		FilterBean bean;
+		try(Reader reader = new StringReader(text))
+		{
+			bean = new Gson().fromJson(reader, FilterBean.class);
+		}
+		catch(JsonSyntaxException e)
+		{
+			throw new IOException("Bad solution filter " + file.getPath(), e);
+		}
+
+		if(bean == null || bean.solution == null || StringUtil.isEmpty(bean.solution.path))
+		{
+			throw new IOException("Solution filter " + file.getPath() + " has no solution path");
+		}
+
+		File solutionFile = new File(file.getAbsoluteFile().getParentFile(), FileUtil.toSystemDependentName(bean.solution.path));
+		solutionFile = solutionFile.toPath().normalize().toFile();
+
+		List<String> projectPaths = bean.solution.projects == null ? Collections.<String>emptyList() : bean.solution.projects;
+		return new VisualStudioSolutionFilter(solutionFile, projectPaths);
+	}
+
+	private final File mySolutionFile;
+	private final List<String> myProjectPaths;
+	private final Set<String> myProjectKeys;
+
+	private VisualStudioSolutionFilter(@NotNull File solutionFile, @NotNull List<String> projectPaths)
+	{
+		mySolutionFile = solutionFile;
+		myProjectPaths = new ArrayList<String>(projectPaths.size());
+		myProjectKeys = new HashSet<String>(projectPaths.size());
+		for(String projectPath : projectPaths)
+		{
+			if(StringUtil.isEmpty(projectPath))
+			{
+				continue;
+			}
+			myProjectPaths.add(projectPath);
+			myProjectKeys.add(VisualStudioKeyUtil.getPathKey(getProjectFile(projectPath)));
+		}
+	}
+
+	/**
+	 * @return filtered solution file
+	 */
+	@NotNull
+	public File getSolutionFile()
+	{
+		return mySolutionFile;
+	}
+
+	/**
+	 * @return paths of selected projects as they are written in filter, relative to solution directory
+	 */
+	@NotNull
+	public List<String> getProjectPaths()
+	{
+		return Collections.unmodifiableList(myProjectPaths);
+	}
+
+	/**
+	 * @param projectPath path of project relative to solution directory, as it is written in solution file
+	 */
+	public boolean isSelected(@NotNull String projectPath)
+	{
+		return myProjectKeys.contains(VisualStudioKeyUtil.getPathKey(getProjectFile(projectPath)));
+	}
+
+	@NotNull
+	private File getProjectFile(@NotNull String projectPath)
+	{
+		return new File(mySolutionFile.getParentFile(), FileUtil.toSystemDependentName(projectPath));
+	}
+}
@@ -18,23 +18,27 @@ package consulo.visualStudio.util;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.TreeMap;
 
-import org.bromix.msbuild.MSBuildReader;
-import org.bromix.msbuild.ProjectIOException;
-import com.google.common.base.Charsets;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
-import com.google.common.io.Files;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.util.io.FileUtil;
 import com.intellij.openapi.vfs.VfsUtil;
 import com.intellij.openapi.vfs.VirtualFile;
+import consulo.visualStudio.msbuild.MSBuildItemData;
+import consulo.visualStudio.msbuild.MSBuildProjectData;
 
 public class VisualStudioSolutionParser
 {
-	private static class ParseErrorException extends RuntimeException
+	static class ParseErrorException extends RuntimeException
 	{
 		private static final long serialVersionUID = 1L;
 
@@ -49,58 +53,253 @@ public class VisualStudioSolutionParser
 		}
 	}
 
-	private static final String PROJECT_LINE_LOOKAHEAD = "Project(";
-	private static final Pattern PROJECT_LINE_PATTERN = Pattern.compile("Project\\(\"[^\"]++\"\\)\\s*+=\\s*+\"([^\"]++)\",\\s*+\"([^\"]++)\"," +
-			"" + "\\s*+\"[^\"]++\"");
-
+	/**
+	 * Reads only solution file, project files are loaded on demand, see {@link VisualStudioProjectInfo#getProjectData()}
+	 */
+	@NotNull
 	public static List<VisualStudioProjectInfo> parse(VirtualFile virtualFile)
 	{
-		ImmutableList.Builder<VisualStudioProjectInfo> projectsBuilder = ImmutableList.builder();
+		return parse(VfsUtil.virtualToIoFile(virtualFile));
+	}
 
-		try
+	@NotNull
+	public static List<VisualStudioProjectInfo> parse(@NotNull File file)
+	{
+		return parse(file, false);
+	}
+
+	@NotNull
+	public static List<VisualStudioProjectInfo> parse(@NotNull File file, boolean withReferencedProjects)
+	{
+		return parse(file, withReferencedProjects, null);
+	}
+
+	/**
+	 * @param file                   solution file, or solution filter file. Projects which are not selected by filter are skipped before
+	 *                               reading of their project files
+	 * @param withReferencedProjects if true, projects which are referenced by selected projects are included too, transitively. Has
+	 *                               no effect for solution file, it includes all projects
+	 * @param statistics             receives reading of solution, and later loading of project files by returned infos
+	 */
+	@NotNull
+	public static List<VisualStudioProjectInfo> parse(@NotNull File file,
+			boolean withReferencedProjects,
+			@Nullable VisualStudioImportStatistics statistics)
+	{
+		if(!VisualStudioSolutionFilter.isFilterFile(file))
 		{
-			File file = VfsUtil.virtualToIoFile(virtualFile);
-			int lineNumber = 1;
-			for(String line : Files.readLines(file, Charsets.UTF_8))
+			VisualStudioSolution solution = readSolution(file, statistics);
+
+			ImmutableList.Builder<VisualStudioProjectInfo> projectsBuilder = ImmutableList.builder();
+			for(VisualStudioSolutionProject project : solution.getProjects())
 			{
-				if(line.startsWith(PROJECT_LINE_LOOKAHEAD))
+				ProgressManager.checkCanceled();
+
+				VisualStudioProjectInfo info = createProjectInfo(file, solution, project, statistics);
+				if(info != null)
 				{
-					parseProjectLine(file, lineNumber, line, projectsBuilder);
+					projectsBuilder.add(info);
 				}
-				lineNumber++;
 			}
+			return projectsBuilder.build();
+		}
+
+		VisualStudioSolutionFilter filter = readFilter(file);
+		File solutionFile = filter.getSolutionFile();
+		VisualStudioSolution solution = readSolution(solutionFile, statistics);
+
+		// selected project infos by index of solution project
+		Map<Integer, VisualStudioProjectInfo> selected = new TreeMap<Integer, VisualStudioProjectInfo>();
+		List<VisualStudioProjectInfo> wave = new ArrayList<VisualStudioProjectInfo>();
+		List<VisualStudioSolutionProject> projects = solution.getProjects();
+		for(int i = 0; i < projects.size(); i++)
+		{
+			VisualStudioSolutionProject project = projects.get(i);
+			if(filter.isSelected(project.getPath()))
+			{
+				ProgressManager.checkCanceled();
+
+				VisualStudioProjectInfo info = createProjectInfo(solutionFile, solution, project, statistics);
+				if(info != null)
+				{
+					selected.put(i, info);
+					wave.add(info);
+				}
+			}
+		}
+
+		if(withReferencedProjects)
+		{
+			addReferencedProjects(solutionFile, solution, selected, wave, statistics);
+		}
+		return ImmutableList.copyOf(selected.values());
+	}
+
+	/**
+	 * @return solution file of solution filter, or file itself if it is not filter or filter cannot be read
+	 */
+	@NotNull
+	public static File getSolutionFile(@NotNull File file)
+	{
+		if(!VisualStudioSolutionFilter.isFilterFile(file))
+		{
+			return file;
+		}
+
+		try
+		{
+			return VisualStudioSolutionFilter.read(file).getSolutionFile();
 		}
 		catch(IOException e)
 		{
-			throw Throwables.propagate(e);
+			return file;
 		}
+	}
 
-		return projectsBuilder.build();
+	@NotNull
+	private static VisualStudioSolutionFilter readFilter(@NotNull File file)
+	{
+		try
+		{
+			return VisualStudioSolutionFilter.read(file);
+		}
+		catch(IOException e)
+		{
+			throw Throwables.propagate(e);
+		}
 	}
 
-	private static void parseProjectLine(File file, int lineNumber, String line, ImmutableList.Builder<VisualStudioProjectInfo> builder)
+	/**
+	 * Adds projects of solution which are referenced by {@code ProjectReference} items, wave by wave. Project files of each wave are loaded
+	 * in parallel, and data is released when references are read, import loads it again. Conditions of items are not evaluated, so
+	 * references of all configurations are followed
+	 */
+	private static void addReferencedProjects(@NotNull File solutionFile,
+			@NotNull VisualStudioSolution solution,
+			@NotNull Map<Integer, VisualStudioProjectInfo> selected,
+			@NotNull List<VisualStudioProjectInfo> wave,
+			@Nullable VisualStudioImportStatistics statistics)
 	{
-		Matcher matcher = PROJECT_LINE_PATTERN.matcher(line);
-		if(!matcher.matches())
+		List<VisualStudioSolutionProject> projects = solution.getProjects();
+		Map<String, Integer> byPath = new HashMap<String, Integer>(projects.size());
+		Map<String, Integer> byGuid = new HashMap<String, Integer>(projects.size());
+		for(int i = 0; i < projects.size(); i++)
+		{
+			VisualStudioSolutionProject project = projects.get(i);
+			File projectFile = new File(solutionFile.getParent(), FileUtil.toSystemDependentName(project.getPath()));
+			byPath.putIfAbsent(VisualStudioKeyUtil.getPathKey(projectFile), i);
+			String guidKey = VisualStudioKeyUtil.getGuidKey(project.getGuid());
+			if(guidKey != null)
+			{
+				byGuid.putIfAbsent(guidKey, i);
+			}
+		}
+
+		while(!wave.isEmpty())
 		{
-			throw new ParseErrorException("Expected the line " + lineNumber + " of " + file.getAbsolutePath() + " to match the regular expression "
-					+ PROJECT_LINE_PATTERN);
+			loadProjects(wave, VisualStudioParallelUtil.getDefaultParallelism());
+
+			List<VisualStudioProjectInfo> nextWave = new ArrayList<VisualStudioProjectInfo>();
+			for(VisualStudioProjectInfo info : wave)
+			{
+				MSBuildProjectData projectData = info.getProjectData();
+				if(projectData == null)
+				{
+					continue;
+				}
+
+				for(MSBuildItemData item : projectData.getItems("ProjectReference"))
+				{
+					Integer index = null;
+					String include = item.getInclude();
+					// paths with properties are not expanded, project is found by guid then
+					if(include != null && !include.contains("$("))
+					{
+						File projectFile = new File(info.getFile().getParentFile(), FileUtil.toSystemDependentName(include));
+						index = byPath.get(VisualStudioKeyUtil.getPathKey(projectFile));
+					}
+					if(index == null)
+					{
+						String guidKey = VisualStudioKeyUtil.getGuidKey(item.getMetadata("Project"));
+						index = guidKey == null ? null : byGuid.get(guidKey);
+					}
+
+					if(index == null || selected.containsKey(index))
+					{
+						continue;
+					}
+
+					VisualStudioProjectInfo referencedInfo = createProjectInfo(solutionFile, solution, projects.get(index), statistics);
+					if(referencedInfo != null)
+					{
+						selected.put(index, referencedInfo);
+						nextWave.add(referencedInfo);
+					}
+				}
+				info.releaseProjectData();
+			}
+			wave = nextWave;
 		}
+	}
 
-		String name = matcher.group(1);
-		String relativePath = matcher.group(2);
+	@NotNull
+	public static VisualStudioSolution readSolution(@NotNull File file)
+	{
+		return readSolution(file, null);
+	}
+
+	@NotNull
+	public static VisualStudioSolution readSolution(@NotNull File file, @Nullable VisualStudioImportStatistics statistics)
+	{
+		long start = System.nanoTime();
 		try
 		{
-			File projectFile = new File(file.getParent(), FileUtil.toSystemDependentName(relativePath));
-			if(projectFile.isDirectory() || !projectFile.exists())
+			return VisualStudioSolutionReader.read(file, ProgressManager.getInstance().getProgressIndicator());
+		}
+		catch(IOException e)
+		{
+			throw Throwables.propagate(e);
+		}
+		finally
+		{
+			if(statistics != null)
 			{
-				return;
+				statistics.record(VisualStudioImportStatistics.Phase.SOLUTION_READ, null, start, file.length());
 			}
-			builder.add(new VisualStudioProjectInfo(name, projectFile, new MSBuildReader().readProject(projectFile)));
 		}
-		catch(ProjectIOException e)
+	}
+
+	/**
+	 * Loads project data using up to {@code parallelism} threads. Projects which failed to load are reported and skipped,
+	 * their {@link VisualStudioProjectInfo#getProjectData()} returns null. Loading is canceled by progress indicator of current thread
+	 */
+	public static void loadProjects(@NotNull List<VisualStudioProjectInfo> projects, int parallelism)
+	{
+		// pool threads do not have indicator of current thread
+		ProgressIndicator indicator = ProgressManager.getInstance().getProgressIndicator();
+		VisualStudioParallelUtil.map(projects, parallelism, info ->
+		{
+			if(indicator != null)
+			{
+				indicator.checkCanceled();
+			}
+			return info.getProjectData();
+		});
+	}
+
+	@Nullable
+	private static VisualStudioProjectInfo createProjectInfo(File file,
+			VisualStudioSolution solution,
+			VisualStudioSolutionProject project,
+			@Nullable VisualStudioImportStatistics statistics)
+	{
+		File projectFile = new File(file.getParent(), FileUtil.toSystemDependentName(project.getPath()));
+		// solution folders are not files
+		if(projectFile.isDirectory() || !projectFile.exists())
 		{
-			e.printStackTrace();
+			return null;
 		}
+		return new VisualStudioProjectInfo(project.getName(), projectFile, project.getTypeGuid(), project.getGuid(),
+				solution.getProjectConfiguration(project), statistics);
 	}
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.util;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * {@code Project(...) = ... EndProject} block of solution file
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioSolutionProject
+{
+	private final String myTypeGuid;
+	private final String myName;
+	private final String myPath;
+	private final String myGuid;
+
+	public VisualStudioSolutionProject(@NotNull String typeGuid, @NotNull String name, @NotNull String path, @NotNull String guid)
+	{
+		myTypeGuid = typeGuid;
+		myName = name;
+		myPath = path;
+		myGuid = guid;
+	}
+
+	@NotNull
+	public String getTypeGuid()
+	{
+		return myTypeGuid;
+	}
+
+	@NotNull
+	public String getName()
+	{
+		return myName;
+	}
+
+	/**
+	 * @return path relative to solution directory, with windows separators
+	 */
+	@NotNull
+	public String getPath()
+	{
+		return myPath;
+	}
+
+	@NotNull
+	public String getGuid()
+	{
+		return myGuid;
+	}
+}
@@ -0,0 +1,552 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.google.common.base.Charsets;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressIndicator;
+
+/**
+ * Single pass .sln tokenizer. Lines are scanned inside reusable char buffers, strings are created only for values which are
+ * stored in {@link VisualStudioSolution}. Entries of sections are not kept, except configuration mapping which is used by import
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioSolutionReader
+{
+	private static final Logger LOGGER = Logger.getInstance(VisualStudioSolutionReader.class);
+
+	private static final char BOM = '\uFEFF';
+
+	private static final String FORMAT_VERSION_HEADER = "Microsoft Visual Studio Solution File, Format Version";
+	private static final String PROJECT = "Project(";
+	private static final String END_PROJECT = "EndProject";
+	private static final String PROJECT_SECTION = "ProjectSection(";
+	private static final String END_PROJECT_SECTION = "EndProjectSection";
+	private static final String GLOBAL = "Global";
+	private static final String END_GLOBAL = "EndGlobal";
+	private static final String GLOBAL_SECTION = "GlobalSection(";
+	private static final String END_GLOBAL_SECTION = "EndGlobalSection";
+	private static final String SOLUTION_CONFIGURATIONS = "SolutionConfigurationPlatforms";
+	private static final String PROJECT_CONFIGURATIONS = "ProjectConfigurationPlatforms";
+	private static final String ACTIVE_CONFIGURATION_SUFFIX = ".ActiveCfg";
+
+	private enum Section
+	{
+		// entries are not used by import
+		OTHER,
+		// header is malformed, entries are skipped without warnings
+		MALFORMED,
+		SOLUTION_CONFIGURATIONS,
+		PROJECT_CONFIGURATIONS
+	}
+
+	@NotNull
+	public static VisualStudioSolution read(@NotNull File file) throws IOException
+	{
+		return read(file, null);
+	}
+
+	/**
+	 * @param indicator reading is canceled by it, it is checked once per buffer
+	 */
+	@NotNull
+	public static VisualStudioSolution read(@NotNull File file, @Nullable ProgressIndicator indicator) throws IOException
+	{
+		try (InputStream stream = new FileInputStream(file))
+		{
+			return new VisualStudioSolutionReader(file.getPath(), new InputStreamReader(stream, Charsets.UTF_8), indicator).read();
+		}
+	}
+
+	private final String myFileName;
+	private final Reader myReader;
+	private final ProgressIndicator myIndicator;
+
+	private final char[] myBuffer = new char[8192];
+	private int myBufferPosition;
+	private int myBufferLength;
+	private boolean myFirstChunk = true;
+	private boolean mySkipLineFeed;
+
+	private char[] myLine = new char[256];
+	private int myLineNumber;
+	private int myPosition;
+	private int myEnd;
+
+	// ActiveCfg entries which are read before solution configurations: guid, solution configuration, project configuration
+	private final List<String[]> myPendingConfigurations = new ArrayList<String[]>();
+
+	public VisualStudioSolutionReader(@NotNull String fileName, @NotNull Reader reader)
+	{
+		this(fileName, reader, null);
+	}
+
+	public VisualStudioSolutionReader(@NotNull String fileName, @NotNull Reader reader, @Nullable ProgressIndicator indicator)
+	{
+		myFileName = fileName;
+		myReader = reader;
+		myIndicator = indicator;
+	}
+
+	@NotNull
+	public VisualStudioSolution read() throws IOException
+	{
+		VisualStudioSolution solution = new VisualStudioSolution();
+
+		VisualStudioSolutionProject project = null;
+		Section section = null;
+		boolean global = false;
+
+		while(nextLine())
+		{
+			if(myPosition == myEnd)
+			{
+				continue;
+			}
+
+			// hand merged files can miss end of block, block is closed by start of next one
+			if((project != null || global) && (startsWith(PROJECT) || project != null && matches(GLOBAL)))
+			{
+				warn("missing '" + (project != null ? END_PROJECT : END_GLOBAL) + "', block is closed");
+				project = null;
+				section = null;
+				global = false;
+			}
+			else if(section != null && matches(project != null ? END_PROJECT : END_GLOBAL))
+			{
+				warn("missing '" + (project != null ? END_PROJECT_SECTION : END_GLOBAL_SECTION) + "', section is closed");
+				section = null;
+			}
+
+			if(section != null)
+			{
+				if(matches(project != null ? END_PROJECT_SECTION : END_GLOBAL_SECTION))
+				{
+					section = null;
+				}
+				else
+				{
+					readEntry(solution, section);
+				}
+			}
+			else if(project != null)
+			{
+				if(matches(END_PROJECT))
+				{
+					project = null;
+				}
+				else if(startsWith(PROJECT_SECTION))
+				{
+					section = readSectionHeader(PROJECT_SECTION);
+				}
+				else
+				{
+					warn("unexpected line inside project block, line is skipped");
+				}
+			}
+			else if(global)
+			{
+				if(matches(END_GLOBAL))
+				{
+					global = false;
+				}
+				else if(startsWith(GLOBAL_SECTION))
+				{
+					section = readSectionHeader(GLOBAL_SECTION);
+				}
+				else
+				{
+					warn("unexpected line inside global block, line is skipped");
+				}
+			}
+			else if(myLine[myPosition] == '#')
+			{
+				// comment, like '# Visual Studio 14'
+			}
+			else if(startsWith(PROJECT))
+			{
+				project = readProjectHeader();
+				solution.addProject(project);
+			}
+			else if(matches(GLOBAL))
+			{
+				global = true;
+			}
+			else if(startsWith(FORMAT_VERSION_HEADER))
+			{
+				myPosition += FORMAT_VERSION_HEADER.length();
+				skipWhitespaces();
+				solution.setFormatVersion(new String(myLine, myPosition, myEnd - myPosition));
+			}
+			else
+			{
+				int separator = indexOf('=');
+				if(separator != -1)
+				{
+					solution.putProperty(trimmed(myPosition, separator), trimmed(separator + 1, myEnd));
+				}
+			}
+		}
+
+		if(project != null || section != null || global)
+		{
+			warn("unexpected end of file, last block is not closed");
+		}
+
+		for(String[] configuration : myPendingConfigurations)
+		{
+			if(configuration[1].equals(solution.getConfiguration()))
+			{
+				solution.putProjectConfiguration(configuration[0], configuration[2]);
+			}
+		}
+		return solution;
+	}
+
+	private VisualStudioSolutionProject readProjectHeader()
+	{
+		// Project("{TYPE-GUID}") = "Name", "Path", "{GUID}"
+		myPosition += PROJECT.length();
+		String typeGuid = readQuoted();
+		expect(')');
+		expect('=');
+		String name = readQuoted();
+		expect(',');
+		String path = readQuoted();
+		expect(',');
+		String guid = readQuoted();
+		return new VisualStudioSolutionProject(typeGuid, name, path, guid);
+	}
+
+	/**
+	 * @return {@link Section#MALFORMED} if header is malformed, entries of section are skipped then
+	 */
+	@NotNull
+	private Section readSectionHeader(String prefix)
+	{
+		// ProjectSection(Name) = phase
+		myPosition += prefix.length();
+		int close = indexOf(')');
+		if(close == -1)
+		{
+			warn("expected ')', section is skipped");
+			return Section.MALFORMED;
+		}
+		int nameStart = trimStart(myPosition, close);
+		int nameEnd = trimEnd(nameStart, close);
+		myPosition = close + 1;
+		if(indexOf('=') == -1)
+		{
+			warn("expected '=', section is skipped");
+			return Section.MALFORMED;
+		}
+
+		if(regionEquals(nameStart, nameEnd, SOLUTION_CONFIGURATIONS))
+		{
+			return Section.SOLUTION_CONFIGURATIONS;
+		}
+		if(regionEquals(nameStart, nameEnd, PROJECT_CONFIGURATIONS))
+		{
+			return Section.PROJECT_CONFIGURATIONS;
+		}
+		return Section.OTHER;
+	}
+
+	private void readEntry(VisualStudioSolution solution, Section section)
+	{
+		if(section == Section.MALFORMED)
+		{
+			return;
+		}
+
+		int separator = indexOf('=');
+		if(separator == -1)
+		{
+			warn("expected '=', line is skipped");
+			return;
+		}
+
+		if(section == Section.SOLUTION_CONFIGURATIONS)
+		{
+			// Debug|Any CPU = Debug|Any CPU, first configuration is imported
+			if(solution.getConfiguration() == null)
+			{
+				solution.setConfiguration(trimmed(myPosition, separator));
+			}
+		}
+		else if(section == Section.PROJECT_CONFIGURATIONS)
+		{
+			readProjectConfiguration(solution, separator);
+		}
+	}
+
+	private void readProjectConfiguration(VisualStudioSolution solution, int separator)
+	{
+		// {GUID}.Debug|Any CPU.ActiveCfg = Debug|AnyCPU, other entries like Build.0 are skipped without creation of strings
+		int keyEnd = trimEnd(myPosition, separator);
+		int configurationEnd = keyEnd - ACTIVE_CONFIGURATION_SUFFIX.length();
+		if(configurationEnd <= myPosition || !regionEquals(configurationEnd, keyEnd, ACTIVE_CONFIGURATION_SUFFIX))
+		{
+			return;
+		}
+
+		int guidEnd = myPosition;
+		while(guidEnd < configurationEnd && myLine[guidEnd] != '.')
+		{
+			guidEnd++;
+		}
+		if(guidEnd == configurationEnd)
+		{
+			return;
+		}
+
+		String solutionConfiguration = solution.getConfiguration();
+		if(solutionConfiguration == null)
+		{
+			myPendingConfigurations.add(new String[]{
+					trimmed(myPosition, guidEnd),
+					trimmed(guidEnd + 1, configurationEnd),
+					trimmed(separator + 1, myEnd)
+			});
+		}
+		else if(regionEquals(trimStart(guidEnd + 1, configurationEnd), trimEnd(guidEnd + 1, configurationEnd), solutionConfiguration))
+		{
+			solution.putProjectConfiguration(trimmed(myPosition, guidEnd), trimmed(separator + 1, myEnd));
+		}
+	}
+
+	private String readQuoted()
+	{
+		expect('"');
+		int start = myPosition;
+		while(myPosition < myEnd && myLine[myPosition] != '"')
+		{
+			myPosition++;
+		}
+		if(myPosition == myEnd)
+		{
+			throw error("unterminated string");
+		}
+		String value = new String(myLine, start, myPosition - start);
+		myPosition++;
+		return value;
+	}
+
+	private void expect(char c)
+	{
+		skipWhitespaces();
+		if(myPosition == myEnd || myLine[myPosition] != c)
+		{
+			throw error("expected '" + c + "'");
+		}
+		myPosition++;
+	}
+
+	private void skipWhitespaces()
+	{
+		while(myPosition < myEnd && Character.isWhitespace(myLine[myPosition]))
+		{
+			myPosition++;
+		}
+	}
+
+	private int indexOf(char c)
+	{
+		for(int i = myPosition; i < myEnd; i++)
+		{
+			if(myLine[i] == c)
+			{
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private String trimmed(int start, int end)
+	{
+		start = trimStart(start, end);
+		end = trimEnd(start, end);
+		return new String(myLine, start, end - start);
+	}
+
+	private int trimStart(int start, int end)
+	{
+		while(start < end && Character.isWhitespace(myLine[start]))
+		{
+			start++;
+		}
+		return start;
+	}
+
+	private int trimEnd(int start, int end)
+	{
+		while(end > start && Character.isWhitespace(myLine[end - 1]))
+		{
+			end--;
+		}
+		return end;
+	}
+
+	private boolean regionEquals(int start, int end, String value)
+	{
+		if(end - start != value.length())
+		{
+			return false;
+		}
+		for(int i = 0; i < end - start; i++)
+		{
+			if(myLine[start + i] != value.charAt(i))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean startsWith(String prefix)
+	{
+		int length = prefix.length();
+		if(myEnd - myPosition < length)
+		{
+			return false;
+		}
+		for(int i = 0; i < length; i++)
+		{
+			if(myLine[myPosition + i] != prefix.charAt(i))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean matches(String keyword)
+	{
+		return myEnd - myPosition == keyword.length() && startsWith(keyword);
+	}
+
+	/**
+	 * Reads next line into {@link #myLine}, and sets {@link #myPosition} and {@link #myEnd} to trimmed bounds
+	 */
+	private boolean nextLine() throws IOException
+	{
+		int length = 0;
+		boolean any = false;
+		while(true)
+		{
+			if(myBufferPosition == myBufferLength && !fill())
+			{
+				if(!any)
+				{
+					return false;
+				}
+				break;
+			}
+
+			char c = myBuffer[myBufferPosition++];
+			if(mySkipLineFeed)
+			{
+				mySkipLineFeed = false;
+				if(c == '\n')
+				{
+					continue;
+				}
+			}
+
+			any = true;
+			if(c == '\n')
+			{
+				break;
+			}
+			if(c == '\r')
+			{
+				mySkipLineFeed = true;
+				break;
+			}
+
+			if(length == myLine.length)
+			{
+				char[] line = new char[length << 1];
+				System.arraycopy(myLine, 0, line, 0, length);
+				myLine = line;
+			}
+			myLine[length++] = c;
+		}
+
+		myLineNumber++;
+		myPosition = 0;
+		myEnd = length;
+		skipWhitespaces();
+		while(myEnd > myPosition && Character.isWhitespace(myLine[myEnd - 1]))
+		{
+			myEnd--;
+		}
+		return true;
+	}
+
+	private boolean fill() throws IOException
+	{
+		if(myIndicator != null)
+		{
+			myIndicator.checkCanceled();
+		}
+
+		int read = myReader.read(myBuffer, 0, myBuffer.length);
+		if(read <= 0)
+		{
+			return false;
+		}
+		myBufferPosition = 0;
+		myBufferLength = read;
+		if(myFirstChunk)
+		{
+			myFirstChunk = false;
+			if(myBuffer[0] == BOM)
+			{
+				myBufferPosition = 1;
+				return read > 1 || fill();
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reports malformed line. Old parser ignored unknown lines, so such files are still imported
+	 */
+	private void warn(String message)
+	{
+		LOGGER.warn("Line " + myLineNumber + " of " + myFileName + ": " + message);
+	}
+
+	private VisualStudioSolutionParser.ParseErrorException error(String message)
+	{
+		return new VisualStudioSolutionParser.ParseErrorException("Error at line " + myLineNumber + " of " + myFileName + ": " + message);
+	}
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package consulo.visualStudio.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+
+/**
+ * Resolves many files to {@link VirtualFile}s at once. Instead of looking up every file separately, directories of all requested files are
+ * refreshed in one batch. Content roots are refreshed without their excluded directories, so build output and packages are not loaded
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class VisualStudioVirtualFileResolver
+{
+	private final Set<String> myPaths = new LinkedHashSet<String>();
+	private final Set<File> myFileDirectories = new LinkedHashSet<File>();
+	// content root directory -> paths of excluded directories
+	private final Map<File, Set<String>> myContentRoots = new LinkedHashMap<File, Set<String>>();
+	private Map<String, VirtualFile> myResolved;
+
+	public void addFile(@NotNull File file)
+	{
+		myPaths.add(normalize(file));
+		File parent = file.getAbsoluteFile().getParentFile();
+		if(parent != null)
+		{
+			myFileDirectories.add(parent);
+		}
+	}
+
+	public void addContentRoot(@NotNull File directory, @NotNull Collection<File> excludedDirectories)
+	{
+		myPaths.add(normalize(directory));
+
+		Set<String> excludedPaths = myContentRoots.get(directory);
+		if(excludedPaths == null)
+		{
+			excludedPaths = new HashSet<String>();
+			myContentRoots.put(directory, excludedPaths);
+		}
+		for(File excludedDirectory : excludedDirectories)
+		{
+			excludedPaths.add(normalize(excludedDirectory));
+		}
+	}
+
+	/**
+	 * Walks content roots and refreshes found directories, must not be called on dispatch thread or in read action
+	 */
+	public void resolve()
+	{
+		Set<File> refreshDirectories = new LinkedHashSet<File>(myFileDirectories);
+		for(Map.Entry<File, Set<String>> entry : myContentRoots.entrySet())
+		{
+			collectDirectories(entry.getKey(), entry.getValue(), refreshDirectories);
+		}
+
+		// directories are refreshed with their children only, excluded directories are not visited
+		LocalFileSystem fileSystem = LocalFileSystem.getInstance();
+		fileSystem.refreshIoFiles(refreshDirectories, false, false, null);
+
+		myResolved = new HashMap<String, VirtualFile>(myPaths.size());
+		for(String path : myPaths)
+		{
+			VirtualFile file = fileSystem.findFileByIoFile(new File(FileUtil.toSystemDependentName(path)));
+			if(file != null)
+			{
+				myResolved.put(path, file);
+			}
+		}
+	}
+
+	@Nullable
+	public VirtualFile get(@NotNull File file)
+	{
+		if(myResolved == null)
+		{
+			throw new IllegalStateException("resolve() is not called");
+		}
+		return myResolved.get(normalize(file));
+	}
+
+	private static void collectDirectories(@NotNull File contentRoot,
+			@NotNull final Set<String> excludedPaths,
+			@NotNull final Set<File> result)
+	{
+		if(!contentRoot.isDirectory())
+		{
+			return;
+		}
+
+		try
+		{
+			// symbolic links to directories are not followed, they can't make a cycle
+			Files.walkFileTree(contentRoot.toPath(), new SimpleFileVisitor<Path>()
+			{
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+				{
+					File directory = dir.toFile();
+					if(excludedPaths.contains(normalize(directory)))
+					{
+						return FileVisitResult.SKIP_SUBTREE;
+					}
+					result.add(directory);
+					return FileVisitResult.CONTINUE;
+				}
+
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException exc)
+				{
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		}
+		catch(IOException ignored)
+		{
+			// directories found before error are refreshed
+		}
+	}
+
+	@NotNull
+	private static String normalize(File file)
+	{
+		return FileUtil.toCanonicalPath(FileUtil.toSystemIndependentName(file.getPath()));
+	}
+}
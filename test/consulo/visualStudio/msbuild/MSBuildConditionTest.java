@@ -0,0 +1,230 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.msbuild;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+import com.intellij.openapi.util.io.FileUtil;
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildConditionTest
+{
+	@Test
+	public void testNumbers()
+	{
+		assertTrue(evaluate("'$(Version)' == '4.0'", "Version", "4"));
+		assertTrue(evaluate("'$(Version)' != '4.5'", "Version", "4"));
+		assertTrue(evaluate("'$(Version)' >= '10'", "Version", "10.0"));
+		assertTrue(evaluate("'$(Version)' > 9", "Version", "0x10"));
+		assertFalse(evaluate("'$(Version)' < '10'", "Version", "12"));
+		assertTrue(evaluate("-1 < 0"));
+	}
+
+	@Test
+	public void testRelationalOperatorsNeedNumbers()
+	{
+		assertFalse(evaluate("'$(Version)' < '10'", "Version", "v4.5"));
+		assertFalse(evaluate("'$(Version)' >= '10'"));
+		// 'NaN' and 'Infinity' are not numbers of MSBuild
+		assertFalse(evaluate("'NaN' < '1'"));
+		assertFalse(evaluate("'Infinity' > '1'"));
+	}
+
+	@Test
+	public void testBooleans()
+	{
+		assertTrue(evaluate("'$(Optimize)' == 'true'", "Optimize", "on"));
+		assertTrue(evaluate("'$(Optimize)' == 'TRUE'", "Optimize", "yes"));
+		assertTrue(evaluate("'$(Optimize)' != 'true'", "Optimize", "off"));
+		assertTrue(evaluate("'$(Optimize)' == 'false'", "Optimize", "no"));
+
+		assertTrue(evaluate("'$(Optimize)'", "Optimize", "Yes"));
+		assertTrue(evaluate("$(Optimize)", "Optimize", "true"));
+		assertFalse(evaluate("'$(Optimize)'", "Optimize", "off"));
+		// not boolean value is false
+		assertFalse(evaluate("'$(Optimize)'", "Optimize", "1"));
+		assertFalse(evaluate("'$(Optimize)'"));
+	}
+
+	@Test
+	public void testStrings()
+	{
+		assertTrue(evaluate("'$(Configuration)' == 'debug'", "Configuration", "Debug"));
+		assertTrue(evaluate("'$(Configuration)|$(Platform)' == 'Release|AnyCPU'", "Configuration", "Release", "Platform", "AnyCPU"));
+		assertFalse(evaluate("'$(Configuration)|$(Platform)' == 'Release|AnyCPU'", "Configuration", "Release", "Platform", "x86"));
+		// not defined property is empty string
+		assertTrue(evaluate("'$(Undefined)' == ''"));
+		assertTrue(evaluate("'$(Undefined)suffix' == 'SUFFIX'"));
+		// string is not coerced to boolean if other side is not boolean
+		assertFalse(evaluate("'true' == 'yes1'"));
+	}
+
+	@Test
+	public void testNot()
+	{
+		assertTrue(evaluate("!'$(Optimize)'", "Optimize", "false"));
+		assertFalse(evaluate("!$(Optimize)", "Optimize", "true"));
+		assertTrue(evaluate("!'$(Optimize)' == 'true'", "Optimize", "false"));
+		assertTrue(evaluate("!!'$(Optimize)'", "Optimize", "true"));
+		assertTrue(evaluate("!('$(A)' == 'a' and '$(B)' == 'b')", "A", "a"));
+	}
+
+	@Test
+	public void testNotInsideOperand()
+	{
+		// '!' inside of operand negates boolean value
+		assertTrue(evaluate("'!$(Optimize)'", "Optimize", "false"));
+		assertFalse(evaluate("'!$(Optimize)'", "Optimize", "true"));
+		assertTrue(evaluate("'!$(Optimize)' == 'false'", "Optimize", "on"));
+		assertTrue(evaluate("'!$(Optimize)' == '!true'", "Optimize", "yes"));
+	}
+
+	@Test
+	public void testAndOr()
+	{
+		// 'and' binds stronger than 'or'
+		assertTrue(evaluate("'a' == 'b' or 'c' == 'c' and 'd' == 'd'"));
+		assertFalse(evaluate("('a' == 'b' or 'c' == 'c') and 'd' == 'e'"));
+		assertTrue(evaluate("'a' == 'a' AND 'b' == 'b' Or 'c' == 'd'"));
+		assertFalse(evaluate("'a' == 'b' or 'c' == 'd'"));
+	}
+
+	@Test
+	public void testFunctions() throws IOException
+	{
+		File directory = FileUtil.createTempDirectory("msbuild-condition", null);
+		try
+		{
+			Files.write(new File(directory, "Directory.Build.props").toPath(), new byte[0]);
+			String projectDirectory = directory.getPath();
+
+			assertTrue(evaluate("Exists('Directory.Build.props')", "MSBuildProjectDirectory", projectDirectory));
+			assertTrue(evaluate("exists('$(MSBuildProjectDirectory)/Directory.Build.props')", "MSBuildProjectDirectory", projectDirectory));
+			assertTrue(evaluate("!Exists('Missing.props')", "MSBuildProjectDirectory", projectDirectory));
+			assertFalse(evaluate("Exists('$(Undefined)')"));
+		}
+		finally
+		{
+			FileUtil.delete(directory);
+		}
+
+		assertTrue(evaluate("HasTrailingSlash('$(OutDir)')", "OutDir", "bin\\"));
+		assertTrue(evaluate("HasTrailingSlash('$(OutDir)')", "OutDir", "bin/"));
+		assertFalse(evaluate("HasTrailingSlash('$(OutDir)')", "OutDir", "bin"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testMissingOperand()
+	{
+		MSBuildConditionParser.parse("'$(A)' ==");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnclosedString()
+	{
+		MSBuildConditionParser.parse("'$(A)' == 'a");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnclosedProperty()
+	{
+		MSBuildConditionParser.parse("'$(A' == 'a'");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownFunction()
+	{
+		MSBuildConditionParser.parse("Missing('a')");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testTrailingText()
+	{
+		MSBuildConditionParser.parse("'a' == 'a' 'b'");
+	}
+
+	@Test
+	public void testCollectPropertyValues()
+	{
+		assertEquals(values("Configuration", "Debug", "Platform", "AnyCPU"), collect("'$(Configuration)|$(Platform)' == 'Debug|AnyCPU'"));
+		assertEquals(values("Configuration", "Debug", "Platform", "AnyCPU"), collect("'Debug|AnyCPU' == '$(Configuration)|$(Platform)'"));
+		assertEquals(values("Configuration", "Debug", "Platform", "AnyCPU"), collect("'$(Configuration)|$(Platform)' != 'Debug|AnyCPU'"));
+		// separator is matched ignoring case
+		assertEquals(values("A", "1", "B", "2"), collect("'x$(A)-Y-$(B)' == 'X1-y-2'"));
+		assertEquals(values("Configuration", "Debug", "Configuration", "Release"), collect("'$(Configuration)' == 'Debug' or " +
+				"'$(Configuration)' == 'Release'"));
+	}
+
+	@Test
+	public void testCollectPropertyValuesWithoutMatch()
+	{
+		// properties without separator cannot be split
+		assertEquals(values(), collect("'$(A)$(B)' == 'ab'"));
+		assertEquals(values(), collect("'prefix$(A)' == 'other'"));
+		assertEquals(values(), collect("'$(A)|$(B)' == 'ab'"));
+		assertEquals(values(), collect("'$(A)' == '$(B)'"));
+		// only equality defines value
+		assertEquals(values(), collect("'$(A)' < '2'"));
+	}
+
+	private static boolean evaluate(@NotNull String condition, @NotNull String... properties)
+	{
+		Map<String, String> map = new HashMap<String, String>();
+		for(int i = 0; i < properties.length; i += 2)
+		{
+			map.put(properties[i], properties[i + 1]);
+		}
+		return MSBuildConditionParser.parse(condition).evaluate(map::get);
+	}
+
+	@NotNull
+	private static Map<String, Set<String>> collect(@NotNull String condition)
+	{
+		Map<String, Set<String>> values = new LinkedHashMap<String, Set<String>>();
+		MSBuildConditionParser.parse(condition).collectPropertyValues(values);
+		return values;
+	}
+
+	@NotNull
+	private static Map<String, Set<String>> values(@NotNull String... nameValuePairs)
+	{
+		Map<String, Set<String>> values = new LinkedHashMap<String, Set<String>>();
+		for(int i = 0; i < nameValuePairs.length; i += 2)
+		{
+			values.computeIfAbsent(nameValuePairs[i], name -> new LinkedHashSet<String>()).addAll(Arrays.asList(nameValuePairs[i + 1]));
+		}
+		return values;
+	}
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.msbuild;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+import com.intellij.openapi.util.io.FileUtil;
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildGlobPatternTest
+{
+	@Test
+	public void testBaseDirectory()
+	{
+		assertEquals("src/Generated", MSBuildGlobPattern.compile("src\\Generated\\*.cs").getBaseDirectory());
+		assertEquals("src", MSBuildGlobPattern.compile("src/**/*.cs").getBaseDirectory());
+		assertEquals("", MSBuildGlobPattern.compile("**\\*.cs").getBaseDirectory());
+		assertEquals("", MSBuildGlobPattern.compile("*.cs").getBaseDirectory());
+		assertEquals("/shared", MSBuildGlobPattern.compile("/shared/*.cs").getBaseDirectory());
+		// wildcard directory ends base directory
+		assertEquals("src", MSBuildGlobPattern.compile("src/*/Properties/*.cs").getBaseDirectory());
+	}
+
+	@Test
+	public void testSingleSegmentWildcards()
+	{
+		MSBuildGlobPattern pattern = MSBuildGlobPattern.compile("src\\*.cs");
+		assertTrue(pattern.matches(path("Program.cs")));
+		assertTrue(pattern.matches(path(".cs")));
+		assertFalse(pattern.matches(path("Program.csx")));
+		assertFalse(pattern.matches(path("Folder/Program.cs")));
+
+		MSBuildGlobPattern questionMark = MSBuildGlobPattern.compile("Class?.cs");
+		assertTrue(questionMark.matches(path("Class1.cs")));
+		assertFalse(questionMark.matches(path("Class.cs")));
+		assertFalse(questionMark.matches(path("Class10.cs")));
+
+		// regular expression characters are literals
+		MSBuildGlobPattern special = MSBuildGlobPattern.compile("a+b(1)*.cs");
+		assertTrue(special.matches(path("a+b(1)x.cs")));
+		assertFalse(special.matches(path("aab1x.cs")));
+	}
+
+	@Test
+	public void testAnyDirectories()
+	{
+		MSBuildGlobPattern pattern = MSBuildGlobPattern.compile("**\\*.cs");
+		assertTrue(pattern.matches(path("Program.cs")));
+		assertTrue(pattern.matches(path("a/b/c/Program.cs")));
+		assertFalse(pattern.matches(path("a/b/c/Program.vb")));
+
+		MSBuildGlobPattern middle = MSBuildGlobPattern.compile("src/**/Tests/*.cs");
+		assertTrue(middle.matches(path("Tests/A.cs")));
+		assertTrue(middle.matches(path("a/b/Tests/A.cs")));
+		assertFalse(middle.matches(path("a/b/A.cs")));
+		assertFalse(middle.matches(path("Tests/a/A.cs")));
+
+		// '**/**' is same as '**'
+		MSBuildGlobPattern repeated = MSBuildGlobPattern.compile("**/**/*.cs");
+		assertTrue(repeated.matches(path("A.cs")));
+		assertTrue(repeated.matches(path("a/b/A.cs")));
+	}
+
+	@Test
+	public void testMatchesWholeDirectory()
+	{
+		MSBuildGlobPattern obj = MSBuildGlobPattern.compile("obj\\**");
+		assertEquals("obj", obj.getBaseDirectory());
+		assertTrue(obj.matchesWholeDirectory(path("")));
+		assertTrue(obj.matchesWholeDirectory(path("Debug")));
+
+		assertTrue(MSBuildGlobPattern.compile("**/*").matchesWholeDirectory(path("any/directory")));
+		assertTrue(MSBuildGlobPattern.compile("bin/**/*").matchesWholeDirectory(path("Debug")));
+		assertTrue(MSBuildGlobPattern.compile("*/obj/**").matchesWholeDirectory(path("Project/obj")));
+		assertFalse(MSBuildGlobPattern.compile("*/obj/**").matchesWholeDirectory(path("Project")));
+
+		// only some files of directory match
+		assertFalse(MSBuildGlobPattern.compile("**/*.cs").matchesWholeDirectory(path("src")));
+		assertFalse(MSBuildGlobPattern.compile("obj/*").matchesWholeDirectory(path("")));
+		assertFalse(MSBuildGlobPattern.compile("obj/**/*.cache").matchesWholeDirectory(path("Debug")));
+	}
+
+	@Test
+	public void testPrunedDirectoriesAreNotVisited() throws IOException
+	{
+		File directory = FileUtil.createTempDirectory("msbuild-glob", null);
+		try
+		{
+			Path root = directory.toPath();
+			for(String file : Arrays.asList("Program.cs", "src/A.cs", "obj/Debug/Generated.cs", "bin/Debug/B.cs", "bin/Debug/B.dll"))
+			{
+				Path path = root.resolve(file);
+				Files.createDirectories(path.getParent());
+				Files.write(path, new byte[0]);
+			}
+
+			List<MSBuildGlobPattern> excludes = Arrays.asList(MSBuildGlobPattern.compile("obj/**"), MSBuildGlobPattern.compile("bin/**/*"));
+			MSBuildGlobPattern include = MSBuildGlobPattern.compile("**/*.cs");
+
+			Set<String> visitedDirectories = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+			Set<String> files = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+			new MSBuildDirectoryWalker().walk(root, relativeDirectory ->
+			{
+				visitedDirectories.add(toString(relativeDirectory));
+				for(MSBuildGlobPattern exclude : excludes)
+				{
+					Path excludeDirectory = Paths.get(exclude.getBaseDirectory());
+					if(relativeDirectory.startsWith(excludeDirectory) && exclude.matchesWholeDirectory(excludeDirectory.relativize
+							(relativeDirectory)))
+					{
+						return true;
+					}
+				}
+				return false;
+			}, file ->
+			{
+				Path relativePath = root.relativize(file);
+				if(include.matches(relativePath))
+				{
+					files.add(toString(relativePath));
+				}
+			});
+
+			assertEquals(new TreeSet<String>(Arrays.asList("Program.cs", "src/A.cs")), new TreeSet<String>(files));
+			// pruned directories are not listed, so their subdirectories are not offered
+			assertFalse(visitedDirectories.contains("obj/Debug"));
+			assertFalse(visitedDirectories.contains("bin/Debug"));
+		}
+		finally
+		{
+			FileUtil.delete(directory);
+		}
+	}
+
+	@NotNull
+	private static Path path(@NotNull String path)
+	{
+		return Paths.get(path);
+	}
+
+	@NotNull
+	private static String toString(@NotNull Path path)
+	{
+		return FileUtil.toSystemIndependentName(path.toString());
+	}
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.msbuild;
+
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+/**
+ * Checks heap which is retained by parsed project. Size is counted by walking fields of project data, with 64-bit layout without
+ * compressed references, so result does not depend on JVM flags or garbage collection
+ *
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildProjectDataFootprintTest
+{
+	// counted same way, project with 500 compile items retains about 25 KB and with 5 items about 1.6 KB. org.bromix trees, which were
+	// kept before, retained about 136 KB and 8.5 KB
+	private static final int MAX_BYTES_PER_LARGE_PROJECT = 32 * 1024;
+	private static final int MAX_BYTES_PER_SMALL_PROJECT = 2 * 1024;
+
+	private static final int OBJECT_HEADER_SIZE = 16;
+	private static final int ARRAY_HEADER_SIZE = 24;
+	private static final int REFERENCE_SIZE = 8;
+
+	@Test
+	public void testLargeProject() throws Exception
+	{
+		byte[] content = createProject(500);
+		long size = getRetainedSize(MSBuildProjectReader.read(new ByteArrayInputStream(content)));
+
+		assertTrue("project retains " + size + " bytes", size <= MAX_BYTES_PER_LARGE_PROJECT);
+	}
+
+	@Test
+	public void testSmallProject() throws Exception
+	{
+		byte[] content = createProject(5);
+		long size = getRetainedSize(MSBuildProjectReader.read(new ByteArrayInputStream(content)));
+
+		assertTrue("project retains " + size + " bytes", size <= MAX_BYTES_PER_SMALL_PROJECT);
+	}
+
+	/**
+	 * @return classic C# project, like one which is created by Visual Studio, with given count of compile items
+	 */
+	@NotNull
+	private static byte[] createProject(int compileItems)
+	{
+		StringBuilder builder = new StringBuilder();
+		builder.append("<?xml version=\"1.0\" encoding=\"utf-8\"?>\r\n");
+		builder.append("<Project ToolsVersion=\"14.0\" DefaultTargets=\"Build\" ");
+		builder.append("xmlns=\"http://schemas.microsoft.com/developer/msbuild/2003\">\r\n");
+		builder.append("  <Import Project=\"$(MSBuildExtensionsPath)\\$(MSBuildToolsVersion)\\Microsoft.Common.props\" />\r\n");
+		builder.append("  <PropertyGroup>\r\n");
+		builder.append("    <Configuration Condition=\" '$(Configuration)' == '' \">Debug</Configuration>\r\n");
+		builder.append("    <Platform Condition=\" '$(Platform)' == '' \">AnyCPU</Platform>\r\n");
+		builder.append("    <ProjectGuid>{8B5F7540-ADFD-4436-3A72-F96FA1399D29}</ProjectGuid>\r\n");
+		builder.append("    <OutputType>Library</OutputType>\r\n");
+		builder.append("    <RootNamespace>Project</RootNamespace>\r\n");
+		builder.append("    <AssemblyName>Project</AssemblyName>\r\n");
+		builder.append("    <TargetFrameworkVersion>v4.5.2</TargetFrameworkVersion>\r\n");
+		builder.append("  </PropertyGroup>\r\n");
+		for(String configuration : new String[]{"Debug", "Release"})
+		{
+			builder.append("  <PropertyGroup Condition=\" '$(Configuration)|$(Platform)' == '");
+			builder.append(configuration).append("|AnyCPU' \">\r\n");
+			builder.append("    <DebugType>full</DebugType>\r\n");
+			builder.append("    <Optimize>").append(configuration.equals("Release")).append("</Optimize>\r\n");
+			builder.append("    <OutputPath>bin\\").append(configuration).append("\\</OutputPath>\r\n");
+			builder.append("    <DefineConstants>DEBUG;TRACE</DefineConstants>\r\n");
+			builder.append("  </PropertyGroup>\r\n");
+		}
+		builder.append("  <ItemGroup>\r\n");
+		builder.append("    <Reference Include=\"System\" />\r\n");
+		builder.append("    <Reference Include=\"System.Core\" />\r\n");
+		builder.append("    <Reference Include=\"System.Data, Version=4.0.0.0, Culture=neutral, PublicKeyToken=b77a5c561934e089\">\r\n");
+		builder.append("      <Private>False</Private>\r\n");
+		builder.append("    </Reference>\r\n");
+		builder.append("  </ItemGroup>\r\n");
+		builder.append("  <ItemGroup>\r\n");
+		for(int i = 0; i < compileItems; i++)
+		{
+			builder.append("    <Compile Include=\"");
+			if(i >= 10)
+			{
+				builder.append("Folder").append(i / 10).append('\\');
+			}
+			builder.append("Class").append(i).append(".cs\" />\r\n");
+		}
+		builder.append("  </ItemGroup>\r\n");
+		builder.append("  <Import Project=\"$(MSBuildToolsPath)\\Microsoft.CSharp.targets\" />\r\n");
+		builder.append("</Project>\r\n");
+		return builder.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static long getRetainedSize(@NotNull Object root) throws IllegalAccessException
+	{
+		Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+		Deque<Object> queue = new ArrayDeque<Object>();
+		queue.add(root);
+
+		long size = 0;
+		while(!queue.isEmpty())
+		{
+			Object value = queue.poll();
+			if(!visited.add(value))
+			{
+				continue;
+			}
+
+			Class<?> type = value.getClass();
+			if(type.isArray())
+			{
+				Class<?> componentType = type.getComponentType();
+				int length = Array.getLength(value);
+				size += align(ARRAY_HEADER_SIZE + (long) length * getSize(componentType));
+				if(!componentType.isPrimitive())
+				{
+					for(int i = 0; i < length; i++)
+					{
+						addValue(queue, Array.get(value, i));
+					}
+				}
+				continue;
+			}
+
+			long objectSize = OBJECT_HEADER_SIZE;
+			for(Class<?> fieldOwner = type; fieldOwner != null; fieldOwner = fieldOwner.getSuperclass())
+			{
+				for(Field field : fieldOwner.getDeclaredFields())
+				{
+					if(Modifier.isStatic(field.getModifiers()))
+					{
+						continue;
+					}
+					objectSize += getSize(field.getType());
+					if(!field.getType().isPrimitive())
+					{
+						field.setAccessible(true);
+						addValue(queue, field.get(value));
+					}
+				}
+			}
+			size += align(objectSize);
+		}
+		return size;
+	}
+
+	private static void addValue(@NotNull Deque<Object> queue, Object value)
+	{
+		// enum constants and classes are shared by all projects
+		if(value != null && !(value instanceof Enum) && !(value instanceof Class))
+		{
+			queue.add(value);
+		}
+	}
+
+	private static int getSize(@NotNull Class<?> type)
+	{
+		if(type == long.class || type == double.class)
+		{
+			return 8;
+		}
+		if(type == int.class || type == float.class)
+		{
+			return 4;
+		}
+		if(type == short.class || type == char.class)
+		{
+			return 2;
+		}
+		if(type == byte.class || type == boolean.class)
+		{
+			return 1;
+		}
+		return REFERENCE_SIZE;
+	}
+
+	private static long align(long size)
+	{
+		return (size + 7) & ~7L;
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2026 must-be.org
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package consulo.visualStudio.msbuild;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.Test;
+
+/**
+ * @author agent
+ * @since 18.10.2026
+ */
+public class MSBuildPropertyScopeTest
+{
+	@Test
+	public void testTemplateParts()
+	{
+		assertArrayEquals(new String[]{"plain"}, MSBuildPropertyTemplate.parse("plain"));
+		assertArrayEquals(new String[]{"bin\\", "Configuration", "\\"}, MSBuildPropertyTemplate.parse("bin\\$(Configuration)\\"));
+		assertArrayEquals(new String[]{"", "A", "", "B", ""}, MSBuildPropertyTemplate.parse("$(A)$(B)"));
+		assertArrayEquals(new String[]{"", "Name", ""}, MSBuildPropertyTemplate.parse("$( Name )"));
+		// property function is kept as name
+		assertArrayEquals(new String[]{"", "[System.IO.Path]::Combine('a', 'b')", "/c"}, MSBuildPropertyTemplate.parse(
+				"$([System.IO.Path]::Combine('a', 'b'))/c"));
+		assertNull(MSBuildPropertyTemplate.parse("$(Unclosed"));
+		assertNull(MSBuildPropertyTemplate.parse("$(A)$(B"));
+	}
+
+	@Test
+	public void testFindPropertyEnd()
+	{
+		assertEquals(3, MSBuildPropertyTemplate.findPropertyEnd("$(A)", 2));
+		assertEquals(10, MSBuildPropertyTemplate.findPropertyEnd("$(Foo(Bar))x", 2));
+		assertEquals(-1, MSBuildPropertyTemplate.findPropertyEnd("$(Foo(Bar)", 2));
+	}
+
+	@Test
+	public void testLookupChain()
+	{
+		MSBuildPropertyScope environment = MSBuildPropertyScope.createEnvironment(map("Path", "/usr/bin", "Shared", "environment"));
+		MSBuildPropertyScope solution = environment.createSolution(new File("/work/App.sln"));
+		MSBuildPropertyScope project = MSBuildPropertyScope.createProject(solution, map("Shared", "project"));
+
+		assertEquals("/usr/bin", project.get("Path"));
+		assertEquals("/usr/bin", project.get("PATH"));
+		assertEquals("project", project.get("shared"));
+		assertEquals("environment", solution.get("Shared"));
+		assertNull(project.get("Undefined"));
+
+		assertEquals("App", solution.get("SolutionName"));
+		assertEquals(".sln", solution.get("SolutionExt"));
+		assertEquals("App.sln", solution.get("SolutionFileName"));
+		assertTrue(solution.get("SolutionDir").endsWith(File.separator));
+		assertTrue(environment.get("OS") != null);
+	}
+
+	@Test
+	public void testGlobalPropertiesOverrideProject()
+	{
+		MSBuildPropertyScope environment = MSBuildPropertyScope.createEnvironment(Collections.<String, String>emptyMap());
+		MSBuildPropertyScope global = environment.createGlobal(map("Optimize", "true"));
+		MSBuildPropertyScope configuration = global.createConfiguration("Release", "AnyCPU");
+		MSBuildPropertyScope project = MSBuildPropertyScope.createProject(configuration, map("Optimize", "false", "Configuration", "Debug",
+				"Platform", "x86", "OutputPath", "bin"));
+
+		assertEquals("true", project.get("Optimize"));
+		assertEquals("Release", project.get("Configuration"));
+		assertEquals("AnyCPU", project.get("Platform"));
+		assertEquals("bin", project.get("OutputPath"));
+		assertEquals("bin/Release/true", project.expand("$(OutputPath)/$(Configuration)/$(Optimize)"));
+
+		// configuration without platform
+		assertNull(global.createConfiguration("Debug", null).get("Platform"));
+	}
+
+	@Test
+	public void testExpand()
+	{
+		MSBuildPropertyScope environment = MSBuildPropertyScope.createEnvironment(Collections.<String, String>emptyMap());
+		MSBuildPropertyScope scope = MSBuildPropertyScope.createProject(environment, map("Name", "App"));
+
+		String plain = new String("no references");
+		assertSame(plain, scope.expand(plain));
+		assertEquals("App.dll", scope.expand("$(name).dll"));
+		assertEquals("/App", scope.expand("$(Undefined)/$(Name)"));
+		// not closed reference is kept
+		assertEquals("$(Name", scope.expand("$(Name"));
+
+		assertTrue(scope.evaluateCondition(null));
+		assertTrue(scope.evaluateCondition("'$(Name)' == 'app'"));
+		assertFalse(scope.evaluateCondition("'$(Name)' == ''"));
+	}
+
+	@Test
+	public void testExpansionIsMemoizedByOwnerScope()
+	{
+		MSBuildPropertyScope environment = MSBuildPropertyScope.createEnvironment(Collections.<String, String>emptyMap());
+		MSBuildPropertyScope solution = environment.createSolution(new File("/work/App.sln"));
+		MSBuildPropertyScope first = MSBuildPropertyScope.createProject(solution, map("ProjectName", "First"));
+		MSBuildPropertyScope second = MSBuildPropertyScope.createProject(solution, map("ProjectName", "Second"));
+
+		// text which references only solution properties is expanded once, in solution scope
+		String firstValue = first.expand("$(SolutionName)/out");
+		assertEquals("App/out", firstValue);
+		assertSame(firstValue, second.expand("$(SolutionName)/out"));
+		assertSame(firstValue, solution.expand("$(SolutionName)/out"));
+
+		// text which references project property is expanded by each project
+		assertEquals("App/First", first.expand("$(SolutionName)/$(ProjectName)"));
+		assertEquals("App/Second", second.expand("$(SolutionName)/$(ProjectName)"));
+	}
+
+	@Test
+	public void testOverridingScopeOwnsExpansion()
+	{
+		MSBuildPropertyScope environment = MSBuildPropertyScope.createEnvironment(Collections.<String, String>emptyMap());
+		MSBuildPropertyScope solution = environment.createSolution(new File("/work/App.sln"));
+		MSBuildPropertyScope overriding = MSBuildPropertyScope.createProject(solution, map("SolutionName", "Custom"));
+		MSBuildPropertyScope plain = MSBuildPropertyScope.createProject(solution, map("ProjectName", "Plain"));
+
+		// project which defines referenced property keeps expansion, it is not shared with other projects
+		String overridden = overriding.expand("$(SolutionName)/out");
+		assertEquals("Custom/out", overridden);
+		String shared = plain.expand("$(SolutionName)/out");
+		assertEquals("App/out", shared);
+		assertNotSame(overridden, shared);
+		assertEquals("Custom/out", overriding.expand("$(SolutionName)/out"));
+	}
+
+	@NotNull
+	private static Map<String, String> map(@NotNull String... nameValuePairs)
+	{
+		Map<String, String> map = MSBuildPropertyScope.newMap();
+		for(int i = 0; i < nameValuePairs.length; i += 2)
+		{
+			map.put(nameValuePairs[i], nameValuePairs[i + 1]);
+		}
+		return map;
+	}
+}